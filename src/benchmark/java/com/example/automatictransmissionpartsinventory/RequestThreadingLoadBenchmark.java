@@ -0,0 +1,301 @@
+package com.example.automatictransmissionpartsinventory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * リクエスト処理スレッドの負荷比較（プラットフォームスレッド／仮想スレッド）
+ *
+ * アプリケーションを組み込みDB（H2）で起動し、SQLの実行ごとに一定の待ち時間を加えて
+ * MySQLの応答待ちを模擬する。同時接続数を固定したクライアントから一定時間リクエストを送り続け、
+ * エンドポイントごとのスループットと応答時間（p50 / p99）を出力する。
+ *
+ * 実行: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.example.automatictransmissionpartsinventory.RequestThreadingLoadBenchmark
+ * 条件はシステムプロパティで変更できる（既定値は各定数を参照）。exec:exec は別プロセスで起動するため、
+ * mvn の -D ではなく環境変数で渡す（JDK_JAVA_OPTIONS="-Dbench.concurrency=100" mvn -Pbenchmark ... など）。
+ */
+public class RequestThreadingLoadBenchmark {
+
+    /** 同時にリクエストを送るクライアント数 */
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 400);
+    /** SQL実行ごとに加える待ち時間（ミリ秒） */
+    private static final int LATENCY_MILLIS = Integer.getInteger("bench.latency-ms", 20);
+    /** 計測時間・ウォームアップ時間（秒） */
+    private static final int DURATION_SECONDS = Integer.getInteger("bench.duration-seconds", 15);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmup-seconds", 5);
+    /** 接続プールのサイズ */
+    private static final int POOL_SIZE = Integer.getInteger("bench.pool-size", 100);
+    /** Tomcatのリクエスト処理スレッド数（プラットフォームスレッドの場合のみ有効） */
+    private static final int TOMCAT_THREADS = Integer.getInteger("bench.tomcat-threads", 200);
+    /** 登録するAT部品の件数 */
+    private static final int PART_COUNT = Integer.getInteger("bench.parts", 2000);
+
+    private static final String USERNAME = "bench";
+    private static final String PASSWORD = "bench-password";
+
+    private static final List<String> ENDPOINTS = List.of(
+        "/parts/search?partName=" + URLEncoder.encode("ギア", StandardCharsets.UTF_8) + "&manufacturer=AISIN",
+        "/parts/api/advanced-search?partName=" + URLEncoder.encode("ギア", StandardCharsets.UTF_8) + "&page=0&size=20");
+
+    /** SQLの待ち時間を加えるか（データ登録中は加えない） */
+    private static volatile boolean latencyEnabled;
+
+    public static void main(String[] args) throws Exception {
+        // 再起動用のクラスローダーで起動し直されると計測条件を引き継げないため、devtools の再起動を無効にする
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.out.printf("条件: 同時接続=%d, SQL待ち時間=%dms, 接続プール=%d, Tomcatスレッド=%d, 計測=%d秒%n",
+            CONCURRENCY, LATENCY_MILLIS, POOL_SIZE, TOMCAT_THREADS, DURATION_SECONDS);
+
+        List<String> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[] {false, true}) {
+            results.addAll(run(virtualThreads));
+        }
+
+        System.out.println();
+        System.out.printf("%-10s %-28s %10s %8s %10s %10s%n", "スレッド", "エンドポイント", "req/s", "エラー", "p50(ms)", "p99(ms)");
+        results.forEach(System.out::println);
+    }
+
+    private static List<String> run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        latencyEnabled = false;
+
+        // application.properties より優先させるため、既定値ではなくコマンドライン引数として渡す
+        String[] properties = Stream.of(
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "server.tomcat.max-connections=" + (CONCURRENCY * 2),
+                "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "spring.datasource.hikari.connection-timeout=30000",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.thymeleaf.cache=true",
+                "spring.flyway.enabled=false",
+                "app.catalog.snapshot.enabled=false",
+                "app.cache.coherence.enabled=false",
+                // 同時実行数の上限で拒否されるとスレッド方式の差を計測できないため無効にする
+                "app.admission.enabled=false",
+                    "app.parts.history.drain-interval-ms=3600000",
+                    "logging.level.root=WARN")
+            .map(property -> "--" + property)
+            .toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AutomaticTransmissionPartsInventoryApplication.class)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                    .addBeanPostProcessor(new LatencyInjectingPostProcessor()))
+                .run(properties)) {
+
+            seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = login(port);
+            latencyEnabled = true;
+
+            List<String> results = new ArrayList<>();
+            for (String endpoint : ENDPOINTS) {
+                URI uri = URI.create("http://localhost:" + port + endpoint);
+                load(client, uri, WARMUP_SECONDS);
+                LoadResult result = load(client, uri, DURATION_SECONDS);
+                results.add(String.format("%-10s %-28s %10.1f %8d %10.1f %10.1f",
+                    mode, endpoint.substring(0, endpoint.indexOf('?')),
+                    result.count() / (double) DURATION_SECONDS, result.errors(),
+                    result.percentile(0.50), result.percentile(0.99)));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * 利用者・カテゴリ・AT部品を登録
+     */
+    private static void seed(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String password = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.update("INSERT INTO roles (role_name, description, created_at) VALUES ('ROLE_USER', '一般', ?)", now);
+        jdbcTemplate.update("INSERT INTO users (username, password, email, full_name, enabled, account_non_expired, "
+            + "account_non_locked, credentials_non_expired, created_at, updated_at) VALUES (?, ?, ?, ?, TRUE, TRUE, TRUE, TRUE, ?, ?)",
+            USERNAME, password, "bench@example.com", "負荷試験", now, now);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) "
+            + "SELECT u.id, r.id FROM users u, roles r WHERE u.username = ? AND r.role_name = 'ROLE_USER'", USERNAME);
+
+        jdbcTemplate.update("INSERT INTO categories (name, display_order, is_active, full_path, level, created_at, updated_at) "
+            + "VALUES ('ギア類', 1, TRUE, 'ギア類', 0, ?, ?)", now, now);
+        Long categoryId = jdbcTemplate.queryForObject("SELECT id FROM categories WHERE name = 'ギア類'", Long.class);
+
+        String[] manufacturers = {"AISIN", "JATCO", "ZF"};
+        List<Object[]> rows = new ArrayList<>(PART_COUNT);
+        for (int i = 0; i < PART_COUNT; i++) {
+            rows.add(new Object[] {String.format("LOAD-%06d", i), (i % 2 == 0 ? "プラネタリギア " : "オイルポンプ ") + i,
+                BigDecimal.valueOf(1000 + i), categoryId, "負荷試験用の部品", manufacturers[i % manufacturers.length], now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO automotive_parts (part_number, part_name, price, category_id, description, "
+            + "manufacturer, created_at, updated_at, discontinued, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, FALSE, 0)", rows);
+    }
+
+    /**
+     * フォームログインしてセッションCookieを保持するクライアントを作成
+     * Basic認証ではリクエストごとにパスワード照合（BCrypt）が行われ、計測結果を支配するため使用しない
+     */
+    private static HttpClient login(int port) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        String form = "username=" + USERNAME + "&password=" + PASSWORD;
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || location.contains("error")) {
+            throw new IllegalStateException("ログインに失敗しました: " + response.statusCode() + " " + location);
+        }
+        return client;
+    }
+
+    /**
+     * 同時接続数 CONCURRENCY のクライアントから、指定秒数のあいだ同じURIへリクエストを送り続ける
+     */
+    private static LoadResult load(HttpClient client, URI uri, int seconds) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> futures = new ArrayList<>(CONCURRENCY);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long started = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - started;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = futures.stream().map(RequestThreadingLoadBenchmark::join)
+            .flatMapToLong(Arrays::stream).sorted().toArray();
+        return new LoadResult(all, errors.get());
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record LoadResult(long[] sortedLatencies, long errors) {
+
+        int count() {
+            return sortedLatencies.length;
+        }
+
+        double percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    /**
+     * 接続プールの接続先をH2に差し替え、SQLの実行ごとに待ち時間を加える
+     */
+    private static final class LatencyInjectingPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikari) {
+                DataSource h2 = new DriverManagerDataSource(hikari.getJdbcUrl(), hikari.getUsername(), hikari.getPassword());
+                hikari.setDataSource((DataSource) proxy(DataSource.class, h2));
+            }
+            return bean;
+        }
+
+        private static Object proxy(Class<?> type, Object target) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                String name = method.getName();
+                if (target instanceof Statement && name.startsWith("execute") && latencyEnabled) {
+                    Thread.sleep(LATENCY_MILLIS);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                // 接続・ステートメントも同様にラップする
+                if (result instanceof Connection connection && method.getReturnType() == Connection.class) {
+                    return proxy(Connection.class, connection);
+                }
+                if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return proxy(method.getReturnType(), statement);
+                }
+                return result;
+            };
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.automatictransmissionpartsinventory.cache;
+
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.support.RequestContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.context.webmvc.SpringWebMvcThymeleafRequestContext;
+import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.spring6.naming.SpringContextVariableNames;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+import com.example.automatictransmissionpartsinventory.entity.AutomativePart;
+import com.example.automatictransmissionpartsinventory.entity.Category;
+import com.example.automatictransmissionpartsinventory.event.CategoryChangedEvent;
+import com.example.automatictransmissionpartsinventory.service.CategoryService;
+
+/**
+ * 部品一覧・部品登録画面の描画時間の比較
+ *
+ * - templateCache: テンプレートの解析結果をキャッシュするか（prodプロファイルの spring.thymeleaf.cache=true）
+ * - fragmentCache: カテゴリ選択肢の描画結果をキャッシュするか（{@link CategoryFragmentCache}）
+ *   false の場合は描画のたびにキャッシュを破棄し、従来どおり毎回カテゴリを取得して選択肢を描画する
+ * カテゴリの取得はメモリ上のデータを返すため、データベースへの問い合わせの費用は含まない。
+ * sec:authorize などのSpring Security方言は登録しない（認証情報の評価の費用は含まない）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateRenderingBenchmark {
+
+    @Param({"parts/list", "parts/form"})
+    private String template;
+
+    @Param({"false", "true"})
+    private boolean templateCache;
+
+    @Param({"false", "true"})
+    private boolean fragmentCache;
+
+    private SpringTemplateEngine templateEngine;
+    private CategoryFragmentCache categoryFragmentCache;
+    private StaticWebApplicationContext applicationContext;
+    private MockServletContext servletContext;
+    private JakartaServletWebApplication webApplication;
+    private Map<String, Object> model;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(templateCache);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        List<Category> categories = categories();
+        CategoryService categoryService = (CategoryService) Proxy.newProxyInstance(
+            CategoryService.class.getClassLoader(), new Class<?>[] {CategoryService.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("findActiveCategories")) {
+                    return categories;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        categoryFragmentCache = new CategoryFragmentCache(categoryService, templateEngine, new NoOpTransactionManager());
+
+        servletContext = new MockServletContext();
+        applicationContext = new StaticWebApplicationContext();
+        applicationContext.setServletContext(servletContext);
+        applicationContext.getBeanFactory().registerSingleton("categoryFragmentCache", categoryFragmentCache);
+        applicationContext.refresh();
+        webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+
+        model = template.equals("parts/list") ? listModel() : formModel(categories.get(1));
+    }
+
+    @Benchmark
+    public void render(Blackhole blackhole) {
+        if (!fragmentCache) {
+            categoryFragmentCache.onCategoryChanged(CategoryChangedEvent.of(CategoryChangedEvent.ChangeType.SAVED, List.of()));
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/" + template);
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, applicationContext);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // ThymeleafView と同じ変数を設定する（th:field・#fields の評価に使用）
+        RequestContext requestContext = new RequestContext(request, response, servletContext, model);
+        Map<String, Object> variables = new HashMap<>(model);
+        variables.put(SpringContextVariableNames.SPRING_REQUEST_CONTEXT, requestContext);
+        variables.put(SpringContextVariableNames.THYMELEAF_REQUEST_CONTEXT,
+            new SpringWebMvcThymeleafRequestContext(requestContext, request));
+        variables.put(ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+            new ThymeleafEvaluationContext(applicationContext, null));
+        WebContext context = new WebContext(webApplication.buildExchange(request, response), Locale.JAPAN, variables);
+
+        templateEngine.process(template, context, new BlackholeWriter(blackhole));
+    }
+
+    private static Map<String, Object> listModel() {
+        LocalDateTime now = LocalDateTime.of(2025, 9, 1, 10, 0);
+        List<PartListRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            rows.add(new PartListRow(id, String.format("AT-%06d", id), "プラネタリギア " + id, new BigDecimal("12800.00"),
+                "アイシン", 2L, "ギア類", "トランスミッション系部品 > ギア類", "遊星歯車機構のプラネタリギア", now, now));
+        }
+        Page<PartListRow> page = new PageImpl<>(rows, PageRequest.of(0, 50), 5000);
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("parts", rows);
+        model.put("partPage", page);
+        model.put("totalCount", page.getTotalElements());
+        return model;
+    }
+
+    private static Map<String, Object> formModel(Category category) {
+        AutomativePart part = new AutomativePart();
+        part.setPartNumber("AT-000001");
+        part.setPartName("プラネタリギア");
+        part.setPrice(new BigDecimal("12800.00"));
+        part.setManufacturer("アイシン");
+        part.setCategory(category);
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("part", part);
+        model.put(BindingResult.MODEL_KEY_PREFIX + "part", new BeanPropertyBindingResult(part, "part"));
+        return model;
+    }
+
+    /**
+     * 大分類10件 × 小分類8件のカテゴリ
+     */
+    private static List<Category> categories() {
+        List<Category> categories = new ArrayList<>();
+        long id = 1;
+        for (int i = 0; i < 10; i++) {
+            Category parent = category(id++, "大分類" + i, null);
+            categories.add(parent);
+            for (int j = 0; j < 8; j++) {
+                Category child = category(id++, "小分類" + i + "-" + j, parent);
+                parent.getChildren().add(child);
+                categories.add(child);
+            }
+        }
+        return categories;
+    }
+
+    private static Category category(Long id, String name, Category parent) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        category.setParent(parent);
+        category.setIsActive(true);
+        category.refreshHierarchyColumns();
+        return category;
+    }
+
+    /**
+     * トランザクションを開始しない（カテゴリはメモリ上のデータのため）
+     */
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+
+    /**
+     * 描画結果をBlackholeへ渡して破棄する出力先
+     */
+    private static final class BlackholeWriter extends Writer {
+
+        private final Blackhole blackhole;
+
+        BlackholeWriter(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            blackhole.consume(buffer);
+            blackhole.consume(length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
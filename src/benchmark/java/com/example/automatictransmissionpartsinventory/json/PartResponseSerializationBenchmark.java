@@ -0,0 +1,184 @@
+package com.example.automatictransmissionpartsinventory.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.automatictransmissionpartsinventory.dto.PartField;
+import com.example.automatictransmissionpartsinventory.dto.PartFieldRow;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+import com.example.automatictransmissionpartsinventory.entity.AutomativePart;
+import com.example.automatictransmissionpartsinventory.entity.Category;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * 高度検索APIの応答（1ページ分）のJSON出力の比較
+ *
+ * - entityMap: 従来の応答。エンティティのリストをMapに格納し、Jacksonのリフレクションで出力する
+ * - listRowMap: 一覧行（PartListRow）のリストをMapに格納し、{@link CatalogJsonModule} で出力する（現在の応答）
+ * - listRowGenerator: 一覧行を {@link PartJsonWriter} で JsonGenerator に直接出力する
+ * - fieldRowGenerator: fields=partNumber,price を指定した場合の行（id・部品番号・価格のみ）を直接出力する
+ * 出力先は破棄し、シリアライズ処理のみを計測する。
+ * エンティティは永続化コンテキストの外で組み立てるため、遅延ロードのSQLの費用は含まない。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartResponseSerializationBenchmark {
+
+    /** 1ページの件数 */
+    @Param({"20", "200"})
+    private int size;
+
+    private ObjectMapper entityMapper;
+    private ObjectMapper listRowMapper;
+    private Map<String, Object> entityResponse;
+    private Map<String, Object> listRowResponse;
+    private List<PartListRow> rows;
+    private List<PartFieldRow> fieldRows;
+
+    @Setup
+    public void setUp() {
+        entityMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        listRowMapper = entityMapper.copy().registerModule(new CatalogJsonModule());
+
+        Category root = category(1L, "トランスミッション系部品", null);
+        Category category = category(2L, "ギア類", root);
+
+        List<AutomativePart> parts = new ArrayList<>(size);
+        rows = new ArrayList<>(size);
+        fieldRows = new ArrayList<>(size);
+        List<PartField> fields = PartField.parse("partNumber,price");
+        LocalDateTime now = LocalDateTime.of(2025, 9, 1, 10, 0);
+        for (long id = 1; id <= size; id++) {
+            AutomativePart part = new AutomativePart();
+            part.setId(id);
+            part.setPartNumber(String.format("AT-%06d", id));
+            part.setPartName("プラネタリギア " + id);
+            part.setPrice(new BigDecimal("12800.00"));
+            part.setManufacturer("アイシン");
+            part.setCategory(category);
+            part.setDescription("遊星歯車機構のプラネタリギア。6速AT用の純正部品で、耐久性に優れる。");
+            part.setCreatedAt(now);
+            part.setUpdatedAt(now);
+            part.setVersion(0L);
+            parts.add(part);
+
+            rows.add(new PartListRow(id, part.getPartNumber(), part.getPartName(), part.getPrice(),
+                part.getManufacturer(), category.getId(), category.getName(), category.getFullPath(),
+                part.getDescription().substring(0, PartListRow.DESCRIPTION_EXCERPT_LENGTH), now, now));
+            fieldRows.add(new PartFieldRow(fields, new Object[] {id, part.getPartNumber(), part.getPrice()}));
+        }
+
+        entityResponse = response(parts);
+        listRowResponse = response(rows);
+    }
+
+    @Benchmark
+    public void entityMap(Blackhole blackhole) throws IOException {
+        entityMapper.writeValue(new BlackholeOutputStream(blackhole), entityResponse);
+    }
+
+    @Benchmark
+    public void listRowMap(Blackhole blackhole) throws IOException {
+        listRowMapper.writeValue(new BlackholeOutputStream(blackhole), listRowResponse);
+    }
+
+    @Benchmark
+    public void listRowGenerator(Blackhole blackhole) throws IOException {
+        try (JsonGenerator generator = listRowMapper.getFactory().createGenerator(new BlackholeOutputStream(blackhole))) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeArrayFieldStart("parts");
+            for (PartListRow row : rows) {
+                PartJsonWriter.write(generator, row);
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("totalCount", rows.size());
+            generator.writeEndObject();
+        }
+    }
+
+    @Benchmark
+    public void fieldRowGenerator(Blackhole blackhole) throws IOException {
+        try (JsonGenerator generator = listRowMapper.getFactory().createGenerator(new BlackholeOutputStream(blackhole))) {
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeArrayFieldStart("parts");
+            for (PartFieldRow row : fieldRows) {
+                PartJsonWriter.write(generator, row);
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("totalCount", fieldRows.size());
+            generator.writeEndObject();
+        }
+    }
+
+    private static Map<String, Object> response(List<?> parts) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("parts", parts);
+        response.put("totalCount", parts.size());
+        return response;
+    }
+
+    private static Category category(Long id, String name, Category parent) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        category.setParent(parent);
+        category.setIsActive(true);
+        category.refreshHierarchyColumns();
+        return category;
+    }
+
+    /**
+     * 書き込まれた内容をBlackholeへ渡して破棄する出力先
+     */
+    private static final class BlackholeOutputStream extends OutputStream {
+
+        private final Blackhole blackhole;
+
+        BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+    }
+}
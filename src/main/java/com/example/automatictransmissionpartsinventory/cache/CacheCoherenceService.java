@@ -0,0 +1,253 @@
+package com.example.automatictransmissionpartsinventory.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.automatictransmissionpartsinventory.entity.CacheVersion;
+import com.example.automatictransmissionpartsinventory.event.CacheRegionChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.CategoryChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.UserChangedEvent;
+import com.example.automatictransmissionpartsinventory.repository.CacheVersionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ノード間キャッシュ整合性サービス
+ *
+ * 外部ブローカーを使わず、既存のMySQL上の cache_versions テーブルで変更を伝播する。
+ * - 書き込み側: AT部品・カテゴリ・ユーザーの変更イベントを受けて、
+ *   コミット後に別トランザクションで該当リージョンのバージョンを進める
+ * - 読み取り側: 仮想スレッドで一定間隔ごとに全リージョンのバージョンを取得し、
+ *   変化があれば {@link CacheRegionChangedEvent} を発行してローカルキャッシュを破棄させる
+ *
+ * バージョン行は全ノードで共有するため、書き込みトランザクション内で更新すると
+ * 部品の書き込みがすべてこの行ロックで直列化される。コミット後の短いトランザクションで更新し、
+ * 行ロックの保持を更新文1つ分に限定する。その代わり、コミット直後にプロセスが停止した場合は
+ * 他ノードへの通知が失われ、次の同リージョンの変更またはTTL・定期処理まで反映されない。
+ *
+ * 自ノードが進めたバージョンは記録しておき、ポーリングで検知した変化がすべて自ノード分であれば
+ * {@link CacheRegionChangedEvent#remote()} を false として通知する（自ノードの変更は各サービスで反映済みのため）。
+ *
+ * 既知の最新バージョン（自ノードで進めた値・ポーリングで取得した値）は {@link #currentVersion(String)} で参照でき、
+ * 全ノードで同じ値になるため、条件付きGETの検証子にも使用する。
+ */
+@Slf4j
+@Service
+public class CacheCoherenceService {
+
+    private static final String SELECT_VERSIONS = "SELECT region, version FROM cache_versions";
+    private static final String SELECT_LAST_VERSION = "SELECT LAST_INSERT_ID()";
+
+    private final CacheVersionRepository cacheVersionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate versionTransaction;
+    private final boolean enabled;
+    private final Duration pollInterval;
+
+    private final Map<String, Long> lastSeenVersions = new HashMap<>();
+    /** 自ノードが進めたバージョン（リージョン別、ポーリングで検知するまで保持） */
+    private final Map<String, Set<Long>> localVersions = new ConcurrentHashMap<>();
+    /** 既知の最新バージョン（リージョン別） */
+    private final Map<String, Long> knownVersions = new ConcurrentHashMap<>();
+    private volatile Thread poller;
+
+    public CacheCoherenceService(CacheVersionRepository cacheVersionRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.cache.coherence.enabled:true}") boolean enabled,
+                                 @Value("${app.cache.coherence.poll-interval-ms:500}") long pollIntervalMs) {
+        this.cacheVersionRepository = cacheVersionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        // コミット後に呼ばれるため、元のトランザクションには参加せず新しいトランザクションで更新する
+        this.versionTransaction = new TransactionTemplate(transactionManager);
+        this.versionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+    }
+
+    // ========================================
+    // 書き込み側: バージョン更新
+    // ========================================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPartChanged(PartChangedEvent event) {
+        incrementVersion(CacheVersion.REGION_PARTS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        incrementVersion(CacheVersion.REGION_CATEGORIES);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        incrementVersion(CacheVersion.REGION_USERS);
+    }
+
+    /**
+     * リージョンのバージョンを進め、進めた後のバージョンを自ノード分として記録
+     * 元の書き込みはコミット済みのため、失敗しても例外は呼び出し元に伝えずログのみとする
+     * @param region リージョン名
+     */
+    private void incrementVersion(String region) {
+        Set<Long> local = localVersions.computeIfAbsent(region, key -> ConcurrentHashMap.newKeySet());
+        long[] version = new long[1];
+        try {
+            // コミット直後のポーリングで他ノード分と誤判定しないよう、コミット前に記録する
+            versionTransaction.executeWithoutResult(status -> {
+                cacheVersionRepository.incrementVersion(region);
+                version[0] = jdbcTemplate.queryForObject(SELECT_LAST_VERSION, Long.class);
+                local.add(version[0]);
+            });
+            knownVersions.merge(region, version[0], Math::max);
+        } catch (DataAccessException e) {
+            local.remove(version[0]);
+            log.warn("キャッシュバージョンの更新に失敗しました: region={}, {}", region, e.getMessage());
+        }
+    }
+
+    /**
+     * リージョンの既知の最新バージョンを取得
+     * 自ノードで進めた値は即時、他ノードで進めた値はポーリングで検知した時点で反映される
+     * @param region リージョン名
+     * @return バージョン（未取得の場合は0）
+     */
+    public long currentVersion(String region) {
+        return knownVersions.getOrDefault(region, 0L);
+    }
+
+    // ========================================
+    // 読み取り側: ポーリング
+    // ========================================
+
+    /**
+     * アプリケーション起動完了後に既知のバージョンを読み込み、ポーリング用の仮想スレッドを開始
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPolling() {
+        try {
+            jdbcTemplate.query(SELECT_VERSIONS, rs -> {
+                knownVersions.merge(rs.getString("region"), rs.getLong("version"), Math::max);
+            });
+        } catch (DataAccessException e) {
+            log.warn("キャッシュバージョンの読み込みに失敗しました: {}", e.getMessage());
+        }
+        if (!enabled) {
+            log.info("ノード間キャッシュ整合性のポーリングは無効です");
+            return;
+        }
+        poller = Thread.ofVirtual().name("cache-coherence-poller").start(this::pollLoop);
+        log.info("ノード間キャッシュ整合性のポーリングを開始: 間隔={}ms", pollInterval.toMillis());
+    }
+
+    /**
+     * アプリケーション終了時にポーリングを停止
+     */
+    @PreDestroy
+    public void stopPolling() {
+        Thread current = poller;
+        poller = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void pollLoop() {
+        boolean baselineEstablished = false;
+        while (poller == Thread.currentThread()) {
+            try {
+                pollOnce(baselineEstablished);
+                baselineEstablished = true;
+            } catch (Exception e) {
+                log.warn("キャッシュバージョンの取得に失敗しました: {}", e.getMessage());
+            }
+
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 全リージョンのバージョンを取得し、前回から変化したリージョンの変更イベントを発行
+     * 初回はベースラインの記録のみ行う
+     * @param publishChanges 変化を通知する場合true
+     */
+    private void pollOnce(boolean publishChanges) {
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query(SELECT_VERSIONS, rs -> {
+            versions.put(rs.getString("region"), rs.getLong("version"));
+        });
+
+        for (Map.Entry<String, Long> entry : versions.entrySet()) {
+            String region = entry.getKey();
+            long current = entry.getValue();
+            Long previous = lastSeenVersions.put(region, current);
+            if (previous != null && current < previous) {
+                // 行が作り直された場合は巻き戻った値をそのまま採用する
+                knownVersions.put(region, current);
+            } else {
+                knownVersions.merge(region, current, Math::max);
+            }
+            boolean remote = !consumeLocalVersions(region, previous, current);
+            if (publishChanges && !Long.valueOf(current).equals(previous)) {
+                log.debug("キャッシュリージョンの変更を検知: {} {} -> {} (他ノード={})", region, previous, current, remote);
+                eventPublisher.publishEvent(new CacheRegionChangedEvent(region, remote));
+            }
+        }
+    }
+
+    /**
+     * 前回から今回までのバージョンがすべて自ノードで進めたものかを判定し、記録を破棄
+     * @param region リージョン名
+     * @param previous 前回のバージョン（リージョンの行が無かった場合はnull）
+     * @param current 今回のバージョン
+     * @return すべて自ノード分の場合true
+     */
+    private boolean consumeLocalVersions(String region, Long previous, long current) {
+        Set<Long> local = localVersions.get(region);
+        long from = previous != null ? previous : 0;
+        if (current < from) {
+            if (local != null) {
+                local.removeIf(version -> version <= current);
+            }
+            return false;
+        }
+        boolean allLocal = true;
+        for (long version = from + 1; version <= current; version++) {
+            if (local == null || !local.remove(version)) {
+                allLocal = false;
+            }
+        }
+        if (local != null) {
+            // ロールバックなどで残った古いバージョンを破棄
+            local.removeIf(version -> version <= current);
+        }
+        return allLocal;
+    }
+}
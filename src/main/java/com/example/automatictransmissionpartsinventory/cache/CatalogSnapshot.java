@@ -0,0 +1,201 @@
+package com.example.automatictransmissionpartsinventory.cache;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import com.example.automatictransmissionpartsinventory.dto.PartSnapshotEntry;
+
+/**
+ * メモリマップされたカタログスナップショット（読み取り専用）
+ *
+ * ファイル形式（ビッグエンディアン）:
+ * <pre>
+ * [ヘッダー 40バイト]
+ *   magic(4) formatVersion(4) snapshotEpochSecond(8) snapshotNano(4)
+ *   recordCount(4) poolOffset(8) poolLength(8)
+ * [レコード 56バイト × recordCount]（部品番号のUTF-8バイト列の昇順）
+ *   id(8) partNumberOffset(4) partNumberLength(4) partNameOffset(4) partNameLength(4)
+ *   manufacturerOffset(4) manufacturerLength(4) categoryId(8) priceUnscaled(8) updatedAtEpochMilli(8)
+ * [文字列プール]（UTF-8、オフセットはプール先頭からの相対位置）
+ * </pre>
+ * 文字列のnullはオフセット -1、数値のnullは -1（ID）または Long.MIN_VALUE で表す。
+ * 日時はタイムゾーン変換せずUTCとみなしてエポック値に変換する。
+ *
+ * 参照は絶対位置指定の読み取りのみを使用するため、複数スレッドから同時に利用できる。
+ */
+public final class CatalogSnapshot {
+
+    static final int MAGIC = 0x41545053; // "ATPS"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 40;
+    static final int RECORD_SIZE = 56;
+    static final int PRICE_SCALE = 2;
+    static final long NULL_NUMBER = Long.MIN_VALUE;
+
+    private static final int OFFSET_ID = 0;
+    private static final int OFFSET_PART_NUMBER = 8;
+    private static final int OFFSET_PART_NAME = 16;
+    private static final int OFFSET_MANUFACTURER = 24;
+    private static final int OFFSET_CATEGORY_ID = 32;
+    private static final int OFFSET_PRICE = 40;
+    private static final int OFFSET_UPDATED_AT = 48;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final LocalDateTime snapshotTime;
+    private final int recordCount;
+    private final int poolOffset;
+
+    private CatalogSnapshot(Path path, MappedByteBuffer buffer, LocalDateTime snapshotTime,
+                            int recordCount, int poolOffset) {
+        this.path = path;
+        this.buffer = buffer;
+        this.snapshotTime = snapshotTime;
+        this.recordCount = recordCount;
+        this.poolOffset = poolOffset;
+    }
+
+    /**
+     * スナップショットファイルをメモリマップして開く
+     * ファイル全体は読み込まず、参照時にOSのページキャッシュから必要な部分のみ読み込まれる
+     * @param path スナップショットファイル
+     * @return スナップショット
+     * @throws IOException 読み込みエラー、または形式が不正な場合
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("スナップショットのサイズが不正です: " + size);
+            }
+
+            // マップはチャネルを閉じた後も有効
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("スナップショットの形式が不正です: " + path);
+            }
+            LocalDateTime snapshotTime = LocalDateTime.ofEpochSecond(buffer.getLong(8), buffer.getInt(16), ZoneOffset.UTC);
+            int recordCount = buffer.getInt(20);
+            long poolOffset = buffer.getLong(24);
+            long poolLength = buffer.getLong(32);
+
+            if (recordCount < 0
+                    || poolOffset != HEADER_SIZE + (long) recordCount * RECORD_SIZE
+                    || poolOffset + poolLength != size) {
+                throw new IOException("スナップショットが破損しています: " + path);
+            }
+            return new CatalogSnapshot(path, buffer, snapshotTime, recordCount, (int) poolOffset);
+        }
+    }
+
+    /**
+     * 部品番号で検索（二分探索）
+     * @param partNumber 部品番号
+     * @return AT部品情報（存在しない場合はOptional.empty()）
+     */
+    public Optional<PartSnapshotEntry> find(String partNumber) {
+        if (partNumber == null) {
+            return Optional.empty();
+        }
+        byte[] key = partNumber.getBytes(StandardCharsets.UTF_8);
+
+        int low = 0;
+        int high = recordCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int record = recordPosition(mid);
+            int cmp = compareString(record + OFFSET_PART_NUMBER, key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return Optional.of(readEntry(record));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * スナップショット作成日時（アプリケーション時刻）
+     * @return 作成日時
+     */
+    public LocalDateTime getSnapshotTime() {
+        return snapshotTime;
+    }
+
+    /**
+     * 収録件数
+     * @return 件数
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * ファイルパス
+     * @return パス
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    private int recordPosition(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private PartSnapshotEntry readEntry(int record) {
+        long categoryId = buffer.getLong(record + OFFSET_CATEGORY_ID);
+        long price = buffer.getLong(record + OFFSET_PRICE);
+        long updatedAt = buffer.getLong(record + OFFSET_UPDATED_AT);
+        return new PartSnapshotEntry(
+            buffer.getLong(record + OFFSET_ID),
+            readString(record + OFFSET_PART_NUMBER),
+            readString(record + OFFSET_PART_NAME),
+            readString(record + OFFSET_MANUFACTURER),
+            categoryId < 0 ? null : categoryId,
+            price == NULL_NUMBER ? null : new BigDecimal(BigInteger.valueOf(price), PRICE_SCALE),
+            updatedAt == NULL_NUMBER ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(updatedAt), ZoneOffset.UTC));
+    }
+
+    private String readString(int reference) {
+        int offset = buffer.getInt(reference);
+        if (offset < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[buffer.getInt(reference + 4)];
+        buffer.get(poolOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 文字列プール上の文字列とキーをUTF-8バイト列の符号なし辞書順で比較
+     */
+    private int compareString(int reference, byte[] key) {
+        int offset = buffer.getInt(reference);
+        if (offset < 0) {
+            return -1;
+        }
+        int length = buffer.getInt(reference + 4);
+        int start = poolOffset + offset;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.compareUnsigned(buffer.get(start + i), key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+}
@@ -0,0 +1,534 @@
+package com.example.automatictransmissionpartsinventory.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.automatictransmissionpartsinventory.dto.PartSnapshotEntry;
+import com.example.automatictransmissionpartsinventory.entity.CacheVersion;
+import com.example.automatictransmissionpartsinventory.event.CacheRegionChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * カタログスナップショットサービス
+ *
+ * AT部品カタログを部品番号で引けるバイナリファイル（{@link CatalogSnapshot}）としてローカルに保存し、
+ * 起動時はファイルをメモリマップするだけで参照可能にする（全件スキャン不要）。
+ * スナップショット作成後の変更は updated_at による差分のみを取得して上書き領域（オーバーレイ）に保持する。
+ *
+ * - 起動時: ファイルがあればマップして差分を取得、無ければバックグラウンドで作成
+ * - 変更時: 自ノードの変更はコミット後、他ノードの変更は cache_versions の変化検知時に差分を取得
+ * - 定期実行: スナップショットを再作成してオーバーレイを縮小
+ *
+ * updated_at は各ノードの @PreUpdate でアプリケーション時刻が設定されるため、
+ * 差分の基準時刻もアプリケーション時刻とし、ノード間の時刻差は catch-up-margin で吸収する。
+ * 論理削除は updated_at・deleted_at から差分として反映する。
+ * 物理削除・アーカイブへの移動は updated_at に現れないため、削除と同一トランザクションで
+ * part_tombstones に記録し、他ノードも差分として取り込む（記録は保存期間の経過後に削除）。
+ * スナップショット未作成の間は部品番号による参照をデータベースで行う。
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotService implements ApplicationRunner {
+
+    private static final String SELECT_COLUMNS =
+        "SELECT id, part_number, part_name, manufacturer, category_id, price, updated_at FROM automotive_parts";
+
+    private static final String ACTIVE_ONLY = " WHERE deleted_at IS NULL";
+
+    private static final String SELECT_CHANGED =
+        "SELECT id, part_number, part_name, manufacturer, category_id, price, updated_at, deleted_at " +
+        "FROM automotive_parts WHERE updated_at > ?";
+
+    private static final String INSERT_TOMBSTONE =
+        "INSERT INTO part_tombstones (part_id, deleted_at) VALUES (?, ?) " +
+        "ON DUPLICATE KEY UPDATE deleted_at = VALUES(deleted_at)";
+
+    private static final String SELECT_TOMBSTONES =
+        "SELECT part_id, deleted_at FROM part_tombstones WHERE deleted_at > ?";
+
+    private static final String PRUNE_TOMBSTONES =
+        "DELETE FROM part_tombstones WHERE deleted_at < ?";
+
+    /** スナップショット未作成時の一括検索で、1回の IN 検索に含める部品番号の件数 */
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private static final RowMapper<PartSnapshotEntry> ENTRY_MAPPER = CatalogSnapshotService::mapEntry;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Path snapshotPath;
+    private final Duration catchUpMargin;
+    private final Duration maxAge;
+    private final Duration tombstoneRetention;
+
+    private final ReentrantLock catchUpLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile State state = new State(null, new Overlay(), null);
+
+    public CatalogSnapshotService(JdbcTemplate jdbcTemplate,
+                                  @Value("${app.catalog.snapshot.enabled:true}") boolean enabled,
+                                  @Value("${app.catalog.snapshot.path:data/catalog.snapshot}") String snapshotPath,
+                                  @Value("${app.catalog.snapshot.catch-up-margin-seconds:60}") long catchUpMarginSeconds,
+                                  @Value("${app.catalog.snapshot.max-age-hours:24}") long maxAgeHours,
+                                  @Value("${app.catalog.snapshot.tombstone-retention-days:7}") long tombstoneRetentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.catchUpMargin = Duration.ofSeconds(catchUpMarginSeconds);
+        this.maxAge = Duration.ofHours(maxAgeHours);
+        this.tombstoneRetention = Duration.ofDays(tombstoneRetentionDays);
+    }
+
+    // ========================================
+    // 起動・再作成
+    // ========================================
+
+    /**
+     * 起動時の読み込み
+     * 既存ファイルをメモリマップし、作成後の差分のみを取得する
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("カタログスナップショットは無効です");
+            return;
+        }
+
+        long started = System.nanoTime();
+        CatalogSnapshot snapshot = null;
+        if (Files.exists(snapshotPath)) {
+            try {
+                snapshot = CatalogSnapshot.open(snapshotPath);
+            } catch (IOException e) {
+                log.warn("カタログスナップショットを読み込めないため再作成します: {}", e.getMessage());
+            }
+        }
+        if (snapshot != null && snapshot.getSnapshotTime().isBefore(LocalDateTime.now().minus(tombstoneRetention))) {
+            // 削除記録の保存期間より古いファイルは、その間の物理削除を差分として取り込めない
+            log.info("カタログスナップショットが削除記録の保存期間より古いため再作成します: {}", snapshot.getSnapshotTime());
+            snapshot = null;
+        }
+
+        if (snapshot == null) {
+            startBackgroundRebuild();
+            return;
+        }
+
+        state = new State(snapshot, new Overlay(), snapshot.getSnapshotTime().minus(catchUpMargin));
+        int applied = catchUp();
+        log.info("カタログスナップショット読み込み完了: {}件, 差分{}件, {}ms",
+            snapshot.getRecordCount(), applied, Duration.ofNanos(System.nanoTime() - started).toMillis());
+
+        if (snapshot.getSnapshotTime().isBefore(LocalDateTime.now().minus(maxAge))) {
+            startBackgroundRebuild();
+        }
+    }
+
+    /**
+     * スナップショットの定期再作成
+     */
+    @Scheduled(cron = "${app.catalog.snapshot.rebuild-cron:0 0 3 * * *}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+        pruneTombstones();
+    }
+
+    /**
+     * 保存期間を経過した削除記録を削除
+     * @return 削除件数
+     */
+    public int pruneTombstones() {
+        try {
+            int pruned = jdbcTemplate.update(PRUNE_TOMBSTONES,
+                Timestamp.valueOf(LocalDateTime.now().minus(tombstoneRetention)));
+            if (pruned > 0) {
+                log.info("AT部品削除記録の整理完了: {}件", pruned);
+            }
+            return pruned;
+        } catch (DataAccessException e) {
+            log.warn("AT部品削除記録の整理に失敗しました: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * スナップショットを再作成して差し替える
+     * データベースから部品番号順に逐次読み込み、ファイルへ直接書き出す
+     * @return 収録件数（他の再作成が実行中の場合は -1）
+     */
+    public int rebuild() {
+        if (!rebuildLock.tryLock()) {
+            log.info("カタログスナップショットは再作成中のためスキップします");
+            return -1;
+        }
+        try {
+            long started = System.nanoTime();
+            LocalDateTime snapshotTime = LocalDateTime.now();
+
+            try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(snapshotPath)) {
+                jdbcTemplate.query(connection -> {
+                    // バイナリ順で並べ、スナップショットの二分探索と同じ順序にする
+                    var statement = connection.prepareStatement(
+                        SELECT_COLUMNS + ACTIVE_ONLY + " ORDER BY CAST(part_number AS BINARY)",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    // MySQL Connector/J で結果を逐次取得する
+                    statement.setFetchSize(Integer.MIN_VALUE);
+                    return statement;
+                }, rs -> {
+                    try {
+                        writer.append(mapEntry(rs, 0));
+                    } catch (IOException e) {
+                        throw new SQLException("カタログスナップショットの書き込みに失敗しました", e);
+                    }
+                });
+                writer.finish(snapshotTime);
+            }
+
+            CatalogSnapshot snapshot = CatalogSnapshot.open(snapshotPath);
+            LocalDateTime watermark = snapshotTime.minus(catchUpMargin);
+            Overlay overlay = new Overlay();
+            // 読み込み開始より前の削除は再作成したファイルに反映済みのため引き継がない
+            // 読み込み中に削除された部品はファイルに含まれている可能性があるため、基準時刻以降の削除のみ引き継ぐ
+            state.overlay().deletedSince(watermark).forEach(overlay::markDeleted);
+            state = new State(snapshot, overlay, watermark);
+            catchUp();
+
+            log.info("カタログスナップショット再作成完了: {}件, {}ms",
+                snapshot.getRecordCount(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+            return snapshot.getRecordCount();
+
+        } catch (Exception e) {
+            log.error("カタログスナップショットの再作成に失敗しました", e);
+            return -1;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void startBackgroundRebuild() {
+        Thread.ofVirtual().name("catalog-snapshot-rebuild").start(this::rebuild);
+    }
+
+    // ========================================
+    // 参照
+    // ========================================
+
+    /**
+     * 部品番号でAT部品を検索
+     * オーバーレイ（スナップショット作成後の変更）を優先し、次にスナップショットを参照する
+     * @param partNumber 部品番号
+     * @return AT部品情報（存在しない場合はOptional.empty()）
+     */
+    public Optional<PartSnapshotEntry> findByPartNumber(String partNumber) {
+        State current = state;
+        if (current.snapshot() == null) {
+            return jdbcTemplate.query(SELECT_COLUMNS + ACTIVE_ONLY + " AND part_number = BINARY ?", ENTRY_MAPPER, partNumber)
+                .stream().findFirst();
+        }
+        return findInSnapshot(current, partNumber);
+    }
+
+    /**
+     * 複数の部品番号でAT部品をまとめて検索
+     * スナップショット未作成の間は、一定件数ずつの IN 検索でデータベースから取得する
+     * （スナップショットと同じく大文字小文字・アクセントを区別するため、検索値を BINARY で比較する。
+     * 列側ではなく値側に付けることで、部品番号のインデックスを使用できる）
+     * @param partNumbers 部品番号（重複可）
+     * @return 部品番号をキーとするAT部品情報（存在しない部品番号は含まない）
+     */
+    public Map<String, PartSnapshotEntry> findByPartNumbers(Collection<String> partNumbers) {
+        State current = state;
+        Map<String, PartSnapshotEntry> found = new HashMap<>();
+
+        if (current.snapshot() == null) {
+            List<String> distinct = partNumbers.stream().distinct().toList();
+            for (int from = 0; from < distinct.size(); from += LOOKUP_CHUNK_SIZE) {
+                List<String> chunk = distinct.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, distinct.size()));
+                String placeholders = String.join(",", Collections.nCopies(chunk.size(), "BINARY ?"));
+                jdbcTemplate.query(SELECT_COLUMNS + ACTIVE_ONLY + " AND part_number IN (" + placeholders + ")",
+                    rs -> {
+                        PartSnapshotEntry entry = mapEntry(rs, 0);
+                        found.put(entry.partNumber(), entry);
+                    },
+                    chunk.toArray());
+            }
+            return found;
+        }
+
+        for (String partNumber : partNumbers) {
+            if (!found.containsKey(partNumber)) {
+                findInSnapshot(current, partNumber).ifPresent(entry -> found.put(partNumber, entry));
+            }
+        }
+        return found;
+    }
+
+    private static Optional<PartSnapshotEntry> findInSnapshot(State current, String partNumber) {
+        PartSnapshotEntry changed = current.overlay().findByPartNumber(partNumber);
+        if (changed != null) {
+            return Optional.of(changed);
+        }
+
+        // スナップショット後に更新・削除された部品は、オーバーレイ側の内容を正とする
+        return current.snapshot().find(partNumber)
+            .filter(entry -> !current.overlay().contains(entry.id()));
+    }
+
+    /**
+     * スナップショットの状態を取得
+     * @return 状態情報
+     */
+    public Map<String, Object> getStatus() {
+        State current = state;
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("loaded", current.snapshot() != null);
+        if (current.snapshot() != null) {
+            status.put("path", current.snapshot().getPath().toAbsolutePath().toString());
+            status.put("recordCount", current.snapshot().getRecordCount());
+            status.put("snapshotTime", current.snapshot().getSnapshotTime());
+        }
+        status.put("overlaySize", current.overlay().size());
+        status.put("catchUpFrom", current.catchUpFrom());
+        return status;
+    }
+
+    // ========================================
+    // 差分の取り込み
+    // ========================================
+
+    /**
+     * 削除記録の追加（削除と同一トランザクション内、コミット直前）
+     * 論理削除も対象とする（deleted_at による差分と重複しても結果は同じ）
+     * 削除処理の中で追加済みのイベント（{@link PartChangedEvent#recorded()}）は対象外
+     * @param event AT部品変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordDeleted(PartChangedEvent event) {
+        if (event.changeType() == PartChangedEvent.ChangeType.DELETED && !event.recorded()) {
+            recordTombstones(event.partIds());
+        }
+    }
+
+    /**
+     * 削除記録を追加
+     * 削除と同じトランザクション内で呼び出すこと（複数トランザクションに分けて削除する一括操作・アーカイブ用）
+     * @param partIds 削除されたAT部品ID
+     */
+    public void recordTombstones(List<Long> partIds) {
+        Timestamp deletedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_TOMBSTONE, partIds, LOOKUP_CHUNK_SIZE,
+            (ps, id) -> {
+                ps.setLong(1, id);
+                ps.setTimestamp(2, deletedAt);
+            });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPartChanged(PartChangedEvent event) {
+        State current = state;
+        if (current.snapshot() == null) {
+            return;
+        }
+        if (event.changeType() == PartChangedEvent.ChangeType.DELETED) {
+            event.partIds().forEach(current.overlay()::markDeleted);
+        } else {
+            catchUp();
+        }
+    }
+
+    /**
+     * 他ノードの変更検知時に差分を取得
+     * 自ノードの変更のみの場合は {@link #onPartChanged} で反映済みのため何もしない
+     * @param event キャッシュリージョン変更イベント
+     */
+    @EventListener
+    public void onCacheRegionChanged(CacheRegionChangedEvent event) {
+        if (CacheVersion.REGION_PARTS.equals(event.region()) && event.remote() && state.snapshot() != null) {
+            catchUp();
+        }
+    }
+
+    /**
+     * 前回の取り込み以降に更新された部品をオーバーレイへ反映
+     * 取り込み開始時刻はコミット遅延を考慮して余裕（catch-up-margin）を持たせる
+     * @return 反映件数
+     */
+    private int catchUp() {
+        catchUpLock.lock();
+        try {
+            State current = state;
+            if (current.catchUpFrom() == null) {
+                return 0;
+            }
+            LocalDateTime nextFrom = LocalDateTime.now().minus(catchUpMargin);
+
+            // 論理削除された部品は削除として反映する
+            int[] changed = {0};
+            Timestamp from = Timestamp.valueOf(current.catchUpFrom());
+            jdbcTemplate.query(SELECT_CHANGED, rs -> {
+                Timestamp deletedAt = rs.getTimestamp("deleted_at");
+                if (deletedAt != null) {
+                    current.overlay().markDeleted(rs.getLong("id"), deletedAt.toLocalDateTime());
+                } else {
+                    current.overlay().put(mapEntry(rs, 0));
+                }
+                changed[0]++;
+            }, from);
+
+            // 物理削除・アーカイブへの移動（他ノード分を含む）
+            jdbcTemplate.query(SELECT_TOMBSTONES, rs -> {
+                current.overlay().markDeleted(rs.getLong("part_id"), rs.getTimestamp("deleted_at").toLocalDateTime());
+                changed[0]++;
+            }, from);
+
+            if (state == current) {
+                state = new State(current.snapshot(), current.overlay(), nextFrom);
+            }
+            return changed[0];
+
+        } catch (Exception e) {
+            log.warn("カタログスナップショットの差分取得に失敗しました: {}", e.getMessage());
+            return 0;
+        } finally {
+            catchUpLock.unlock();
+        }
+    }
+
+    private static PartSnapshotEntry mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        long categoryId = rs.getLong("category_id");
+        boolean categoryIsNull = rs.wasNull();
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return new PartSnapshotEntry(
+            rs.getLong("id"),
+            rs.getString("part_number"),
+            rs.getString("part_name"),
+            rs.getString("manufacturer"),
+            categoryIsNull ? null : categoryId,
+            rs.getBigDecimal("price"),
+            updatedAt != null ? updatedAt.toLocalDateTime() : null);
+    }
+
+    // ========================================
+    // 内部状態
+    // ========================================
+
+    /**
+     * スナップショット・オーバーレイ・次回の差分取得開始時刻の組（差し替えは一括で行う）
+     */
+    private record State(CatalogSnapshot snapshot, Overlay overlay, LocalDateTime catchUpFrom) {
+    }
+
+    /**
+     * スナップショット作成後の変更を保持する上書き領域
+     * IDごとの最新状態（削除はnull）と削除日時、部品番号からの逆引きを保持する
+     */
+    private static final class Overlay {
+
+        private final Map<Long, Optional<PartSnapshotEntry>> byId = new ConcurrentHashMap<>();
+        private final Map<Long, LocalDateTime> deletedAt = new ConcurrentHashMap<>();
+        private final Map<String, PartSnapshotEntry> byPartNumber = new ConcurrentHashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+
+        PartSnapshotEntry findByPartNumber(String partNumber) {
+            return partNumber != null ? byPartNumber.get(partNumber) : null;
+        }
+
+        boolean contains(Long id) {
+            return byId.containsKey(id);
+        }
+
+        void put(PartSnapshotEntry entry) {
+            replace(entry.id(), entry);
+        }
+
+        void markDeleted(Long id) {
+            markDeleted(id, LocalDateTime.now());
+        }
+
+        void markDeleted(Long id, LocalDateTime at) {
+            lock.lock();
+            try {
+                deletedAt.merge(id, at, (previous, next) -> next.isAfter(previous) ? next : previous);
+                replace(id, null);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 指定日時以降に削除された部品の削除日時を取得
+         * @param watermark 基準日時
+         * @return IDをキーとする削除日時
+         */
+        Map<Long, LocalDateTime> deletedSince(LocalDateTime watermark) {
+            Map<Long, LocalDateTime> deleted = new HashMap<>();
+            deletedAt.forEach((id, at) -> {
+                if (!at.isBefore(watermark) && byId.getOrDefault(id, Optional.empty()).isEmpty()) {
+                    deleted.put(id, at);
+                }
+            });
+            return deleted;
+        }
+
+        int size() {
+            return byId.size();
+        }
+
+        private void replace(Long id, PartSnapshotEntry entry) {
+            lock.lock();
+            try {
+                Optional<PartSnapshotEntry> previous = byId.get(id);
+                if (previous != null && previous.isEmpty() && entry != null) {
+                    // 削除前に読み込んだ内容では復活させない（アーカイブからの復元など、削除後に更新された場合のみ反映）
+                    LocalDateTime deleted = deletedAt.get(id);
+                    if (entry.updatedAt() == null || deleted != null && !entry.updatedAt().isAfter(deleted)) {
+                        return;
+                    }
+                    deletedAt.remove(id);
+                }
+                byId.put(id, Optional.ofNullable(entry));
+                if (previous != null) {
+                    previous.ifPresent(old -> byPartNumber.remove(old.partNumber(), old));
+                }
+                if (entry != null) {
+                    byPartNumber.put(entry.partNumber(), entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
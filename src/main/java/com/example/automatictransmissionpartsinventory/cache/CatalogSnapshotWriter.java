@@ -0,0 +1,166 @@
+package com.example.automatictransmissionpartsinventory.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import com.example.automatictransmissionpartsinventory.dto.PartSnapshotEntry;
+
+/**
+ * カタログスナップショットの書き出し
+ *
+ * レコードと文字列プールを別々の一時ファイルへ逐次書き出し、
+ * 最後にヘッダーと連結して目的のパスへアトミックに置き換える。
+ * 件数に関わらずメモリ使用量は一定。形式は {@link CatalogSnapshot} を参照。
+ *
+ * レコードは部品番号のUTF-8バイト列の昇順で追加すること。
+ */
+public final class CatalogSnapshotWriter implements Closeable {
+
+    private final Path target;
+    private final Path recordFile;
+    private final Path poolFile;
+    private final DataOutputStream records;
+    private final DataOutputStream pool;
+
+    private int recordCount;
+    private long poolLength;
+    private byte[] previousKey;
+
+    public CatalogSnapshotWriter(Path target) throws IOException {
+        this.target = target.toAbsolutePath();
+        Path directory = this.target.getParent();
+        Files.createDirectories(directory);
+        this.recordFile = Files.createTempFile(directory, "catalog-records", ".tmp");
+        this.poolFile = Files.createTempFile(directory, "catalog-pool", ".tmp");
+        this.records = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(recordFile), 1 << 16));
+        this.pool = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(poolFile), 1 << 16));
+    }
+
+    /**
+     * レコードを追加
+     * @param entry AT部品情報
+     * @throws IOException 書き込みエラー
+     * @throws IllegalStateException 部品番号が昇順でない場合
+     */
+    public void append(PartSnapshotEntry entry) throws IOException {
+        byte[] key = entry.partNumber().getBytes(StandardCharsets.UTF_8);
+        if (previousKey != null && Arrays.compareUnsigned(previousKey, key) >= 0) {
+            throw new IllegalStateException("部品番号が昇順ではありません: " + entry.partNumber());
+        }
+        previousKey = key;
+
+        records.writeLong(entry.id());
+        writeString(key);
+        writeString(entry.partName());
+        writeString(entry.manufacturer());
+        records.writeLong(entry.categoryId() != null ? entry.categoryId() : -1L);
+        records.writeLong(toUnscaledPrice(entry.price()));
+        records.writeLong(entry.updatedAt() != null
+            ? entry.updatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : CatalogSnapshot.NULL_NUMBER);
+        recordCount++;
+    }
+
+    /**
+     * 書き出しを完了し、目的のパスへアトミックに置き換える
+     * @param snapshotTime スナップショット作成日時（アプリケーション時刻）
+     * @throws IOException 書き込みエラー
+     */
+    public void finish(LocalDateTime snapshotTime) throws IOException {
+        records.close();
+        pool.close();
+
+        Path output = Files.createTempFile(target.getParent(), "catalog", ".tmp");
+        try {
+            writeSnapshot(output, snapshotTime);
+            Files.move(output, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    /**
+     * 追加済みの件数
+     * @return 件数
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+        pool.close();
+        Files.deleteIfExists(recordFile);
+        Files.deleteIfExists(poolFile);
+    }
+
+    private void writeSnapshot(Path output, LocalDateTime snapshotTime) throws IOException {
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(CatalogSnapshot.HEADER_SIZE);
+            header.putInt(CatalogSnapshot.MAGIC);
+            header.putInt(CatalogSnapshot.FORMAT_VERSION);
+            header.putLong(snapshotTime.toEpochSecond(ZoneOffset.UTC));
+            header.putInt(snapshotTime.getNano());
+            header.putInt(recordCount);
+            header.putLong(CatalogSnapshot.HEADER_SIZE + (long) recordCount * CatalogSnapshot.RECORD_SIZE);
+            header.putLong(poolLength);
+            header.flip();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            transfer(recordFile, out);
+            transfer(poolFile, out);
+            out.force(true);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        writeString(value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    private void writeString(byte[] bytes) throws IOException {
+        if (bytes == null) {
+            records.writeInt(-1);
+            records.writeInt(0);
+            return;
+        }
+        if (poolLength + bytes.length > Integer.MAX_VALUE) {
+            throw new IOException("文字列プールが上限を超えました");
+        }
+        records.writeInt((int) poolLength);
+        records.writeInt(bytes.length);
+        pool.write(bytes);
+        poolLength += bytes.length;
+    }
+
+    private static long toUnscaledPrice(BigDecimal price) {
+        if (price == null) {
+            return CatalogSnapshot.NULL_NUMBER;
+        }
+        return price.setScale(CatalogSnapshot.PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static void transfer(Path source, FileChannel out) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long position = 0;
+            long size = in.size();
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.automatictransmissionpartsinventory.cache;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import com.example.automatictransmissionpartsinventory.config.ReadWriteRoutingDataSource;
+import com.example.automatictransmissionpartsinventory.entity.CacheVersion;
+import com.example.automatictransmissionpartsinventory.entity.Category;
+import com.example.automatictransmissionpartsinventory.event.CacheRegionChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.CategoryChangedEvent;
+import com.example.automatictransmissionpartsinventory.service.CategoryService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * カテゴリ選択肢（&lt;option&gt; の並び）の描画結果キャッシュ
+ *
+ * 部品一覧の絞り込み・部品登録／編集画面のカテゴリ選択肢を、テンプレート
+ * fragments/category-options で一度だけ描画して保持する。
+ * 保持するのは最新のカテゴリ世代番号の描画結果1件のみで、カテゴリの変更（他ノードでの変更を含む）で世代を進めて破棄する。
+ * 選択肢はカテゴリ名のみでメッセージを含まずロケールによらないため、リクエストのロケール（Accept-Language）は
+ * キーに含めず固定のロケールで描画する（ヘッダーの値ごとに描画結果が増えないようにする）。
+ * 選択状態はリクエストごとに異なるため、キャッシュした描画結果に selected 属性を付与して返す。
+ *
+ * テンプレートからは ${@categoryFragmentCache.options(選択中のカテゴリID)} で参照する。
+ */
+@Slf4j
+@Component
+public class CategoryFragmentCache {
+
+    private static final String TEMPLATE = "fragments/category-options";
+    private static final Set<String> FRAGMENT = Set.of("categoryOptions");
+    private static final Locale LOCALE = Locale.JAPAN;
+
+    private final CategoryService categoryService;
+    private final ITemplateEngine templateEngine;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Rendered> rendered = new AtomicReference<>();
+
+    public CategoryFragmentCache(CategoryService categoryService,
+                                 ITemplateEngine templateEngine,
+                                 PlatformTransactionManager transactionManager) {
+        this.categoryService = categoryService;
+        this.templateEngine = templateEngine;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * カテゴリ選択肢のHTMLを取得
+     * @param selectedId 選択状態にするカテゴリID（未選択の場合はnull）
+     * @return &lt;option&gt; 要素の並び（先頭の「すべて」「選択してください」などの選択肢は含まない）
+     */
+    public String options(Object selectedId) {
+        long current = generation.get();
+        Rendered cached = rendered.get();
+
+        // 描画（DBアクセスを含む）の間はロックを保持しない
+        // 同時に未キャッシュだった場合は複数回描画されるが、結果は同一
+        String html;
+        if (cached != null && cached.generation() == current) {
+            html = cached.html();
+        } else {
+            html = render();
+            store(new Rendered(current, html));
+        }
+        return selectedId != null ? select(html, selectedId.toString()) : html;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * 他ノードでのカテゴリ変更を検知した場合に破棄する
+     * @param event キャッシュリージョン変更イベント
+     */
+    @EventListener
+    public void onCacheRegionChanged(CacheRegionChangedEvent event) {
+        if (CacheVersion.REGION_CATEGORIES.equals(event.region())) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        long next = generation.incrementAndGet();
+        rendered.set(null);
+        log.debug("カテゴリ選択肢のキャッシュを破棄: 世代={}", next);
+    }
+
+    /**
+     * 描画結果を保持
+     * 描画中に破棄された（世代が進んだ）場合は、変更前の内容のため保持しない
+     */
+    private void store(Rendered fresh) {
+        rendered.updateAndGet(previous -> {
+            if (fresh.generation() != generation.get()) {
+                return previous;
+            }
+            return previous != null && previous.generation() == fresh.generation() ? previous : fresh;
+        });
+    }
+
+    private String render() {
+        long started = System.currentTimeMillis();
+        // 小分類（children）の遅延ロードを描画中に行うため、トランザクション内で描画する
+        // 描画結果は次の変更まで保持するため、レプリカの反映遅延の影響を受けないようプライマリから読む
+        String html = ReadWriteRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> {
+            List<Category> categories = categoryService.findActiveCategories();
+            return templateEngine.process(TEMPLATE, FRAGMENT, new Context(LOCALE, Map.of("categories", categories)));
+        }));
+        log.info("カテゴリ選択肢を描画: {}ms", System.currentTimeMillis() - started);
+        return html;
+    }
+
+    /**
+     * 指定IDの選択肢に selected 属性を付与
+     */
+    private static String select(String html, String selectedId) {
+        String value = "value=\"" + selectedId + "\"";
+        int index = html.indexOf(value);
+        if (index < 0) {
+            return html;
+        }
+        int end = index + value.length();
+        return html.substring(0, end) + " selected=\"selected\"" + html.substring(end);
+    }
+
+    private record Rendered(long generation, String html) {
+    }
+}
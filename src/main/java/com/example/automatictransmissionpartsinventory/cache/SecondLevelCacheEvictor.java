@@ -0,0 +1,90 @@
+package com.example.automatictransmissionpartsinventory.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.automatictransmissionpartsinventory.entity.CacheVersion;
+import com.example.automatictransmissionpartsinventory.entity.Category;
+import com.example.automatictransmissionpartsinventory.entity.Role;
+import com.example.automatictransmissionpartsinventory.event.CacheRegionChangedEvent;
+import com.example.automatictransmissionpartsinventory.repository.CategoryRepository;
+import com.example.automatictransmissionpartsinventory.repository.RoleRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hibernate 2次キャッシュの明示的な破棄
+ * JDBC直接更新などHibernateを経由しない書き込みの後に使用する
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * カテゴリ関連のキャッシュ（エンティティ・子コレクション・クエリ）を破棄
+     * トランザクション中の場合はコミット後にも再度破棄し、
+     * コミット前に他トランザクションが古い値を再格納した場合に備える
+     */
+    public void evictCategories() {
+        runNowAndAfterCommit(this::doEvictCategories);
+    }
+
+    /**
+     * 権限関連のキャッシュ（エンティティ・クエリ）を破棄
+     */
+    public void evictRoles() {
+        runNowAndAfterCommit(this::doEvictRoles);
+    }
+
+    /**
+     * 他ノードを含むカテゴリ変更を検知した場合にカテゴリのキャッシュを破棄
+     * @param event キャッシュリージョン変更イベント
+     */
+    @EventListener
+    public void onCacheRegionChanged(CacheRegionChangedEvent event) {
+        if (CacheVersion.REGION_CATEGORIES.equals(event.region())) {
+            evictCategories();
+        }
+    }
+
+    private void doEvictCategories() {
+        Cache cache = secondLevelCache();
+        cache.evictEntityData(Category.class);
+        cache.evictCollectionData(Category.class.getName() + ".children");
+        cache.evictQueryRegion(CategoryRepository.QUERY_CACHE_REGION);
+        log.debug("カテゴリの2次キャッシュを破棄しました");
+    }
+
+    private void doEvictRoles() {
+        Cache cache = secondLevelCache();
+        cache.evictEntityData(Role.class);
+        cache.evictQueryRegion(RoleRepository.QUERY_CACHE_REGION);
+        log.debug("権限の2次キャッシュを破棄しました");
+    }
+
+    private Cache secondLevelCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.automatictransmissionpartsinventory.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 受付制御の設定クラス
+ *
+ * フィルターはSpring Securityのフィルターチェーンの後に実行されるため、
+ * 未認証・権限のないリクエストは処理枠を消費しない。
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(AdmissionControlProperties properties, ObjectMapper objectMapper) {
+        return new AdmissionControlFilter(properties, objectMapper);
+    }
+}
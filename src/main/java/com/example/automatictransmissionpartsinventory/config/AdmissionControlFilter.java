@@ -0,0 +1,311 @@
+package com.example.automatictransmissionpartsinventory.config;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 受付制御フィルター（エンドポイント種別ごとのバルクヘッド）
+ *
+ * 検索・エクスポート・インポート・管理統計の種別ごとに同時実行数と待ち行列の長さを制限し、
+ * 重い処理（CSVエクスポート・インポートなど）が検索の応答時間を悪化させないようにする。
+ * - 処理枠に空きがあればそのまま処理する
+ * - 空きがなければ待ち行列で空きを待つ（最大待ち時間を超えた場合は 503 Service Unavailable）
+ * - 待ち行列も満杯の場合は待たずに 429 Too Many Requests
+ * 拒否した場合は Retry-After ヘッダーで再試行までの秒数を示す。
+ * 非同期応答（NDJSON逐次出力など）は、出力の完了まで処理枠を保持する。
+ *
+ * 処理状況は種別（タグ class）ごとにメトリクスとして公開する（/actuator/metrics）。
+ * - admission.active: 処理中の件数
+ * - admission.queue.depth: 待ち行列の長さ
+ * - admission.requests: 受付件数（タグ outcome: admitted / queue_full（429）/ timeout（503））
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    /**
+     * エンドポイント種別
+     */
+    public enum EndpointClass {
+        /** 画面・APIからの検索（一覧・高度検索・部品番号参照） */
+        SEARCH(false, "/parts", "/parts/search", "/parts/advanced-search", "/parts/api/advanced-search",
+               "/parts/api/list", "/parts/api/lookup", "/parts/api/live-search", "/api/v1/parts", "/api/v1/parts/lookup"),
+        /** 全件出力（CSVエクスポート・NDJSON逐次出力） */
+        EXPORT(false, "/parts/export/**", "/api/v1/parts/stream"),
+        /** 取り込み・一括更新（画面表示のGETは対象外） */
+        IMPORT(true, "/parts/import/**", "/parts/api/bulk-*"),
+        /** 管理画面の統計・集計 */
+        ADMIN_STATS(false, "/admin", "/admin/api/**", "/admin/categories/api/statistics", "/parts/search-statistics");
+
+        private final boolean writeOnly;
+        private final List<String> patterns;
+
+        EndpointClass(boolean writeOnly, String... patterns) {
+            this.writeOnly = writeOnly;
+            this.patterns = List.of(patterns);
+        }
+    }
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final boolean enabled;
+    private final Map<EndpointClass, Bulkhead> bulkheads = new EnumMap<>(EndpointClass.class);
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, ObjectMapper objectMapper) {
+        this.enabled = properties.isEnabled();
+        this.objectMapper = objectMapper;
+        properties.getLimits().forEach((endpointClass, limit) -> bulkheads.put(endpointClass, new Bulkhead(limit)));
+        if (enabled) {
+            log.info("受付制御を有効化: {}", properties.getLimits());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        Bulkhead bulkhead = bulkheads.get(endpointClass);
+
+        HttpStatus rejection = bulkhead.acquire();
+        if (rejection != null) {
+            log.warn("受付制御によりリクエストを拒否: 種別={}, {} {}, 状態={}",
+                endpointClass, request.getMethod(), request.getRequestURI(), rejection.value());
+            reject(request, response, endpointClass, bulkhead, rejection);
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // 非同期応答は出力の完了（またはタイムアウト・エラー）まで処理枠を保持する
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bulkheads.forEach((endpointClass, bulkhead) -> {
+            String tag = endpointClass.name();
+            Gauge.builder("admission.active", bulkhead, Bulkhead::active)
+                .description("受付制御で処理中のリクエスト数")
+                .tag("class", tag)
+                .register(registry);
+            Gauge.builder("admission.queue.depth", bulkhead.queued, AtomicInteger::get)
+                .description("受付制御で処理枠の空きを待っているリクエスト数")
+                .tag("class", tag)
+                .register(registry);
+            bindRequestCounter(registry, tag, "admitted", bulkhead.admitted);
+            bindRequestCounter(registry, tag, "queue_full", bulkhead.rejectedQueueFull);
+            bindRequestCounter(registry, tag, "timeout", bulkhead.rejectedTimeout);
+        });
+    }
+
+    private static void bindRequestCounter(MeterRegistry registry, String endpointClass, String outcome, AtomicLong count) {
+        FunctionCounter.builder("admission.requests", count, AtomicLong::get)
+            .description("受付制御の判定結果ごとのリクエスト数")
+            .tag("class", endpointClass)
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    /**
+     * 種別ごとの処理状況（同時実行数・待ち行列の長さ・拒否件数など）を取得
+     * @return 種別名をキーとする処理状況
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        bulkheads.forEach((endpointClass, bulkhead) -> statistics.put(endpointClass.name(), bulkhead.toMap()));
+        return statistics;
+    }
+
+    /**
+     * リクエストのエンドポイント種別を判定
+     * @return エンドポイント種別（制限対象外の場合はnull）
+     */
+    private EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean write = !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            if (endpointClass.writeOnly && !write || !bulkheads.containsKey(endpointClass)) {
+                continue;
+            }
+            for (String pattern : endpointClass.patterns) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return endpointClass;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, EndpointClass endpointClass,
+                        Bulkhead bulkhead, HttpStatus status) throws IOException {
+        String message = status == HttpStatus.TOO_MANY_REQUESTS
+            ? "混み合っているため受け付けできませんでした。しばらくしてから再度お試しください"
+            : "処理待ちが時間内に終わりませんでした。しばらくしてから再度お試しください";
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(bulkhead.retryAfterSeconds()));
+        response.setCharacterEncoding("UTF-8");
+
+        if (!request.getRequestURI().contains("/api/")) {
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write(message);
+            return;
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("message", message);
+        body.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        body.put("details", endpointClass.name());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * エンドポイント種別ごとの処理枠と待ち行列
+     */
+    private static final class Bulkhead {
+
+        private final AdmissionControlProperties.Limit limit;
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicLong rejectedQueueFull = new AtomicLong();
+        private final AtomicLong rejectedTimeout = new AtomicLong();
+
+        Bulkhead(AdmissionControlProperties.Limit limit) {
+            this.limit = limit;
+            this.permits = new Semaphore(limit.getMaxConcurrent(), true);
+        }
+
+        /**
+         * 処理枠を取得
+         * @return 拒否する場合の応答ステータス（取得できた場合はnull）
+         */
+        HttpStatus acquire() {
+            if (permits.tryAcquire()) {
+                admitted.incrementAndGet();
+                return null;
+            }
+            if (queued.incrementAndGet() > limit.getQueueCapacity()) {
+                queued.decrementAndGet();
+                rejectedQueueFull.incrementAndGet();
+                return HttpStatus.TOO_MANY_REQUESTS;
+            }
+            try {
+                if (permits.tryAcquire(limit.getMaxWait().toMillis(), TimeUnit.MILLISECONDS)) {
+                    admitted.incrementAndGet();
+                    return null;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                queued.decrementAndGet();
+            }
+            rejectedTimeout.incrementAndGet();
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+
+        void release() {
+            permits.release();
+        }
+
+        int active() {
+            return limit.getMaxConcurrent() - permits.availablePermits();
+        }
+
+        long retryAfterSeconds() {
+            return Math.max(1, limit.getRetryAfter().toSeconds());
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("maxConcurrent", limit.getMaxConcurrent());
+            map.put("active", active());
+            map.put("queueCapacity", limit.getQueueCapacity());
+            map.put("queueDepth", queued.get());
+            map.put("maxWaitMillis", limit.getMaxWait().toMillis());
+            map.put("admitted", admitted.get());
+            map.put("rejectedQueueFull", rejectedQueueFull.get());
+            map.put("rejectedTimeout", rejectedTimeout.get());
+            return map;
+        }
+    }
+
+    /**
+     * 非同期応答の終了時に処理枠を返却するリスナー
+     */
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 非同期処理が再開始された場合、リスナーは引き継がれないため登録し直す
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
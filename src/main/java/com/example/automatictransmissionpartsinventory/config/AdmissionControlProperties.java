@@ -0,0 +1,50 @@
+package com.example.automatictransmissionpartsinventory.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * 受付制御（エンドポイント種別ごとの同時実行数制限）の設定
+ *
+ * app.admission.limits.{search|export|import|admin-stats}.* で種別ごとに指定する。
+ * 指定のない種別は制限しない。
+ */
+@Data
+@ConfigurationProperties("app.admission")
+public class AdmissionControlProperties {
+
+    /**
+     * 受付制御を有効にするか
+     */
+    private boolean enabled = true;
+
+    /**
+     * エンドポイント種別ごとの制限
+     */
+    private Map<AdmissionControlFilter.EndpointClass, Limit> limits =
+        new EnumMap<>(AdmissionControlFilter.EndpointClass.class);
+
+    /**
+     * エンドポイント種別ごとの制限値
+     */
+    @Data
+    public static class Limit {
+
+        /** 同時に処理するリクエスト数 */
+        private int maxConcurrent = 10;
+
+        /** 処理枠の空きを待てるリクエスト数（超えた場合は待たずに429を返す） */
+        private int queueCapacity = 10;
+
+        /** 処理枠の空きを待つ最大時間（超えた場合は503を返す） */
+        private Duration maxWait = Duration.ofSeconds(2);
+
+        /** 拒否時に Retry-After ヘッダーで示す再試行までの時間 */
+        private Duration retryAfter = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.automatictransmissionpartsinventory.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * プライマリ／レプリカのデータソース振り分け設定クラス
+ *
+ * app.datasource.replica.enabled=true の場合のみ有効。
+ * - プライマリ: spring.datasource.*（接続プールは spring.datasource.hikari.*）
+ * - レプリカ: app.datasource.replica.url / username / password（接続プールは app.datasource.replica.hikari.*）
+ * 無効の場合は従来どおり spring.datasource.* の単一データソースを使用する。
+ * 書き込み後の参照の固定（同一セッション: app.datasource.read-your-writes-seconds、
+ * ノード全体: app.datasource.replica.max-lag-seconds）もあわせて設定する。
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * アプリケーションが使用するデータソース
+     * JPA・JdbcTemplate・トランザクション管理はすべてこのデータソースを経由する
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        log.info("読み取り専用トランザクションのレプリカ振り分けを有効化");
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource));
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${app.datasource.read-your-writes-seconds:5}") long readYourWritesSeconds) {
+        return new ReadYourWritesFilter(Duration.ofSeconds(readYourWritesSeconds));
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(
+            @Value("${app.datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+        return new ReplicaLagGuard(Duration.ofSeconds(maxLagSeconds));
+    }
+
+    /**
+     * 非同期処理（ライブ検索のSSE、NDJSONのストリーミング）のスレッドへ
+     * リクエストスレッドのプライマリ固定を引き継ぐ
+     * Spring Boot が applicationTaskExecutor に適用する
+     */
+    @Bean
+    public TaskDecorator readYourWritesTaskDecorator() {
+        return ReadWriteRoutingDataSource::withCurrentPin;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.automatictransmissionpartsinventory.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway設定クラス
+ *
+ * Spring Boot の既定では EntityManagerFactory の作成前にマイグレーションを実行するが、
+ * このシステムのマイグレーションは Hibernate（ddl-auto=update）が作成したテーブルを前提とする。
+ * 既定の実行を無効化し、{@link SchemaMigrationRunner} が EntityManagerFactory の作成後に実行する。
+ */
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * 起動直後（EntityManagerFactory の作成前）のマイグレーションを行わない
+     */
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigrationStrategy() {
+        return flyway -> {
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.automatictransmissionpartsinventory.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 読み取り専用トランザクションをレプリカへ振り分けるデータソース
+ *
+ * {@code @Transactional(readOnly = true)} のトランザクション内ではレプリカ、
+ * それ以外（書き込みトランザクション・トランザクション外）ではプライマリの接続を返す。
+ * トランザクション開始時点では読み取り専用フラグが未設定のため、
+ * 必ず {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} で包み、
+ * 最初のSQL実行時まで接続の取得を遅延させること。
+ *
+ * 書き込み直後の参照（read-your-writes）のため、{@link #pinToPrimary()} が呼ばれたスレッドでは
+ * 読み取り専用トランザクションもプライマリへ振り分ける。
+ *
+ * スレッドの固定は非同期処理のスレッド（ライブ検索のSSE、NDJSONのストリーミング）には引き継がれず、
+ * またレプリカから読んだ変更前の内容が2次キャッシュなどに格納されると、以降のノード全体の参照に残る。
+ * このため書き込み（他ノードの変更の検知を含む）の後は {@link #pinAllToPrimary(Duration)} で
+ * ノード全体の参照をレプリカの反映遅延の上限の間プライマリへ固定し、レプリカの古い内容を読む期間を
+ * その上限までに抑える。キャッシュへ格納する参照（カテゴリ選択肢の描画など）は {@link #onPrimary(Supplier)} で
+ * 常にプライマリから読む（トランザクション外の参照であるカタログスナップショットの構築は元からプライマリ）。
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * 振り分け先
+     */
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    /** ノード全体の参照をプライマリへ固定する期限（エポックミリ秒） */
+    private static final AtomicLong ALL_PINNED_UNTIL = new AtomicLong();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * 現在のスレッドの参照をプライマリに固定する
+     */
+    public static void pinToPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    /**
+     * 現在のスレッドのプライマリ固定を解除する
+     */
+    public static void clearPin() {
+        PRIMARY_PINNED.remove();
+    }
+
+    /**
+     * 現在のスレッドの参照がプライマリに固定されているか
+     * @return 固定されている場合true
+     */
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PRIMARY_PINNED.get());
+    }
+
+    /**
+     * ノード全体の参照を指定期間プライマリに固定する
+     * 既に固定中の場合は、期限の遅い方を採用する
+     * @param window 固定する期間（レプリカの反映遅延の上限）
+     */
+    public static void pinAllToPrimary(Duration window) {
+        long until = System.currentTimeMillis() + window.toMillis();
+        ALL_PINNED_UNTIL.accumulateAndGet(until, Math::max);
+    }
+
+    /**
+     * ノード全体の参照がプライマリに固定されているか
+     * @return 固定されている場合true
+     */
+    public static boolean isAllPinnedToPrimary() {
+        return System.currentTimeMillis() < ALL_PINNED_UNTIL.get();
+    }
+
+    /**
+     * 処理内の参照をプライマリから行う
+     * キャッシュへ格納する内容の読み込みなど、レプリカの反映遅延を許容できない参照に使用する
+     * @param action 処理
+     * @return 処理結果
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        boolean pinned = isPinnedToPrimary();
+        pinToPrimary();
+        try {
+            return action.get();
+        } finally {
+            if (!pinned) {
+                clearPin();
+            }
+        }
+    }
+
+    /**
+     * 現在のスレッドの固定状態を引き継いで実行する処理を生成
+     * 非同期処理のスレッドへ read-your-writes の固定を引き継ぐために使用する
+     * @param task 処理
+     * @return 固定状態を引き継ぐ処理
+     */
+    public static Runnable withCurrentPin(Runnable task) {
+        if (!isPinnedToPrimary()) {
+            return task;
+        }
+        return () -> onPrimary(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !isPinnedToPrimary() && !isAllPinnedToPrimary()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.automatictransmissionpartsinventory.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.automatictransmissionpartsinventory.event.CategoryChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.UserChangedEvent;
+
+/**
+ * 書き込み直後の参照をプライマリへ固定するフィルター（read-your-writes）
+ *
+ * AT部品・カテゴリ・ユーザーの変更がコミットされると、セッションに固定期限を記録する。
+ * 期限内のリクエストでは読み取り専用トランザクションもプライマリへ振り分け、
+ * レプリカの反映遅延により自分の変更が見えなくなることを防ぐ。
+ * 変更したリクエスト自体も、コミット以降はプライマリへ固定する。
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String SESSION_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".PINNED_UNTIL";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        if (session != null && session.getAttribute(SESSION_ATTRIBUTE) instanceof Long pinnedUntil
+                && System.currentTimeMillis() < pinnedUntil) {
+            ReadWriteRoutingDataSource.pinToPrimary();
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.clearPin();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPartChanged(PartChangedEvent event) {
+        recordWrite();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        recordWrite();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        recordWrite();
+    }
+
+    /**
+     * 現在のリクエストのセッションに固定期限を記録
+     * リクエスト外（スケジュール処理など）の書き込みでは何もしない
+     */
+    private void recordWrite() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+        ReadWriteRoutingDataSource.pinToPrimary();
+        servletAttributes.getRequest().getSession(true)
+            .setAttribute(SESSION_ATTRIBUTE, System.currentTimeMillis() + window.toMillis());
+    }
+}
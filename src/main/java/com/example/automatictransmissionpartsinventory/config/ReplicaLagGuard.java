@@ -0,0 +1,65 @@
+package com.example.automatictransmissionpartsinventory.config;
+
+import java.time.Duration;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.automatictransmissionpartsinventory.event.CacheRegionChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.CategoryChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.UserChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 書き込み後にノード全体の参照をプライマリへ固定するクラス
+ *
+ * AT部品・カテゴリ・ユーザーの変更のコミット時と、他ノードでの変更の検知時に、
+ * レプリカの反映遅延の上限（app.datasource.replica.max-lag-seconds）の間、
+ * リクエスト・非同期処理・スケジュール処理を問わずすべての参照をプライマリへ振り分ける。
+ * 変更で破棄された2次キャッシュ・問い合わせキャッシュ・カテゴリ選択肢が、レプリカの変更前の内容で
+ * 再格納されることを防ぐ。固定期間の後はレプリカが変更を反映済みとみなすため、
+ * 上限には実際のレプリカの遅延より長い値を設定すること。
+ */
+@Slf4j
+public class ReplicaLagGuard {
+
+    private final Duration maxLag;
+
+    public ReplicaLagGuard(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPartChanged(PartChangedEvent event) {
+        pin();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        pin();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        pin();
+    }
+
+    /**
+     * 他ノードでの変更を検知した場合に固定する
+     * @param event キャッシュリージョン変更イベント
+     */
+    @EventListener
+    public void onCacheRegionChanged(CacheRegionChangedEvent event) {
+        if (event.remote()) {
+            pin();
+        }
+    }
+
+    private void pin() {
+        ReadWriteRoutingDataSource.pinAllToPrimary(maxLag);
+        log.debug("参照をプライマリへ固定: {}ms", maxLag.toMillis());
+    }
+}
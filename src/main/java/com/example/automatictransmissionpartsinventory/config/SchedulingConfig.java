@@ -0,0 +1,13 @@
+package com.example.automatictransmissionpartsinventory.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * スケジュール実行設定クラス
+ * ダッシュボード統計の定期再集計などの @Scheduled 処理を有効化する
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
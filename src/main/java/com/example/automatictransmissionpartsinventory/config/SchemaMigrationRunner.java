@@ -0,0 +1,52 @@
+package com.example.automatictransmissionpartsinventory.config;
+
+import jakarta.annotation.PostConstruct;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * バージョン管理されたスキーママイグレーションの実行（Flyway）
+ *
+ * classpath:db/migration/V{バージョン}__{説明}.sql を番号順に1度ずつ実行し、
+ * 実行履歴を flyway_schema_history テーブルに記録する。
+ * テーブル・カラムは従来どおり Hibernate（ddl-auto=update）が作成し、
+ * インデックスや既存データの移行など Hibernate が扱わない変更をここで適用する。
+ *
+ * - Flyway の既定の実行は {@link FlywayConfig} で無効化し、EntityManagerFactory の作成後に実行する
+ * - 適用済みスクリプトの変更検知・複数ノード同時起動時の排他は Flyway が行う
+ * - Webリクエストの受付開始前（コンテキスト初期化中）に完了する
+ * - spring.flyway.enabled=false の場合は何もしない
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaMigrationRunner {
+
+    private final ObjectProvider<Flyway> flywayProvider;
+
+    public SchemaMigrationRunner(ObjectProvider<Flyway> flywayProvider) {
+        this.flywayProvider = flywayProvider;
+    }
+
+    /**
+     * 未適用のマイグレーションを実行
+     */
+    @PostConstruct
+    public void migrate() {
+        Flyway flyway = flywayProvider.getIfAvailable();
+        if (flyway == null) {
+            log.info("スキーママイグレーションは無効です");
+            return;
+        }
+
+        MigrateResult result = flyway.migrate();
+        log.info("スキーママイグレーション完了: 新規適用{}件, 現在のバージョン{}",
+            result.migrationsExecuted, result.targetSchemaVersion);
+    }
+}
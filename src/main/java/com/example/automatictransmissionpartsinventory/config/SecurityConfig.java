@@ -2,6 +2,7 @@ package com.example.automatictransmissionpartsinventory.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -18,12 +19,14 @@ import org.springframework.security.web.SecurityFilterChain;
  * - ロールベースアクセス制御（RBAC）
  * - メソッドレベルセキュリティ（@PreAuthorize有効化）
  * - フォームログイン認証
+ * - Basic認証（APIクライアント用）
  * - ログアウト機能
  * 
  * アクセス制御:
  * - /admin/** → ROLE_ADMIN のみ
  * - /parts/export/** → ROLE_ADMIN のみ
  * - /parts/import/** → ROLE_ADMIN のみ
+ * - /parts/api/bulk-* → ROLE_ADMIN のみ
  * - その他 → 認証済みユーザー
  */
 @Configuration
@@ -65,9 +68,19 @@ public class SecurityConfig {
                 .requestMatchers("/parts/export/**").hasRole("ADMIN")
                 .requestMatchers("/parts/import/**").hasRole("ADMIN")
                 
+                // 一括操作API - ROLE_ADMIN のみアクセス可能
+                .requestMatchers("/parts/api/bulk-*").hasRole("ADMIN")
+                
+                // 死活監視は認証不要、メトリクスなどその他の管理エンドポイントは ROLE_ADMIN のみ
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                 // 管理者機能のAPI（将来の拡張用）
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 
+                // 外部連携用 REST API - 認証済みユーザー（Basic認証）ならアクセス可能
+                .requestMatchers("/api/v1/**").authenticated()
+                
                 // 部品管理機能 - 認証済みユーザーならアクセス可能
                 .requestMatchers("/parts/**").authenticated()
                 
@@ -86,6 +99,9 @@ public class SecurityConfig {
                 .permitAll() // ログインページは誰でもアクセス可能
             )
             
+            // Basic認証設定（APIクライアント用、認証情報はUserDetailsServiceImplでキャッシュ）
+            .httpBasic(Customizer.withDefaults())
+            
             // ログアウト設定
             .logout(logout -> logout
                 .logoutUrl("/logout") // ログアウトURL
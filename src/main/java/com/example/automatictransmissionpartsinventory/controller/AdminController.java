@@ -1,10 +1,14 @@
 package com.example.automatictransmissionpartsinventory.controller;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
@@ -16,13 +20,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.example.automatictransmissionpartsinventory.cache.CatalogSnapshotService;
+import com.example.automatictransmissionpartsinventory.config.AdmissionControlFilter;
+import com.example.automatictransmissionpartsinventory.dto.DashboardStatistics;
 import com.example.automatictransmissionpartsinventory.entity.Role;
 import com.example.automatictransmissionpartsinventory.entity.User;
+import com.example.automatictransmissionpartsinventory.event.UserChangedEvent;
 import com.example.automatictransmissionpartsinventory.repository.AutomaticPartRepository;
 import com.example.automatictransmissionpartsinventory.repository.RoleRepository;
 import com.example.automatictransmissionpartsinventory.repository.UserRepository;
+import com.example.automatictransmissionpartsinventory.service.DashboardStatisticsService;
+import com.example.automatictransmissionpartsinventory.service.impl.UserDetailsServiceImpl;
 
 /**
  * 管理者専用機能制御コントローラー
@@ -52,6 +63,21 @@ public class AdminController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private DashboardStatisticsService dashboardStatisticsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private AdmissionControlFilter admissionControlFilter;
+
     /**
      * 管理者ダッシュボード表示
      * URL: /admin
@@ -60,17 +86,15 @@ public class AdminController {
     @GetMapping
     public String dashboard(Model model) {
         try {
-            // システム統計情報の取得
-            long totalParts = automaticPartRepository.count();
-            long totalUsers = userRepository.count();
-            long adminUsers = userRepository.countByRoleName("ROLE_ADMIN");
-            long regularUsers = userRepository.countByRoleName("ROLE_USER");
+            // システム統計情報の取得（メモリ上の集計済みスナップショット）
+            DashboardStatistics statistics = dashboardStatisticsService.getStatistics();
             
             // モデルにデータを追加
-            model.addAttribute("totalParts", totalParts);
-            model.addAttribute("totalUsers", totalUsers);
-            model.addAttribute("adminUsers", adminUsers);
-            model.addAttribute("regularUsers", regularUsers);
+            model.addAttribute("totalParts", statistics.totalParts());
+            model.addAttribute("totalUsers", statistics.totalUsers());
+            model.addAttribute("adminUsers", statistics.adminUsers());
+            model.addAttribute("regularUsers", statistics.regularUsers());
+            model.addAttribute("statisticsComputedAt", statistics.computedAt());
             model.addAttribute("pageTitle", "管理者ダッシュボード");
             
             return "admin/dashboard";
@@ -198,6 +222,7 @@ public class AdminController {
                 .orElseThrow(() -> new RuntimeException("選択された権限が見つかりません"));
             savedUser.getRoles().add(selectedRole);
             userRepository.save(savedUser);
+            eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.ChangeType.CREATED, savedUser.getId()));
             
             // 成功メッセージと共にユーザー管理画面にリダイレクト
             redirectAttributes.addFlashAttribute("successMessage", 
@@ -302,6 +327,7 @@ public class AdminController {
             }
             
             // 基本情報更新
+            String previousUsername = user.getUsername();
             user.setUsername(username);
             user.setEmail(email);
             user.setFullName(fullName);
@@ -317,6 +343,11 @@ public class AdminController {
             // データベース保存
             userRepository.save(user);
             
+            // 認証キャッシュ破棄（権限変更・無効化を即時反映）
+            userDetailsService.evictUser(previousUsername);
+            userDetailsService.evictUser(username);
+            eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.ChangeType.UPDATED, user.getId()));
+            
             // 成功メッセージ
             String successMsg = "ユーザー「" + user.getFullName() + "」の情報を更新しました";
             if (password != null && !password.trim().isEmpty()) {
@@ -358,6 +389,8 @@ public class AdminController {
             
             // ユーザー削除（ハードデリート）
             userRepository.delete(user);
+            userDetailsService.evictUser(user.getUsername());
+            eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.ChangeType.DELETED, user.getId()));
             
             redirectAttributes.addFlashAttribute("successMessage", 
                 "ユーザー「" + user.getFullName() + "」を削除しました");
@@ -369,4 +402,50 @@ public class AdminController {
         
         return "redirect:/admin/users";
     }
-}
\ No newline at end of file
+
+    /**
+     * キャッシュ統計情報API
+     * URL: GET /admin/api/cache-statistics
+     * 機能: カタログスナップショットの状態をJSONで返す
+     * （2次キャッシュ・認証ユーザーキャッシュのヒット率などはメトリクス /actuator/metrics で参照）
+     */
+    @GetMapping("/api/cache-statistics")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> cacheStatistics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("catalogSnapshot", catalogSnapshotService.getStatus());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 受付制御の統計情報API
+     * URL: GET /admin/api/admission-statistics
+     * 機能: エンドポイント種別ごとの同時実行数・待ち行列の長さ・拒否件数をJSONで返す
+     */
+    @GetMapping("/api/admission-statistics")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> admissionStatistics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("admission", admissionControlFilter.getStatistics());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * カタログスナップショット再作成API
+     * URL: POST /admin/api/catalog-snapshot/rebuild
+     * 機能: 部品カタログのスナップショットファイルを再作成して差し替える
+     */
+    @PostMapping("/api/catalog-snapshot/rebuild")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> rebuildCatalogSnapshot() {
+        int recordCount = catalogSnapshotService.rebuild();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", recordCount >= 0);
+        response.put("recordCount", recordCount);
+        response.put("catalogSnapshot", catalogSnapshotService.getStatus());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,20 +1,25 @@
 package com.example.automatictransmissionpartsinventory.controller;
 
 import java.math.BigDecimal;
+import java.security.Principal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -26,16 +31,31 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.example.automatictransmissionpartsinventory.cache.CatalogSnapshotService;
 import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.dto.BulkDeleteRequest;
+import com.example.automatictransmissionpartsinventory.dto.BulkPriceAdjustmentRequest;
+import com.example.automatictransmissionpartsinventory.dto.PartField;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+import com.example.automatictransmissionpartsinventory.dto.PartSnapshotEntry;
+import com.example.automatictransmissionpartsinventory.dto.PartVersion;
 import com.example.automatictransmissionpartsinventory.entity.AutomativePart;
 import com.example.automatictransmissionpartsinventory.entity.Category;
 import com.example.automatictransmissionpartsinventory.exception.ServiceException;
 import com.example.automatictransmissionpartsinventory.service.AutomaticPartService;
 import com.example.automatictransmissionpartsinventory.service.CategoryService;
 import com.example.automatictransmissionpartsinventory.service.impl.AutomaticPartCsvService;
+import com.example.automatictransmissionpartsinventory.service.impl.CatalogVersionService;
+import com.example.automatictransmissionpartsinventory.service.impl.PartApiService;
+import com.example.automatictransmissionpartsinventory.service.impl.PartArchiveService;
+import com.example.automatictransmissionpartsinventory.service.impl.PartBulkOperationService;
+import com.example.automatictransmissionpartsinventory.service.impl.PartHistoryService;
+import com.example.automatictransmissionpartsinventory.service.impl.PartLiveSearchService;
 
 import lombok.extern.slf4j.Slf4j;
 /**
@@ -55,6 +75,10 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AutomaticPartController {
 	
+	/** 部品一覧の1ページあたりの件数（既定値・上限） */
+	private static final int LIST_PAGE_SIZE = 50;
+	private static final int LIST_PAGE_SIZE_MAX = 200;
+	
 	@Autowired
 	private CategoryService categoryService;
 
@@ -64,27 +88,55 @@ public class AutomaticPartController {
     @Autowired
     private AutomaticPartCsvService automaticPartCsvService;
 
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private PartBulkOperationService partBulkOperationService;
+    
+    @Autowired
+    private PartHistoryService partHistoryService;
+
+    @Autowired
+    private PartLiveSearchService partLiveSearchService;
+
+    @Autowired
+    private PartApiService partApiService;
+
+    @Autowired
+    private PartArchiveService partArchiveService;
+
     // ========================================
     // 1. 一覧表示機能
     // ========================================
     
     /**
      * 部品一覧表示
-     * URL: GET /parts
+     * URL: GET /parts?page=...&size=...&sortBy=...&sortOrder=...
+     * 1ページ分のみを描画し、続きのページは一覧ページAPI（/parts/api/list）から読み込む
      */
     @GetMapping
-    public String list(Model model) {
-        log.info("部品一覧表示処理開始");
+    public String list(@RequestParam(defaultValue = "0") int page,
+                       @RequestParam(defaultValue = "" + LIST_PAGE_SIZE) int size,
+                       @RequestParam(required = false) String sortBy,
+                       @RequestParam(required = false) String sortOrder,
+                       Model model) {
+        log.info("部品一覧表示処理開始: ページ={}, 件数={}, 並び替え={} {}", page, size, sortBy, sortOrder);
         
         try {
-            List<AutomativePart> parts = automaticPartService.findAllParts();
-            model.addAttribute("parts", parts);
+            Page<PartListRow> parts = automaticPartService.findListRowPage(
+                Math.max(page, 0), clampListPageSize(size), sortBy, sortOrder);
+            model.addAttribute("parts", parts.getContent());
+            model.addAttribute("partPage", parts);
+            model.addAttribute("totalCount", parts.getTotalElements());
+            model.addAttribute("sortBy", sortBy);
+            model.addAttribute("sortOrder", sortOrder);
+            // カテゴリの絞り込み選択肢は CategoryFragmentCache の描画結果を使用する
             
-            // ★追加: カテゴリ一覧をモデルに追加（フィルタ用）
-            List<Category> categories = categoryService.findActiveCategories();
-            model.addAttribute("categories", categories);
-            
-            log.info("部品一覧表示処理完了: {} 件取得", parts.size());
+            log.info("部品一覧表示処理完了: {} / {} 件取得", parts.getNumberOfElements(), parts.getTotalElements());
             return "parts/list";
             
         } catch (Exception e) {
@@ -94,6 +146,52 @@ public class AutomaticPartController {
         }
     }
 
+    /**
+     * 一覧ページAPI
+     * URL: GET /parts/api/list?page=...&size=...&sortBy=...&sortOrder=...&fields=...
+     * 一覧画面のスクロールに合わせて続きのページを取得する（並び替え条件は一覧画面と同一）
+     * fields=partNumber,price のように応答項目を指定した場合は、指定項目の列のみを取得して返す
+     */
+    @GetMapping("/api/list")
+    @ResponseBody
+    public ResponseEntity<?> listPageApi(@RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "" + LIST_PAGE_SIZE) int size,
+                                         @RequestParam(required = false) String sortBy,
+                                         @RequestParam(required = false) String sortOrder,
+                                         @RequestParam(required = false) String fields) {
+        Page<?> parts;
+        if (fields == null) {
+            parts = automaticPartService.findListRowPage(Math.max(page, 0), clampListPageSize(size), sortBy, sortOrder);
+        } else {
+            List<PartField> selectedFields;
+            try {
+                selectedFields = PartField.parse(fields);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(createErrorResponse("応答項目の指定が不正です", e.getMessage()));
+            }
+            AdvancedSearchCriteria criteria = AdvancedSearchCriteria.builder()
+                .page(Math.max(page, 0))
+                .size(clampListPageSize(size))
+                .sortBy(sortBy)
+                .sortOrder(sortOrder)
+                .build();
+            parts = partApiService.findFieldRowPage(criteria, selectedFields);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("parts", parts.getContent());
+        response.put("page", parts.getNumber());
+        response.put("size", parts.getSize());
+        response.put("totalCount", parts.getTotalElements());
+        response.put("hasNext", parts.hasNext());
+        return ResponseEntity.ok(response);
+    }
+    
+    private static int clampListPageSize(int size) {
+        return size <= 0 ? LIST_PAGE_SIZE : Math.min(size, LIST_PAGE_SIZE_MAX);
+    }
+
     // ========================================
     // 2. 詳細表示機能
     // ========================================
@@ -101,12 +199,24 @@ public class AutomaticPartController {
     /**
      * 部品詳細表示
      * URL: GET /parts/{id}
+     * 更新日時から求めたETag / Last-Modifiedが一致する場合は描画せず304を返す
      */
     @GetMapping("/{id}")
-    public String detail(@PathVariable Long id, Model model) {
+    public String detail(@PathVariable Long id, Model model, WebRequest webRequest,
+                         HttpServletResponse response, Principal principal) {
         log.info("部品詳細表示処理開始: ID={}", id);
         
         try {
+            // 条件付きGET判定（部品本体の読み込み前に更新日時のみで判定）
+            Optional<PartVersion> version = automaticPartService.findVersionById(id);
+            if (version.isPresent()) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, ConditionalGetSupport.REVALIDATE.getHeaderValue());
+                if (ConditionalGetSupport.checkNotModified(webRequest, version.get(), principal)) {
+                    log.debug("部品詳細は未更新のため304を返却: ID={}", id);
+                    return null;
+                }
+            }
+            
             Optional<AutomativePart> partOptional = automaticPartService.findById(id);
             
             if (partOptional.isPresent()) {
@@ -140,15 +250,7 @@ public class AutomaticPartController {
         
         // 空のAutomaticPartオブジェクトを作成してフォームに渡す
         model.addAttribute("part", new AutomativePart());
-        
-        // ★追加: カテゴリ一覧を取得してフォームに渡す
-        try {
-            List<Category> categories = categoryService.findActiveCategories();
-            model.addAttribute("categories", categories);
-        } catch (Exception e) {
-            log.warn("カテゴリ一覧取得でエラーが発生しましたが、処理を続行します", e);
-            model.addAttribute("categories", List.of()); // 空リストで継続
-        }
+        // カテゴリ選択肢は CategoryFragmentCache の描画結果を使用する
         
         log.info("新規登録画面表示処理完了");
         return "parts/form";
@@ -163,7 +265,7 @@ public class AutomaticPartController {
      * URL: POST /parts
      */
     @PostMapping
-    public String create(@Valid AutomativePart part, BindingResult result, Model model) {
+    public String create(@Valid @ModelAttribute("part") AutomativePart part, BindingResult result, Model model) {
         log.info("新規登録処理開始: {}", part.getPartName());
         
         try {
@@ -219,10 +321,6 @@ public class AutomaticPartController {
                 model.addAttribute("part", partOptional.get());
                 model.addAttribute("isEdit", true); // 編集モードのフラグ
                 
-                // ★追加: カテゴリ一覧を取得してフォームに渡す
-                List<Category> categories = categoryService.findActiveCategories();
-                model.addAttribute("categories", categories);
-                
                 log.info("編集画面表示処理完了: ID={}", id);
                 return "parts/form";
             } else {
@@ -245,11 +343,13 @@ public class AutomaticPartController {
     /**
      * 更新処理
      * URL: POST /parts/{id}
+     * 編集開始時のバージョンと一致しない場合（他のユーザーが更新済み）は409を返す
      */
     @PostMapping("/{id}")
-    public String update(@PathVariable Long id, @Valid AutomativePart part, 
-                        BindingResult result, Model model) {
+    public String update(@PathVariable Long id, @Valid @ModelAttribute("part") AutomativePart part, 
+                        BindingResult result, Model model, HttpServletResponse response) {
         log.info("更新処理開始: ID={}, 部品名={}", id, part.getPartName());
+        part.setId(id); // フォーム再表示時の送信先URL用
         
         try {
             // バリデーションエラーチェック
@@ -259,15 +359,7 @@ public class AutomaticPartController {
                 return "parts/form";
             }
             
-            // 部品番号の重複チェック（自身を除く）
-            if (automaticPartService.isPartNumberDuplicated(part.getPartNumber(), id)) {
-                log.warn("部品番号重複: {}", part.getPartNumber());
-                result.rejectValue("partNumber", "duplicate.part.partNumber", "この部品番号は既に使用されています");
-                model.addAttribute("isEdit", true);
-                return "parts/form";
-            }
-            
-            // 更新処理実行
+            // 更新処理実行（部品番号の重複・更新競合はサービス層で検出）
             AutomativePart updatedPart = automaticPartService.updatePart(id, part);
             
             log.info("更新処理完了: ID={}, 部品番号={}", updatedPart.getId(), updatedPart.getPartNumber());
@@ -276,6 +368,19 @@ public class AutomaticPartController {
             return "redirect:/parts";
             
         } catch (ServiceException e) {
+            if (ServiceException.DUPLICATE_PART_NUMBER.equals(e.getErrorCode())) {
+                log.warn("部品番号重複: {}", part.getPartNumber());
+                result.rejectValue("partNumber", "duplicate.part.partNumber", "この部品番号は既に使用されています");
+                model.addAttribute("isEdit", true);
+                return "parts/form";
+            }
+            if (ServiceException.VERSION_CONFLICT.equals(e.getErrorCode())) {
+                log.warn("更新競合: ID={}, バージョン={}", id, part.getVersion());
+                response.setStatus(HttpStatus.CONFLICT.value());
+                model.addAttribute("errorMessage", e.getMessage());
+                model.addAttribute("isEdit", true);
+                return "parts/form";
+            }
             log.error("更新処理エラー（ServiceException）: ID={}", id, e);
             model.addAttribute("errorMessage", "更新処理に失敗しました: " + e.getMessage());
             model.addAttribute("isEdit", true);
@@ -289,6 +394,50 @@ public class AutomaticPartController {
         }
     }
 
+    /**
+     * 廃番処理
+     * URL: POST /parts/{id}/discontinue
+     * 廃番の部品は次回のアーカイブ処理でアーカイブテーブルへ移動する
+     */
+    @PostMapping("/{id}/discontinue")
+    public String discontinue(@PathVariable Long id) {
+        log.info("廃番処理開始: ID={}", id);
+        
+        try {
+            automaticPartService.discontinuePart(id);
+            
+            log.info("廃番処理完了: ID={}", id);
+            return "redirect:/parts/" + id;
+            
+        } catch (ServiceException e) {
+            log.error("廃番処理エラー（ServiceException）: ID={}", id, e);
+            return "redirect:/parts?error=discontinue";
+        }
+    }
+
+    /**
+     * アーカイブからの復元処理（管理者のみ）
+     * URL: POST /parts/{id}/restore
+     * アーカイブ済みの部品を automotive_parts へ戻す（廃番は解除される）
+     */
+    @PostMapping("/{id}/restore")
+    @PreAuthorize("hasRole('ADMIN')")
+    public String restore(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        log.info("アーカイブからの復元処理開始: ID={}", id);
+        
+        try {
+            partArchiveService.restorePart(id);
+            
+            log.info("アーカイブからの復元処理完了: ID={}", id);
+            return "redirect:/parts/" + id;
+            
+        } catch (ServiceException e) {
+            log.error("アーカイブからの復元処理エラー（ServiceException）: ID={}", id, e);
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+            return "redirect:/parts";
+        }
+    }
+
     // ========================================
     // 7. 削除処理
     // ========================================
@@ -341,22 +490,20 @@ public class AutomaticPartController {
                 partName, manufacturer, minPrice, maxPrice, categoryId);
         
         try {
-            List<AutomativePart> searchResults;
-            
-            // パラメータがすべて空の場合は全件取得
+            // パラメータがすべて空の場合はページ単位の一覧表示へ
             boolean hasSearchCondition = (partName != null && !partName.trim().isEmpty()) ||
                                         (manufacturer != null && !manufacturer.trim().isEmpty()) ||
                                         minPrice != null || maxPrice != null ||
                                         categoryId != null; // ★追加
             
-            if (hasSearchCondition) {
-                searchResults = automaticPartService.findByConditions(partName, manufacturer, minPrice, maxPrice, categoryId); // ★修正
-                log.info("検索処理完了: {} 件取得", searchResults.size());
-            } else {
-                searchResults = automaticPartService.findAllParts();
-                log.info("全件取得完了: {} 件取得", searchResults.size());
+            if (!hasSearchCondition) {
+                return "redirect:/parts";
             }
             
+            List<PartListRow> searchResults =
+                automaticPartService.findListRowsByConditions(partName, manufacturer, minPrice, maxPrice, categoryId);
+            log.info("検索処理完了: {} 件取得", searchResults.size());
+            
             // 検索結果をモデルに追加
             model.addAttribute("parts", searchResults);
             
@@ -367,10 +514,7 @@ public class AutomaticPartController {
             model.addAttribute("searchMaxPrice", maxPrice);
             model.addAttribute("searchCategoryId", categoryId); // ★追加
             
-            // ★追加: カテゴリ一覧と選択カテゴリをモデルに追加
-            List<Category> categories = categoryService.findActiveCategories();
-            model.addAttribute("categories", categories);
-            
+            // ★追加: 選択カテゴリをモデルに追加（選択肢は CategoryFragmentCache の描画結果を使用する）
             if (categoryId != null) {
                 categoryService.findById(categoryId).ifPresent(category -> 
                     model.addAttribute("selectedCategory", category));
@@ -522,8 +666,8 @@ public class AutomaticPartController {
              criteria.setDefaultSort();
              
              // 検索を実行
-             Page<AutomativePart> parts = automaticPartService.searchByAdvancedCriteria(criteria);
-             long totalCount = automaticPartService.countByAdvancedCriteria(criteria);
+             Page<PartListRow> parts = automaticPartService.searchListRowsByAdvancedCriteria(criteria);
+             long totalCount = parts.getTotalElements();
              
              // 検索統計情報の取得
              Map<String, Object> statistics = automaticPartService.getSearchStatistics(criteria);
@@ -576,16 +720,47 @@ public class AutomaticPartController {
             criteria.getMaxPrice() != null ||
             criteria.getCreatedAfter() != null ||
             criteria.getCreatedBefore() != null ||
+           criteria.isArchiveIncluded() ||
             (criteria.getPage() != null && criteria.getPage() > 0); // ページネーション指定時も検索実行
  }
 
  /**
   * 高度検索のAjax処理
-  * POST /parts/api/advanced-search
+  * POST /parts/api/advanced-search?fields=...
   */
  @PostMapping("/api/advanced-search")
  @ResponseBody
- public ResponseEntity<?> advancedSearchApi(@RequestBody AdvancedSearchCriteria criteria) {
+ public ResponseEntity<?> advancedSearchApi(@RequestBody AdvancedSearchCriteria criteria,
+                                            @RequestParam(required = false) String fields) {
+     return executeAdvancedSearchApi(criteria, fields);
+ }
+
+ /**
+  * 高度検索のAjax処理（条件付きGET対応）
+  * GET /parts/api/advanced-search?partName=...&page=...&fields=...
+  * カタログ世代が変わっていない場合は検索せず304を返す
+  */
+ @GetMapping("/api/advanced-search")
+ @ResponseBody
+ public ResponseEntity<?> advancedSearchApiGet(AdvancedSearchCriteria criteria,
+                                               @RequestParam(required = false) String fields,
+                                               WebRequest webRequest, HttpServletResponse response) {
+     response.setHeader(HttpHeaders.CACHE_CONTROL, ConditionalGetSupport.REVALIDATE.getHeaderValue());
+     if (ConditionalGetSupport.checkNotModified(webRequest, catalogVersionService.current(), "parts")) {
+         return null;
+     }
+     return executeAdvancedSearchApi(criteria, fields);
+ }
+
+ /**
+  * 高度検索APIの共通処理
+  * 応答項目の指定（fields）がある場合は、指定項目の列のみを取得して返す
+  * （アーカイブを含む検索は、通常テーブルとの併合を全項目で行うため指定できない）
+  * @param criteria 検索条件
+  * @param fields 応答項目（カンマ区切り、nullの場合は一覧表示用の全項目）
+  * @return 検索結果レスポンス
+  */
+ private ResponseEntity<?> executeAdvancedSearchApi(AdvancedSearchCriteria criteria, String fields) {
      log.info("Ajax高度検索API呼び出し開始: {}", criteria);
      
      try {
@@ -596,13 +771,28 @@ public class AutomaticPartController {
              return ResponseEntity.badRequest().body(createErrorResponse("検索条件が不正です", validationErrors));
          }
          
+         List<PartField> selectedFields = null;
+         if (fields != null) {
+             if (criteria.isArchiveIncluded()) {
+                 return ResponseEntity.badRequest().body(createErrorResponse(
+                     "応答項目の指定が不正です", "アーカイブを含む検索では fields を指定できません"));
+             }
+             try {
+                 selectedFields = PartField.parse(fields);
+             } catch (IllegalArgumentException e) {
+                 return ResponseEntity.badRequest().body(createErrorResponse("応答項目の指定が不正です", e.getMessage()));
+             }
+         }
+         
          // デフォルト値の設定
          criteria.setDefaultSort();
          criteria.setDefaultPagination();
          
          // 高度検索の実行
-         Page<AutomativePart> parts = automaticPartService.searchByAdvancedCriteria(criteria);
-         long totalCount = automaticPartService.countByAdvancedCriteria(criteria);
+         Page<?> parts = selectedFields == null
+             ? automaticPartService.searchListRowsByAdvancedCriteria(criteria)
+             : partApiService.findFieldRowPage(criteria, selectedFields);
+         long totalCount = parts.getTotalElements();
          
          // 検索統計情報の取得
          Map<String, Object> statistics = automaticPartService.getSearchStatistics(criteria);
@@ -628,6 +818,119 @@ public class AutomaticPartController {
      }
  }
 
+ /**
+  * 高度検索のライブ検索（Server-Sent Events）
+  * GET /parts/api/live-search?searchId=...&partName=...
+  * 表示ページの行（rows）を先に送り、総件数（total）・絞り込み候補（facets）を取得でき次第送る。
+  * 同じ searchId で次の検索を開始すると、実行中の検索は取り消される
+  */
+ @GetMapping(value = "/api/live-search", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+ @ResponseBody
+ public SseEmitter liveSearchApi(AdvancedSearchCriteria criteria,
+                                 @RequestParam(defaultValue = "") String searchId,
+                                 Principal principal) {
+     // 検索IDが未指定・長すぎる場合は、他の検索を取り消さないようリクエストごとのキーとする
+     String key = searchId.isBlank() || searchId.length() > 64
+         ? UUID.randomUUID().toString()
+         : searchId;
+     log.info("ライブ検索開始: 検索ID={}, 条件={}", key, criteria);
+     return partLiveSearchService.start(principal.getName() + ":" + key, criteria);
+ }
+
+ /**
+  * 一括価格調整API（管理者のみ）
+  * POST /parts/api/bulk-price
+  * 絞り込み条件に一致する部品の価格を、一定件数ずつのUPDATE文でまとめて調整する
+  */
+ @PostMapping("/api/bulk-price")
+ @ResponseBody
+ @PreAuthorize("hasRole('ADMIN')")
+ public ResponseEntity<?> bulkPriceApi(@RequestBody BulkPriceAdjustmentRequest request) {
+     log.info("一括価格調整API呼び出し開始: {}", request);
+     
+     try {
+         Map<String, Object> response = new HashMap<>(partBulkOperationService.adjustPrices(request));
+         response.put("success", true);
+         return ResponseEntity.ok(response);
+         
+     } catch (ServiceException e) {
+         if (ServiceException.VALIDATION_ERROR.equals(e.getErrorCode())) {
+             return ResponseEntity.badRequest().body(createErrorResponse("一括価格調整の指定が不正です", e.getMessage()));
+         }
+         log.error("一括価格調整API呼び出しでエラーが発生しました", e);
+         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+             .body(createErrorResponse("一括価格調整に失敗しました", e.getMessage()));
+     }
+ }
+
+ /**
+  * 一括削除API
+  * POST /parts/api/bulk-delete
+  * ID一覧または絞り込み条件に一致する部品を、一定件数ずつのDELETE文（論理削除時はUPDATE文）でまとめて削除する
+  */
+ @PostMapping("/api/bulk-delete")
+ @ResponseBody
+ @PreAuthorize("hasRole('ADMIN')")
+ public ResponseEntity<?> bulkDeleteApi(@RequestBody BulkDeleteRequest request) {
+     log.info("一括削除API呼び出し開始: {}", request);
+     
+     try {
+         Map<String, Object> response = new HashMap<>(partBulkOperationService.deleteParts(request));
+         response.put("success", true);
+         return ResponseEntity.ok(response);
+         
+     } catch (ServiceException e) {
+         if (ServiceException.VALIDATION_ERROR.equals(e.getErrorCode())) {
+             return ResponseEntity.badRequest().body(createErrorResponse("一括削除の指定が不正です", e.getMessage()));
+         }
+         log.error("一括削除API呼び出しでエラーが発生しました", e);
+         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+             .body(createErrorResponse("一括削除に失敗しました", e.getMessage()));
+     }
+ }
+
+ /**
+  * 変更履歴API
+  * GET /parts/api/{id}/history?limit=...
+  * 登録・更新・削除ごとの部品番号と価格を新しい順に返す（削除・アーカイブ後の部品も取得可能）
+  * 変更の反映はアウトボックスの取り込み後となるため、直前の変更は含まれない場合がある
+  */
+ @GetMapping("/api/{id}/history")
+ @ResponseBody
+ public ResponseEntity<?> historyApi(@PathVariable Long id,
+                                     @RequestParam(defaultValue = "100") int limit) {
+     if (limit < 1 || limit > 1000) {
+         return ResponseEntity.badRequest()
+             .body(createErrorResponse("取得件数が不正です", "limit は 1〜1000 の範囲で指定してください"));
+     }
+     
+     Map<String, Object> response = new HashMap<>();
+     response.put("success", true);
+     response.put("partId", id);
+     response.put("history", partHistoryService.findHistory(id, limit));
+     return ResponseEntity.ok(response);
+ }
+
+ /**
+  * 部品番号による参照API
+  * GET /parts/api/lookup?partNumber=...
+  * カタログスナップショット（メモリマップ）から応答し、データベースへは問い合わせない
+  */
+ @GetMapping("/api/lookup")
+ @ResponseBody
+ public ResponseEntity<?> lookupByPartNumber(@RequestParam String partNumber) {
+     Optional<PartSnapshotEntry> part = catalogSnapshotService.findByPartNumber(partNumber);
+     if (part.isEmpty()) {
+         return ResponseEntity.status(HttpStatus.NOT_FOUND)
+             .body(createErrorResponse("指定された部品番号が見つかりません", partNumber));
+     }
+     
+     Map<String, Object> response = new HashMap<>();
+     response.put("success", true);
+     response.put("part", part.get());
+     return ResponseEntity.ok(response);
+ }
+
  /**
   * 検索条件のリセット処理
   * POST /parts/reset-search
@@ -768,8 +1071,8 @@ public class AutomaticPartController {
          
          // 高度検索の実行
          log.info("検索実行前: criteria={}", criteria);
-         Page<AutomativePart> parts = automaticPartService.searchByAdvancedCriteria(criteria);
-         long totalCount = automaticPartService.countByAdvancedCriteria(criteria);
+         Page<PartListRow> parts = automaticPartService.searchListRowsByAdvancedCriteria(criteria);
+         long totalCount = parts.getTotalElements();
          
          log.info("検索実行後:");
          log.info("- parts.getContent().size(): {}", parts.getContent().size());
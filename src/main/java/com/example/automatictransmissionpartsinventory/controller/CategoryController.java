@@ -5,6 +5,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -15,13 +18,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.example.automatictransmissionpartsinventory.dto.CategoryOrderNode;
 import com.example.automatictransmissionpartsinventory.entity.Category;
 import com.example.automatictransmissionpartsinventory.service.CategoryService;
+import com.example.automatictransmissionpartsinventory.service.impl.CatalogVersionService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,6 +50,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogVersionService catalogVersionService;
 
     // ========================================
     // カテゴリ一覧・詳細表示
@@ -337,14 +346,21 @@ public class CategoryController {
     
     /**
      * 子カテゴリ取得API（Ajax用）
+     * カタログ世代が変わっていない場合は304を返す
      * @param parentId 親カテゴリID
      * @return 子カテゴリリスト（JSON）
      */
     @GetMapping("/api/children/{parentId}")
     @ResponseBody
-    public ResponseEntity<List<Category>> getChildCategories(@PathVariable Long parentId) {
+    public ResponseEntity<List<Category>> getChildCategories(@PathVariable Long parentId,
+                                                             WebRequest webRequest,
+                                                             HttpServletResponse servletResponse) {
         log.debug("子カテゴリAPI呼び出し: 親ID={}", parentId);
         
+        if (checkCatalogNotModified(webRequest, servletResponse)) {
+            return null;
+        }
+        
         try {
             List<Category> childCategories = categoryService.findChildCategories(parentId);
             log.debug("子カテゴリAPI応答: 親ID={}, 子数={}", parentId, childCategories.size());
@@ -358,14 +374,21 @@ public class CategoryController {
     
     /**
      * カテゴリ検索API（Ajax用）
+     * カタログ世代が変わっていない場合は304を返す
      * @param keyword 検索キーワード
      * @return 検索結果カテゴリリスト（JSON）
      */
     @GetMapping("/api/search")
     @ResponseBody
-    public ResponseEntity<List<Category>> searchCategories(@RequestParam(required = false) String keyword) {
+    public ResponseEntity<List<Category>> searchCategories(@RequestParam(required = false) String keyword,
+                                                           WebRequest webRequest,
+                                                           HttpServletResponse servletResponse) {
         log.debug("カテゴリ検索API呼び出し: キーワード={}", keyword);
         
+        if (checkCatalogNotModified(webRequest, servletResponse)) {
+            return null;
+        }
+        
         try {
             List<Category> searchResults = categoryService.searchCategories(keyword);
             log.debug("カテゴリ検索API応答: キーワード={}, 結果数={}", keyword, searchResults.size());
@@ -379,13 +402,19 @@ public class CategoryController {
     
     /**
      * カテゴリ統計情報API（Ajax用）
+     * カタログ世代が変わっていない場合は304を返す
      * @return カテゴリ統計情報（JSON）
      */
     @GetMapping("/api/statistics")
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> getCategoryStatistics() {
+    public ResponseEntity<Map<String, Object>> getCategoryStatistics(WebRequest webRequest,
+                                                                     HttpServletResponse servletResponse) {
         log.debug("カテゴリ統計API呼び出し");
         
+        if (checkCatalogNotModified(webRequest, servletResponse)) {
+            return null;
+        }
+        
         try {
             CategoryService.CategoryStatistics statistics = categoryService.getCategoryStatistics();
             
@@ -405,4 +434,74 @@ public class CategoryController {
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * カテゴリ並び順一括更新API（Ajax用）
+     * 並び替え後のツリー全体を受け取り、表示順と親子関係を1トランザクションで反映する
+     * @param tree 並び替え後のカテゴリツリー（大分類の配列、childrenに小分類）
+     * @return 更新件数（JSON）
+     */
+    @PutMapping("/api/order")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> reorderCategories(@RequestBody List<CategoryOrderNode> tree) {
+        log.info("カテゴリ並び順一括更新API呼び出し: 大分類{}件", tree != null ? tree.size() : 0);
+        
+        Map<String, Object> response = new HashMap<>();
+        try {
+            int updated = categoryService.reorderCategories(tree);
+            
+            response.put("success", true);
+            response.put("updatedCount", updated);
+            
+            log.info("カテゴリ並び順一括更新API応答: {}件更新", updated);
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("カテゴリ並び順一括更新ビジネスロジックエラー: {}", e.getMessage());
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+            
+        } catch (Exception e) {
+            log.error("カテゴリ並び順一括更新API エラー", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * カテゴリ階層情報の一括再計算API（Ajax用）
+     * full_path / level / root_id のバックフィル・修復に使用
+     * @return 更新件数（JSON）
+     */
+    @PostMapping("/api/rebuild-hierarchy")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> rebuildHierarchy() {
+        log.info("カテゴリ階層情報再計算API呼び出し");
+        
+        try {
+            int updated = categoryService.rebuildHierarchyColumns();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("updatedCount", updated);
+            
+            log.info("カテゴリ階層情報再計算API応答: {}件", updated);
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            log.error("カテゴリ階層情報再計算API エラー", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * カタログ世代による条件付きGET判定
+     * @param webRequest リクエスト
+     * @param servletResponse レスポンス
+     * @return 304を返すべき場合true
+     */
+    private boolean checkCatalogNotModified(WebRequest webRequest, HttpServletResponse servletResponse) {
+        servletResponse.setHeader(HttpHeaders.CACHE_CONTROL, ConditionalGetSupport.REVALIDATE.getHeaderValue());
+        return ConditionalGetSupport.checkNotModified(webRequest, catalogVersionService.current(), "categories");
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.automatictransmissionpartsinventory.controller;
+
+import java.security.Principal;
+import java.time.ZoneId;
+
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
+
+import com.example.automatictransmissionpartsinventory.dto.PartVersion;
+import com.example.automatictransmissionpartsinventory.service.impl.CatalogVersionService.CatalogVersion;
+
+/**
+ * 条件付きGET（ETag / Last-Modified）の共通処理
+ *
+ * 本文を生成する前に検証子だけを求めて {@link WebRequest#checkNotModified(String, long)} で判定し、
+ * 一致した場合は304を返す（エンティティの読み込み・テンプレート描画を行わない）。
+ * キャッシュは利用者ごと・毎回再検証とする（private, no-cache）。
+ */
+final class ConditionalGetSupport {
+
+    /**
+     * 条件付きGET対象レスポンスのCache-Control
+     */
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGetSupport() {
+    }
+
+    /**
+     * AT部品詳細画面の検証子で判定
+     * 画面にはログインユーザー名が表示されるため、ETagにユーザーを含める
+     * @param webRequest リクエスト
+     * @param version AT部品のバージョン情報
+     * @param principal ログインユーザー
+     * @return 304を返すべき場合true
+     */
+    static boolean checkNotModified(WebRequest webRequest, PartVersion version, Principal principal) {
+        long lastModified = version.lastModified() != null
+            ? version.lastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : -1;
+        String user = principal != null ? Integer.toHexString(principal.getName().hashCode()) : "anonymous";
+        String etag = "\"part-" + version.id() + "-" + Math.max(lastModified, 0) + "-" + user + "\"";
+        return webRequest.checkNotModified(etag, lastModified);
+    }
+
+    /**
+     * カタログ世代の検証子で判定（一覧・検索系API用）
+     * @param webRequest リクエスト
+     * @param version カタログ世代
+     * @param scope リソース種別
+     * @return 304を返すべき場合true
+     */
+    static boolean checkNotModified(WebRequest webRequest, CatalogVersion version, String scope) {
+        return webRequest.checkNotModified(version.etag(scope), version.modifiedAt().toEpochMilli());
+    }
+}
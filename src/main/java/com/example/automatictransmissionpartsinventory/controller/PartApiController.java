@@ -0,0 +1,149 @@
+package com.example.automatictransmissionpartsinventory.controller;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.dto.PartField;
+import com.example.automatictransmissionpartsinventory.dto.PartLookupRequest;
+import com.example.automatictransmissionpartsinventory.exception.ServiceException;
+import com.example.automatictransmissionpartsinventory.service.AutomaticPartService;
+import com.example.automatictransmissionpartsinventory.service.impl.PartApiService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AT部品 REST API（バージョン1）
+ *
+ * 外部システム連携用のAPI。応答は一覧表示用の射影（PartListRow）で、エンティティは返さない。
+ * - GET /api/v1/parts: ID順のキーセット方式で1ページ分をJSONで返す
+ * - GET /api/v1/parts/stream: 条件に一致する全件をNDJSON（application/x-ndjson）で逐次返す
+ * - POST /api/v1/parts/lookup: 部品番号の一覧をまとめて照会し、要求と同じ順序で結果を返す
+ * 検索条件は高度検索と同じパラメータ名（partNumber, partName, manufacturer, categoryId など）で指定する。
+ * 一覧・NDJSON出力は fields=partNumber,price のように応答項目を指定でき、指定項目の列のみを取得して返す
+ * （id は次ページの取得・出力の再開に使用するため常に含める）。
+ */
+@RestController
+@RequestMapping("/api/v1/parts")
+@RequiredArgsConstructor
+@Slf4j
+public class PartApiController {
+
+    /** 1ページあたりの件数（既定値・上限） */
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    /** 一括照会で1回に指定できる部品番号の上限 */
+    private static final int MAX_LOOKUP_SIZE = 5000;
+
+    private final PartApiService partApiService;
+    private final AutomaticPartService automaticPartService;
+
+    /**
+     * AT部品一覧（キーセット方式）
+     * GET /api/v1/parts?after=...&limit=...&fields=...&（検索条件）
+     * 次のページは応答の nextAfter を after に指定して取得する
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> list(AdvancedSearchCriteria criteria,
+                                  @RequestParam(defaultValue = "0") long after,
+                                  @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit,
+                                  @RequestParam(required = false) String fields) throws ServiceException {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest()
+                .body(createErrorResponse("取得件数が不正です", "limit は 1〜" + MAX_LIMIT + " の範囲で指定してください"));
+        }
+        Map<String, String> validationErrors = automaticPartService.validateSearchCriteria(criteria);
+        if (!validationErrors.isEmpty()) {
+            return ResponseEntity.badRequest().body(createErrorResponse("検索条件が不正です", validationErrors));
+        }
+
+        if (fields == null) {
+            return ResponseEntity.ok(partApiService.findPage(criteria, after, limit));
+        }
+        try {
+            return ResponseEntity.ok(partApiService.findPage(criteria, PartField.parse(fields), after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse("応答項目の指定が不正です", e.getMessage()));
+        }
+    }
+
+    /**
+     * AT部品一覧（NDJSON逐次出力）
+     * GET /api/v1/parts/stream?after=...&fields=...&（検索条件）
+     * 1行に1件のJSONをID順に出力する。中断した場合は最後に受信したIDを after に指定して再開できる
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream(AdvancedSearchCriteria criteria,
+                                                        @RequestParam(defaultValue = "0") long after,
+                                                        @RequestParam(required = false) String fields) throws ServiceException {
+        Map<String, String> validationErrors = automaticPartService.validateSearchCriteria(criteria);
+        if (!validationErrors.isEmpty()) {
+            log.warn("NDJSON出力の検索条件が不正です: {}", validationErrors);
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<PartField> selectedFields;
+        try {
+            selectedFields = fields != null ? PartField.parse(fields) : null;
+        } catch (IllegalArgumentException e) {
+            log.warn("NDJSON出力の応答項目の指定が不正です: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        log.info("AT部品のNDJSON出力開始: 条件={}, after={}, 項目={}", criteria, after, selectedFields);
+        StreamingResponseBody body = out -> partApiService.writeNdjson(criteria, selectedFields, after, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CACHE_CONTROL, "no-store")
+            .body(body);
+    }
+
+    /**
+     * 部品番号の一括照会（部品表の見積もり用）
+     * POST /api/v1/parts/lookup  {"partNumbers": ["AT-001", "AT-002", ...]}
+     * 見つかった部品・見つからなかった部品番号を、要求と同じ順序で1回の応答にまとめて返す
+     */
+    @PostMapping(value = "/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> lookup(@RequestBody PartLookupRequest request) {
+        if (request == null || request.partNumbers() == null || request.partNumbers().isEmpty()) {
+            return ResponseEntity.badRequest()
+                .body(createErrorResponse("照会する部品番号が指定されていません", null));
+        }
+        if (request.partNumbers().size() > MAX_LOOKUP_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(createErrorResponse("照会する部品番号が多すぎます",
+                    "1回に指定できる部品番号は " + MAX_LOOKUP_SIZE + " 件までです"));
+        }
+
+        return ResponseEntity.ok(partApiService.lookup(request.partNumbers()));
+    }
+
+    private Map<String, Object> createErrorResponse(String message, Object details) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+
+        if (details != null) {
+            response.put("details", details);
+        }
+
+        return response;
+    }
+}
@@ -46,6 +46,9 @@ public class AdvancedSearchCriteria {
     private Integer page;           // ページ番号（0から開始）
     private Integer size;           // 1ページあたりの件数
     
+    // アーカイブ済み部品を含めるか（未指定の場合は含めない）
+    private Boolean includeArchived;
+    
     // 検索履歴用
     private String searchName;      // 検索条件名（お気に入り用）
     
@@ -66,6 +69,13 @@ public class AdvancedSearchCriteria {
                updatedBefore == null;
     }
     
+    /**
+     * アーカイブ済み部品も検索対象とするかどうかを判定
+     */
+    public boolean isArchiveIncluded() {
+        return Boolean.TRUE.equals(includeArchived);
+    }
+    
     /**
      * デフォルトの並び替え条件を設定
      */
@@ -0,0 +1,25 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一括削除の要求を格納するDTOクラス
+ *
+ * 対象は ids（ID指定）または filter（{@link BulkPartFilter}）で指定する。両方指定時は ids を優先する。
+ * softDelete を省略した場合は app.parts.soft-delete.enabled の設定に従う。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteRequest {
+
+    private List<Long> ids;
+    private BulkPartFilter filter;
+    private Boolean softDelete;
+}
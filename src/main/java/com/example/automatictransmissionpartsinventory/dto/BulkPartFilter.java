@@ -0,0 +1,39 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一括操作の対象AT部品の絞り込み条件を格納するDTOクラス
+ *
+ * 指定された条件はすべてANDで結合する。
+ * - manufacturer: メーカー（完全一致）
+ * - categoryId: カテゴリ（配下のサブカテゴリを含む）
+ * - partNumberPrefix: 部品番号（前方一致）
+ * - criteria: 高度検索条件（並び替え・ページネーションは無視）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPartFilter {
+
+    private String manufacturer;
+    private Long categoryId;
+    private String partNumberPrefix;
+    private AdvancedSearchCriteria criteria;
+
+    /**
+     * 絞り込み条件が1つも指定されていないか
+     * 全件への一括操作を防ぐために使用する
+     * @return 条件が未指定の場合true
+     */
+    public boolean isEmpty() {
+        return (manufacturer == null || manufacturer.trim().isEmpty()) &&
+               categoryId == null &&
+               (partNumberPrefix == null || partNumberPrefix.trim().isEmpty()) &&
+               (criteria == null || criteria.isEmpty());
+    }
+}
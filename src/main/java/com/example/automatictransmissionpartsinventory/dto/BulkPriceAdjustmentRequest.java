@@ -0,0 +1,71 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 一括価格調整の要求を格納するDTOクラス
+ *
+ * 対象は {@link BulkPartFilter} で絞り込む。
+ *
+ * 調整後の価格 = 丸め((価格 × 倍率 + 加算額) ÷ 丸め単位) × 丸め単位（0未満は0）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPriceAdjustmentRequest {
+
+    /**
+     * 調整方法
+     */
+    public enum AdjustmentType {
+        /** 百分率（3 = 3%値上げ、-5 = 5%値下げ） */
+        PERCENT,
+        /** 金額の加減算（100 = 100円値上げ） */
+        ABSOLUTE
+    }
+
+    /**
+     * 丸め方法
+     */
+    public enum Rounding {
+        /** 四捨五入 */
+        HALF_UP("ROUND"),
+        /** 切り上げ */
+        CEILING("CEIL"),
+        /** 切り捨て */
+        FLOOR("FLOOR");
+
+        private final String sqlFunction;
+
+        Rounding(String sqlFunction) {
+            this.sqlFunction = sqlFunction;
+        }
+
+        /**
+         * 丸めに使用するSQL関数名
+         * @return SQL関数名
+         */
+        public String getSqlFunction() {
+            return sqlFunction;
+        }
+    }
+
+    // 絞り込み条件
+    private BulkPartFilter filter;
+
+    // 調整内容
+    private AdjustmentType adjustmentType;
+    private BigDecimal value;
+
+    @Builder.Default
+    private Rounding rounding = Rounding.HALF_UP;
+
+    @Builder.Default
+    private BigDecimal roundingUnit = BigDecimal.ONE;
+}
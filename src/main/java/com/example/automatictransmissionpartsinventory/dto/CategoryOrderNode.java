@@ -0,0 +1,21 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * カテゴリ並び順一括更新APIのツリーノードDTO
+ * 配列内の位置が表示順、ネストが親子関係を表す
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryOrderNode {
+
+    private Long id;                                        // カテゴリID
+    private List<CategoryOrderNode> children = new ArrayList<>();   // 子カテゴリ（表示順）
+}
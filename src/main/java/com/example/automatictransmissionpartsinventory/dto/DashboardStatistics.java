@@ -0,0 +1,31 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 管理者ダッシュボード統計情報（不変スナップショット）
+ *
+ * @param totalParts 登録部品数
+ * @param totalUsers 総ユーザー数
+ * @param adminUsers 管理者ユーザー数
+ * @param regularUsers 一般ユーザー数
+ * @param computedAt 集計日時
+ */
+public record DashboardStatistics(
+    long totalParts,
+    long totalUsers,
+    long adminUsers,
+    long regularUsers,
+    LocalDateTime computedAt
+) {
+
+    /**
+     * 登録部品数を増減したスナップショットを返す
+     * @param delta 増減数
+     * @return 新しいスナップショット
+     */
+    public DashboardStatistics withPartDelta(long delta) {
+        return new DashboardStatistics(Math.max(0, totalParts + delta), totalUsers, adminUsers, regularUsers,
+            LocalDateTime.now());
+    }
+}
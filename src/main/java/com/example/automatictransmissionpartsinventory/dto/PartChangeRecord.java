@@ -0,0 +1,25 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+
+/**
+ * AT部品の変更記録（アウトボックスから取り出した1件）
+ *
+ * @param outboxId アウトボックス上のID（取り込み順）
+ * @param partId AT部品ID
+ * @param changeType 変更種別
+ * @param partNumber 変更後の部品番号（削除の場合はnull）
+ * @param price 変更後の価格（削除の場合はnull）
+ * @param changedAt 変更日時
+ */
+public record PartChangeRecord(
+        long outboxId,
+        long partId,
+        PartChangedEvent.ChangeType changeType,
+        String partNumber,
+        BigDecimal price,
+        LocalDateTime changedAt) {
+}
@@ -0,0 +1,71 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * AT部品 REST API の応答項目（fields パラメータで指定する項目）
+ *
+ * 項目ごとに、JSONの項目名と取得するJPQLの式を持つ。
+ * FROM句で ap（AT部品）と LEFT JOIN ap.category c を前提とする（{@link PartListRow} の列と同一）。
+ */
+public enum PartField {
+
+    ID("id", "ap.id"),
+    PART_NUMBER("partNumber", "ap.partNumber"),
+    PART_NAME("partName", "ap.partName"),
+    PRICE("price", "ap.price"),
+    MANUFACTURER("manufacturer", "ap.manufacturer"),
+    CATEGORY_ID("categoryId", "c.id"),
+    CATEGORY_NAME("categoryName", "c.name"),
+    CATEGORY_FULL_PATH("categoryFullPath", "COALESCE(c.fullPath, c.name)"),
+    DESCRIPTION_EXCERPT("descriptionExcerpt",
+        "SUBSTRING(ap.description, 1, " + PartListRow.DESCRIPTION_EXCERPT_LENGTH + ")"),
+    CREATED_AT("createdAt", "ap.createdAt"),
+    UPDATED_AT("updatedAt", "ap.updatedAt");
+
+    private final String jsonName;
+    private final String expression;
+
+    PartField(String jsonName, String expression) {
+        this.jsonName = jsonName;
+        this.expression = expression;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * fields パラメータ（カンマ区切りのJSON項目名）を解析
+     * ID はキーセット方式の次ページ・出力の再開の指定に使用するため、指定がなくても常に含める
+     * @param fields カンマ区切りの項目名（例: "partNumber,price"）
+     * @return 項目（定義順、重複なし）
+     * @throws IllegalArgumentException 存在しない項目名が含まれる場合
+     */
+    public static List<PartField> parse(String fields) {
+        Set<PartField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(fromJsonName(trimmed));
+        }
+        return List.copyOf(parsed);
+    }
+
+    private static PartField fromJsonName(String jsonName) {
+        for (PartField field : values()) {
+            if (field.jsonName.equals(jsonName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("存在しない項目です: " + jsonName);
+    }
+}
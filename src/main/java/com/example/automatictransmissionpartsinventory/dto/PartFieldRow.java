@@ -0,0 +1,22 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.util.List;
+
+/**
+ * 指定項目のみのAT部品一覧の行（REST API の fields パラメータ指定時）
+ * 指定された列のみを取得し、そのまま出力する。
+ *
+ * @param fields 項目（{@link PartField#parse} の結果、先頭は常に {@link PartField#ID}）
+ * @param values 項目と同じ順序の値
+ */
+public record PartFieldRow(
+        List<PartField> fields,
+        Object[] values) {
+
+    /**
+     * AT部品ID
+     */
+    public Long id() {
+        return (Long) values[fields.indexOf(PartField.ID)];
+    }
+}
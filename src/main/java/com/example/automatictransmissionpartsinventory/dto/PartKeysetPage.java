@@ -0,0 +1,18 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.util.List;
+
+/**
+ * AT部品一覧のキーセット方式のページ（REST API /api/v1/parts の応答）
+ * 次のページは after={@code nextAfter} を指定して取得する。
+ *
+ * @param <T> 行の型（{@link PartListRow}、fields 指定時は {@link PartFieldRow}）
+ * @param items AT部品一覧の行（ID順）
+ * @param limit 要求された最大件数
+ * @param nextAfter 次のページの取得に指定するID（最後のページの場合はnull）
+ */
+public record PartKeysetPage<T>(
+        List<T> items,
+        int limit,
+        Long nextAfter) {
+}
@@ -0,0 +1,53 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * AT部品一覧・検索結果の1行
+ * 一覧表示に必要な列のみをカテゴリ名と結合済みの状態で直接取得する読み取り専用の射影。
+ * エンティティを管理対象にしないため、変更検知用のスナップショットや遅延ロード用のプロキシを持たない。
+ *
+ * @param id AT部品ID
+ * @param partNumber 部品番号
+ * @param partName 部品名
+ * @param price 価格
+ * @param manufacturer 製造者
+ * @param categoryId カテゴリID（未分類の場合はnull）
+ * @param categoryName カテゴリ名（未分類の場合はnull）
+ * @param categoryFullPath フルカテゴリパス（未分類の場合はnull）
+ * @param descriptionExcerpt 説明の先頭部分（一覧の省略表示用、全文は詳細画面で取得する）
+ * @param createdAt 作成日時
+ * @param updatedAt 更新日時
+ * @param archived アーカイブ済みの部品か（アーカイブを含む高度検索の場合のみtrueになりうる）
+ */
+public record PartListRow(
+        Long id,
+        String partNumber,
+        String partName,
+        BigDecimal price,
+        String manufacturer,
+        Long categoryId,
+        String categoryName,
+        String categoryFullPath,
+        String descriptionExcerpt,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        boolean archived) {
+
+    /**
+     * 説明の取得文字数
+     * 一覧の省略表示（30文字）より1文字多く取得し、省略記号の要否を判定できるようにする
+     */
+    public static final int DESCRIPTION_EXCERPT_LENGTH = 31;
+
+    /**
+     * 通常の（アーカイブされていない）部品の行
+     */
+    public PartListRow(Long id, String partNumber, String partName, BigDecimal price, String manufacturer,
+                       Long categoryId, String categoryName, String categoryFullPath, String descriptionExcerpt,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, partNumber, partName, price, manufacturer, categoryId, categoryName, categoryFullPath,
+             descriptionExcerpt, createdAt, updatedAt, false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.util.List;
+
+/**
+ * 部品番号の一括照会の要求（REST API POST /api/v1/parts/lookup）
+ *
+ * @param partNumbers 照会する部品番号（部品表の並び順。重複可）
+ */
+public record PartLookupRequest(
+        List<String> partNumbers) {
+}
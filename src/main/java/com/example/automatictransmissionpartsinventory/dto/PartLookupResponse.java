@@ -0,0 +1,29 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.util.List;
+
+/**
+ * 部品番号の一括照会の応答（REST API POST /api/v1/parts/lookup）
+ *
+ * @param items 照会結果（要求の部品番号と同じ順序・同じ件数）
+ * @param foundCount 見つかった件数
+ * @param missing 見つからなかった部品番号（要求の順序。重複は除く）
+ */
+public record PartLookupResponse(
+        List<Item> items,
+        int foundCount,
+        List<String> missing) {
+
+    /**
+     * 部品番号ごとの照会結果
+     *
+     * @param partNumber 要求された部品番号
+     * @param found 見つかった場合はtrue
+     * @param part AT部品情報（見つからなかった場合はnull）
+     */
+    public record Item(
+            String partNumber,
+            boolean found,
+            PartSnapshotEntry part) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.util.List;
+
+/**
+ * 高度検索の絞り込み候補（検索条件に一致するAT部品のメーカー別・カテゴリ別件数）
+ *
+ * @param manufacturers メーカー別件数（件数の多い順）
+ * @param categories カテゴリ別件数（件数の多い順）
+ */
+public record PartSearchFacets(
+        List<Bucket> manufacturers,
+        List<Bucket> categories) {
+
+    /**
+     * 絞り込み候補の1項目
+     *
+     * @param value 絞り込みに指定する値（メーカー名・カテゴリID、未設定・未分類の場合はnull）
+     * @param label 表示名
+     * @param count 件数
+     */
+    public record Bucket(
+            String value,
+            String label,
+            long count) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * カタログスナップショット上のAT部品情報（不変）
+ * 部品番号による参照に必要な項目のみを保持する（説明文は含まない）
+ *
+ * @param id AT部品ID
+ * @param partNumber 部品番号
+ * @param partName 部品名
+ * @param manufacturer メーカー
+ * @param categoryId カテゴリID（未設定の場合はnull）
+ * @param price 価格
+ * @param updatedAt 更新日時
+ */
+public record PartSnapshotEntry(
+    Long id,
+    String partNumber,
+    String partName,
+    String manufacturer,
+    Long categoryId,
+    BigDecimal price,
+    LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,28 @@
+package com.example.automatictransmissionpartsinventory.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * AT部品のバージョン情報
+ * 条件付きGET（ETag / Last-Modified）の判定用に、部品本体を読み込まずに取得する
+ *
+ * @param id AT部品ID
+ * @param partUpdatedAt AT部品の更新日時
+ * @param categoryUpdatedAt 所属カテゴリの更新日時（カテゴリ未設定の場合はnull）
+ */
+public record PartVersion(Long id, LocalDateTime partUpdatedAt, LocalDateTime categoryUpdatedAt) {
+
+    /**
+     * 表示内容の最終更新日時（部品・カテゴリの新しい方）
+     * @return 最終更新日時（不明な場合はnull）
+     */
+    public LocalDateTime lastModified() {
+        if (partUpdatedAt == null) {
+            return categoryUpdatedAt;
+        }
+        if (categoryUpdatedAt == null) {
+            return partUpdatedAt;
+        }
+        return partUpdatedAt.isAfter(categoryUpdatedAt) ? partUpdatedAt : categoryUpdatedAt;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.automatictransmissionpartsinventory.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * アーカイブ済みAT部品エンティティクラス
+ *
+ * 長期間更新されていない部品・廃番の部品を automotive_parts から移動したもの。
+ * 列構成は {@link AutomativePart} と同一で、IDも移動元の値を引き継ぐ（読み取り専用）。
+ * 移動はアーカイブ処理（PartArchiveService）がSQLで行い、このエンティティからは登録・更新しない。
+ */
+@Entity
+@Table(name = "automotive_parts_archive") // インデックスは db/migration のスクリプトで管理
+@Data
+@NoArgsConstructor
+@ToString(exclude = "category")
+public class ArchivedPart {
+
+    @Id
+    private Long id;
+
+    // 同じ部品番号で再登録された部品と共存できるよう一意制約は設けない
+    @Column(name = "part_number", nullable = false)
+    private String partNumber;
+
+    @Column(name = "part_name", nullable = false)
+    private String partName;
+
+    @Column(name = "price", precision = 10, scale = 2)
+    private BigDecimal price;
+
+    /**
+     * カテゴリ（多対一）
+     * アーカイブ後もカテゴリを削除できるよう外部キー制約は設けない
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Category category;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "manufacturer")
+    private String manufacturer;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "discontinued", nullable = false)
+    private Boolean discontinued;
+
+    /**
+     * アーカイブ日時
+     */
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -14,16 +14,20 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import org.hibernate.annotations.SQLRestriction;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "automotive_parts")
+@Table(name = "automotive_parts") // インデックスは db/migration のスクリプトで管理
+@SQLRestriction("deleted_at IS NULL") // 論理削除済みの部品は検索・参照の対象外
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,8 +37,13 @@ public class AutomativePart {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    /**
+     * 部品番号
+     * 一意制約は未削除の部品のみを対象とする（論理削除済みの部品番号は再登録できる）。
+     * 制約は db/migration の生成カラム active_part_number に対して定義する
+     */
     @NotBlank(message = "部品番号は必須です")
-    @Column(name = "part_number", unique = true, nullable = false)
+    @Column(name = "part_number", nullable = false)
     private String partNumber;
     
     @NotBlank(message = "部品名は必須です")
@@ -67,6 +76,28 @@ public class AutomativePart {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    /**
+     * 論理削除日時（未削除の場合はnull）
+     * 論理削除済みの部品は保存期間の経過後に夜間バッチで物理削除される
+     */
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+    
+    /**
+     * 廃番フラグ
+     * 廃番の部品は最終更新日時に関係なく、次回のアーカイブ処理でアーカイブテーブルへ移動する
+     */
+    @Column(name = "discontinued", nullable = false)
+    private Boolean discontinued = false;
+    
+    /**
+     * 楽観ロック用バージョン
+     * 更新のたびに1加算し、編集開始時の値と一致しない場合は更新しない
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -103,19 +134,11 @@ public class AutomativePart {
     
     /**
      * 大分類名を取得
+     * 小分類の場合は親カテゴリを参照する（{@link Category#getRootName()}）
      * @return 大分類名
      */
     public String getParentCategoryName() {
-        if (this.category == null) {
-            return "未分類";
-        }
-        
-        if (this.category.isParentCategory()) {
-            return this.category.getName();
-        } else {
-            return this.category.getParent() != null ? 
-                   this.category.getParent().getName() : "未分類";
-        }
+        return this.category != null ? this.category.getRootName() : "未分類";
     }
     
     /**
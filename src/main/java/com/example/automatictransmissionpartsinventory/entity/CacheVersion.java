@@ -0,0 +1,50 @@
+package com.example.automatictransmissionpartsinventory.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * キャッシュ変更バージョンエンティティクラス
+ * 複数アプリケーションノード間でローカルキャッシュの整合性を保つため、
+ * データ種別（リージョン）ごとの変更バージョンを保持する
+ */
+@Entity
+@Table(name = "cache_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheVersion {
+
+    /**
+     * AT部品のリージョン名
+     */
+    public static final String REGION_PARTS = "parts";
+
+    /**
+     * カテゴリのリージョン名
+     */
+    public static final String REGION_CATEGORIES = "categories";
+
+    /**
+     * ユーザーのリージョン名
+     */
+    public static final String REGION_USERS = "users";
+
+    @Id
+    @Column(name = "region", length = 50)
+    private String region;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", columnDefinition = "DATETIME(6)")
+    private LocalDateTime updatedAt;
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -19,6 +20,9 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -33,11 +37,28 @@ import lombok.ToString;
  */
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Category.CACHE_REGION)
 @Data
 @EqualsAndHashCode(exclude = {"children", "parent", "automotiveParts"})
 @ToString(exclude = {"children", "parent", "automotiveParts"})
 public class Category {
     
+    /**
+     * フルカテゴリパスの区切り文字
+     */
+    public static final String PATH_SEPARATOR = " > ";
+    
+    /**
+     * 2次キャッシュのリージョン名
+     */
+    public static final String CACHE_REGION = "category";
+    
+    /**
+     * 子カテゴリコレクションの2次キャッシュのリージョン名
+     */
+    public static final String CHILDREN_CACHE_REGION = "category-children";
+    
     /**
      * カテゴリID（主キー）
      */
@@ -81,6 +102,29 @@ public class Category {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // ========================================
+    // 階層情報（非正規化カラム）
+    // ========================================
+    
+    /**
+     * フルカテゴリパス（例: "トランスミッション系部品 > ギア類"）
+     * 名称変更・移動時にサブツリー単位で再計算される
+     */
+    @Column(name = "full_path", length = 255)
+    private String fullPath;
+    
+    /**
+     * 階層レベル（大分類=0, 小分類=1）
+     */
+    @Column(name = "level")
+    private Integer level;
+    
+    /**
+     * 最上位（大分類）カテゴリのID
+     */
+    @Column(name = "root_id")
+    private Long rootId;
+    
     // ========================================
     // 階層構造関連（自己参照）
     // ========================================
@@ -99,6 +143,7 @@ public class Category {
      */
     @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @OrderBy("displayOrder ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Category.CHILDREN_CACHE_REGION)
     private List<Category> children = new ArrayList<>();
     
     // ========================================
@@ -186,22 +231,67 @@ public class Category {
     
     /**
      * 階層レベルを取得（大分類=0, 小分類=1）
+     * 非正規化カラムが未設定の場合は親を辿って算出する
      * @return 階層レベル
      */
     public int getLevel() {
-        return this.parent == null ? 0 : 1;
+        if (this.level != null) {
+            return this.level;
+        }
+        return this.parent == null ? 0 : this.parent.getLevel() + 1;
     }
     
     /**
      * フルカテゴリパスを取得（例: "トランスミッション系部品 > ギア類"）
+     * 非正規化カラムが未設定の場合は親を辿って算出する
      * @return フルカテゴリパス
      */
     public String getFullPath() {
+        if (this.fullPath != null) {
+            return this.fullPath;
+        }
+        return computeFullPath();
+    }
+    
+    /**
+     * 大分類カテゴリ名を取得
+     * カテゴリ名に区切り文字（" > "）が含まれる場合があるため、フルパスを分割せず親を辿って取得する
+     * （カテゴリは2次キャッシュの対象のため、親カテゴリの遅延ロードは通常キャッシュから解決される）
+     * @return 大分類カテゴリ名
+     */
+    public String getRootName() {
+        Category root = this;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        return root.getName();
+    }
+    
+    /**
+     * 親カテゴリの現在値から階層情報（fullPath / level / rootId）を再計算して設定
+     * 親の非正規化カラムが最新であることを前提とする
+     */
+    public void refreshHierarchyColumns() {
         if (this.parent == null) {
-            return this.name;
+            this.fullPath = this.name;
+            this.level = 0;
+            this.rootId = this.id;
         } else {
-            return this.parent.getName() + " > " + this.name;
+            this.fullPath = this.parent.getFullPath() + PATH_SEPARATOR + this.name;
+            this.level = this.parent.getLevel() + 1;
+            this.rootId = this.parent.getRootId() != null ? this.parent.getRootId() : this.parent.getId();
+        }
+    }
+    
+    /**
+     * 親を辿ってフルカテゴリパスを算出
+     * @return フルカテゴリパス
+     */
+    private String computeFullPath() {
+        if (this.parent == null) {
+            return this.name;
         }
+        return this.parent.getFullPath() + PATH_SEPARATOR + this.name;
     }
     
     /**
@@ -0,0 +1,51 @@
+package com.example.automatictransmissionpartsinventory.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * AT部品変更アウトボックスエンティティクラス
+ * 部品の変更と同一トランザクションで変更記録を追加し、
+ * バックグラウンドの取り込み処理が変更履歴・下流の利用者へ転送したうえで削除する。
+ * 列構成は {@link PartHistory} と同一。
+ */
+@Entity
+@Table(name = "part_change_outbox")
+@Data
+@NoArgsConstructor
+public class PartChangeOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "part_id", nullable = false)
+    private Long partId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private PartChangedEvent.ChangeType changeType;
+
+    @Column(name = "part_number")
+    private String partNumber;
+
+    @Column(name = "price", precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "changed_at", nullable = false, columnDefinition = "DATETIME(6)")
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,52 @@
+package com.example.automatictransmissionpartsinventory.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * AT部品変更履歴エンティティクラス
+ * 登録・更新・削除ごとに、その時点の部品番号と価格を1行ずつ記録する（価格履歴・監査用）。
+ * 書き込みはアウトボックス（part_change_outbox）の取り込み処理がSQLで行う。
+ */
+@Entity
+@Table(name = "part_history") // インデックスは db/migration のスクリプトで管理
+@Data
+@NoArgsConstructor
+public class PartHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "part_id", nullable = false)
+    private Long partId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private PartChangedEvent.ChangeType changeType;
+
+    // 削除の場合はnull
+    @Column(name = "part_number")
+    private String partNumber;
+
+    // 削除の場合はnull
+    @Column(name = "price", precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "changed_at", nullable = false, columnDefinition = "DATETIME(6)")
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,31 @@
+package com.example.automatictransmissionpartsinventory.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * AT部品削除記録エンティティクラス
+ * 物理削除・アーカイブへの移動は updated_at に現れないため、削除と同一トランザクションで記録し、
+ * 他ノードのカタログスナップショットが差分として取り込む。
+ * 保存期間（app.catalog.snapshot.tombstone-retention-days）の経過後に削除する。
+ */
+@Entity
+@Table(name = "part_tombstones") // インデックスは db/migration のスクリプトで管理
+@Data
+@NoArgsConstructor
+public class PartTombstone {
+
+    @Id
+    @Column(name = "part_id")
+    private Long partId;
+
+    @Column(name = "deleted_at", nullable = false, columnDefinition = "DATETIME(6)")
+    private LocalDateTime deletedAt;
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -15,6 +16,9 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -27,6 +31,8 @@ import lombok.ToString;
  */
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Role.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,6 +40,11 @@ import lombok.ToString;
 @ToString(exclude = "users") // 循環参照を防ぐ
 public class Role {
     
+    /**
+     * 2次キャッシュのリージョン名
+     */
+    public static final String CACHE_REGION = "role";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,12 @@
+package com.example.automatictransmissionpartsinventory.event;
+
+/**
+ * キャッシュリージョン変更イベント
+ * cache_versions テーブルのポーリングでバージョンの変化を検知した際に発行され、
+ * 各ノードのローカルキャッシュを破棄するために使用する（自ノードの変更も含む）
+ *
+ * @param region 変更されたリージョン名（{@link com.example.automatictransmissionpartsinventory.entity.CacheVersion} の定数）
+ * @param remote 他ノードの変更を含む場合true（自ノードの変更のみの場合false）
+ */
+public record CacheRegionChangedEvent(String region, boolean remote) {
+}
@@ -0,0 +1,28 @@
+package com.example.automatictransmissionpartsinventory.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * カテゴリ変更イベント
+ * カテゴリの作成・更新・削除・並び替え時に発行され、
+ * キャッシュ済みのカテゴリ表示などを更新するために使用する
+ *
+ * @param changeType 変更種別
+ * @param categoryIds 変更されたカテゴリID
+ */
+public record CategoryChangedEvent(ChangeType changeType, List<Long> categoryIds) {
+
+    /**
+     * 変更種別
+     */
+    public enum ChangeType {
+        SAVED,
+        DELETED,
+        REORDERED
+    }
+
+    public static CategoryChangedEvent of(ChangeType changeType, Collection<Long> categoryIds) {
+        return new CategoryChangedEvent(changeType, List.copyOf(categoryIds));
+    }
+}
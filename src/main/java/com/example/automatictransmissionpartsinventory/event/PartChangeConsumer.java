@@ -0,0 +1,23 @@
+package com.example.automatictransmissionpartsinventory.event;
+
+import java.util.List;
+
+import com.example.automatictransmissionpartsinventory.dto.PartChangeRecord;
+
+/**
+ * AT部品の変更記録の下流の利用者
+ *
+ * この型のBeanは、アウトボックスの取り込み処理から変更記録をまとめて受け取る。
+ * 呼び出しは取り込みのトランザクション内で行われ、例外を送出した場合はその回の取り込み全体が
+ * ロールバックされて次回に再送される（少なくとも1回の配信）。
+ * 部品の書き込み処理からは呼び出されないため、時間のかかる処理を行ってもよい。
+ */
+@FunctionalInterface
+public interface PartChangeConsumer {
+
+    /**
+     * 変更記録を受け取る
+     * @param records 変更記録（アウトボックスへの追加順）
+     */
+    void accept(List<PartChangeRecord> records);
+}
@@ -0,0 +1,47 @@
+package com.example.automatictransmissionpartsinventory.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * AT部品変更イベント
+ * AT部品の登録・更新・削除時に発行され、
+ * ダッシュボード統計などの派生データを更新するために使用する
+ *
+ * 一括操作・アーカイブのように複数トランザクションに分けて変更する処理では、
+ * 変更記録（アウトボックス・削除記録）を各トランザクション内で追加し、
+ * 全件の処理後に recorded = true のイベントを1回だけ発行してキャッシュ等を更新する。
+ *
+ * @param changeType 変更種別
+ * @param partIds 変更されたAT部品ID
+ * @param recorded 変更記録を追加済みか（trueの場合、コミット直前のリスナーは記録を追加しない）
+ */
+public record PartChangedEvent(ChangeType changeType, List<Long> partIds, boolean recorded) {
+
+    /**
+     * 変更種別
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static PartChangedEvent of(ChangeType changeType, Collection<Long> partIds) {
+        return new PartChangedEvent(changeType, List.copyOf(partIds), false);
+    }
+
+    public static PartChangedEvent of(ChangeType changeType, Long partId) {
+        return new PartChangedEvent(changeType, List.of(partId), false);
+    }
+
+    /**
+     * 変更記録を追加済みの変更イベントを作成
+     * @param changeType 変更種別
+     * @param partIds 変更されたAT部品ID
+     * @return 変更イベント
+     */
+    public static PartChangedEvent recorded(ChangeType changeType, Collection<Long> partIds) {
+        return new PartChangedEvent(changeType, List.copyOf(partIds), true);
+    }
+}
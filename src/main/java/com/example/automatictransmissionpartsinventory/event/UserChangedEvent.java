@@ -0,0 +1,21 @@
+package com.example.automatictransmissionpartsinventory.event;
+
+/**
+ * ユーザー変更イベント
+ * ユーザーの登録・更新・削除時に発行され、
+ * ダッシュボード統計などの派生データを更新するために使用する
+ *
+ * @param changeType 変更種別
+ * @param userId 変更されたユーザーID
+ */
+public record UserChangedEvent(ChangeType changeType, Long userId) {
+
+    /**
+     * 変更種別
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
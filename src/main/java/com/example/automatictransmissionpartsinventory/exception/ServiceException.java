@@ -82,4 +82,5 @@ public class ServiceException extends Exception {
     public static final String INVALID_PART_DATA = "INVALID_PART_DATA";
     public static final String DATABASE_ERROR = "DATABASE_ERROR";
     public static final String VALIDATION_ERROR = "VALIDATION_ERROR";
+    public static final String VERSION_CONFLICT = "VERSION_CONFLICT";
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.example.automatictransmissionpartsinventory.json;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+
+import com.example.automatictransmissionpartsinventory.dto.PartFieldRow;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+import com.example.automatictransmissionpartsinventory.dto.PartSnapshotEntry;
+import com.example.automatictransmissionpartsinventory.entity.Category;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * AT部品・カテゴリのJSON出力モジュール
+ *
+ * アプリケーションのObjectMapperに登録され（Spring BootがModuleのBeanを自動登録する）、
+ * 応答のMapやListに含まれるAT部品・カテゴリを {@link PartJsonWriter} / {@link CategoryJsonWriter} で出力する。
+ */
+@Component
+public class CatalogJsonModule extends SimpleModule {
+
+    public CatalogJsonModule() {
+        super("CatalogJsonModule");
+        addSerializer(new StdSerializer<>(PartListRow.class) {
+            @Override
+            public void serialize(PartListRow value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                PartJsonWriter.write(generator, value);
+            }
+        });
+        addSerializer(new StdSerializer<>(PartFieldRow.class) {
+            @Override
+            public void serialize(PartFieldRow value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                PartJsonWriter.write(generator, value);
+            }
+        });
+        addSerializer(new StdSerializer<>(PartSnapshotEntry.class) {
+            @Override
+            public void serialize(PartSnapshotEntry value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                PartJsonWriter.write(generator, value);
+            }
+        });
+        addSerializer(new StdSerializer<>(Category.class) {
+            @Override
+            public void serialize(Category value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                CategoryJsonWriter.write(generator, value);
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.automatictransmissionpartsinventory.json;
+
+import static com.example.automatictransmissionpartsinventory.json.PartJsonWriter.writeDateTime;
+import static com.example.automatictransmissionpartsinventory.json.PartJsonWriter.writeNumber;
+import static com.example.automatictransmissionpartsinventory.json.PartJsonWriter.writeString;
+
+import java.io.IOException;
+
+import com.example.automatictransmissionpartsinventory.entity.Category;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * カテゴリのJSON出力
+ *
+ * カテゴリ自身の列と非正規化済みの階層情報のみを出力する。
+ * 親・子カテゴリや所属部品の関連は辿らないため、遅延ロードのSQLや循環参照は発生しない
+ * （親カテゴリはIDのみ出力し、プロキシは初期化しない）。
+ */
+public final class CategoryJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString DISPLAY_ORDER = new SerializedString("displayOrder");
+    private static final SerializableString IS_ACTIVE = new SerializedString("isActive");
+    private static final SerializableString PARENT_ID = new SerializedString("parentId");
+    private static final SerializableString FULL_PATH = new SerializedString("fullPath");
+    private static final SerializableString LEVEL = new SerializedString("level");
+    private static final SerializableString ROOT_ID = new SerializedString("rootId");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+
+    private CategoryJsonWriter() {
+    }
+
+    /**
+     * カテゴリをJSONオブジェクトとして出力
+     * @param generator 出力先
+     * @param category カテゴリ
+     * @throws IOException 出力に失敗した場合
+     */
+    public static void write(JsonGenerator generator, Category category) throws IOException {
+        generator.writeStartObject();
+        writeNumber(generator, ID, category.getId());
+        writeString(generator, NAME, category.getName());
+        writeString(generator, DESCRIPTION, category.getDescription());
+        writeNumber(generator, DISPLAY_ORDER, category.getDisplayOrder());
+        generator.writeFieldName(IS_ACTIVE);
+        if (category.getIsActive() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(category.getIsActive());
+        }
+        writeNumber(generator, PARENT_ID, category.getParent() != null ? category.getParent().getId() : null);
+        writeString(generator, FULL_PATH, category.getFullPath());
+        writeNumber(generator, LEVEL, category.getLevel());
+        writeNumber(generator, ROOT_ID, category.getRootId());
+        writeDateTime(generator, CREATED_AT, category.getCreatedAt());
+        writeDateTime(generator, UPDATED_AT, category.getUpdatedAt());
+        generator.writeEndObject();
+    }
+}
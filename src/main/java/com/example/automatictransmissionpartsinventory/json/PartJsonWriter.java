@@ -0,0 +1,160 @@
+package com.example.automatictransmissionpartsinventory.json;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.automatictransmissionpartsinventory.dto.PartField;
+import com.example.automatictransmissionpartsinventory.dto.PartFieldRow;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+import com.example.automatictransmissionpartsinventory.dto.PartSnapshotEntry;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * AT部品のJSON出力
+ *
+ * 項目名・出力順を固定した手書きの出力処理で、リフレクションによるプロパティの探索を行わない。
+ * 項目名は事前にエンコード済みの文字列を使用する。
+ * 出力内容はJacksonの既定の出力（日時はISO-8601形式、nullの項目も出力）と同一。
+ */
+public final class PartJsonWriter {
+
+    static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString PART_NUMBER = new SerializedString("partNumber");
+    private static final SerializableString PART_NAME = new SerializedString("partName");
+    private static final SerializableString PRICE = new SerializedString("price");
+    private static final SerializableString MANUFACTURER = new SerializedString("manufacturer");
+    private static final SerializableString CATEGORY_ID = new SerializedString("categoryId");
+    private static final SerializableString CATEGORY_NAME = new SerializedString("categoryName");
+    private static final SerializableString CATEGORY_FULL_PATH = new SerializedString("categoryFullPath");
+    private static final SerializableString DESCRIPTION_EXCERPT = new SerializedString("descriptionExcerpt");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString ARCHIVED = new SerializedString("archived");
+
+    /** 指定項目のみの出力で使用する項目名 */
+    private static final Map<PartField, SerializableString> FIELD_NAMES = new EnumMap<>(PartField.class);
+
+    static {
+        for (PartField field : PartField.values()) {
+            FIELD_NAMES.put(field, new SerializedString(field.getJsonName()));
+        }
+    }
+
+    private PartJsonWriter() {
+    }
+
+    /**
+     * AT部品一覧の1行をJSONオブジェクトとして出力
+     * @param generator 出力先
+     * @param row AT部品一覧の行
+     * @throws IOException 出力に失敗した場合
+     */
+    public static void write(JsonGenerator generator, PartListRow row) throws IOException {
+        generator.writeStartObject();
+        writeNumber(generator, ID, row.id());
+        writeString(generator, PART_NUMBER, row.partNumber());
+        writeString(generator, PART_NAME, row.partName());
+        writeDecimal(generator, PRICE, row.price());
+        writeString(generator, MANUFACTURER, row.manufacturer());
+        writeNumber(generator, CATEGORY_ID, row.categoryId());
+        writeString(generator, CATEGORY_NAME, row.categoryName());
+        writeString(generator, CATEGORY_FULL_PATH, row.categoryFullPath());
+        writeString(generator, DESCRIPTION_EXCERPT, row.descriptionExcerpt());
+        writeDateTime(generator, CREATED_AT, row.createdAt());
+        writeDateTime(generator, UPDATED_AT, row.updatedAt());
+        generator.writeFieldName(ARCHIVED);
+        generator.writeBoolean(row.archived());
+        generator.writeEndObject();
+    }
+
+    /**
+     * カタログスナップショット上のAT部品情報をJSONオブジェクトとして出力
+     * @param generator 出力先
+     * @param entry AT部品情報
+     * @throws IOException 出力に失敗した場合
+     */
+    public static void write(JsonGenerator generator, PartSnapshotEntry entry) throws IOException {
+        generator.writeStartObject();
+        writeNumber(generator, ID, entry.id());
+        writeString(generator, PART_NUMBER, entry.partNumber());
+        writeString(generator, PART_NAME, entry.partName());
+        writeString(generator, MANUFACTURER, entry.manufacturer());
+        writeNumber(generator, CATEGORY_ID, entry.categoryId());
+        writeDecimal(generator, PRICE, entry.price());
+        writeDateTime(generator, UPDATED_AT, entry.updatedAt());
+        generator.writeEndObject();
+    }
+
+    /**
+     * 指定項目のみのAT部品一覧の行をJSONオブジェクトとして出力
+     * 項目名・出力順・値の書式は {@link #write(JsonGenerator, PartListRow)} と同一
+     * @param generator 出力先
+     * @param row 指定項目のみの行
+     * @throws IOException 出力に失敗した場合
+     */
+    public static void write(JsonGenerator generator, PartFieldRow row) throws IOException {
+        generator.writeStartObject();
+        List<PartField> fields = row.fields();
+        Object[] values = row.values();
+        for (int i = 0; i < fields.size(); i++) {
+            SerializableString name = FIELD_NAMES.get(fields.get(i));
+            switch (values[i]) {
+                case null -> {
+                    generator.writeFieldName(name);
+                    generator.writeNull();
+                }
+                case String value -> writeString(generator, name, value);
+                case BigDecimal value -> writeDecimal(generator, name, value);
+                case LocalDateTime value -> writeDateTime(generator, name, value);
+                case Number value -> writeNumber(generator, name, value);
+                default -> throw new IllegalStateException("出力できない値です: " + fields.get(i));
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    static void writeNumber(JsonGenerator generator, SerializableString name, Number value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.longValue());
+        }
+    }
+
+    static void writeDecimal(JsonGenerator generator, SerializableString name, BigDecimal value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    static void writeDateTime(JsonGenerator generator, SerializableString name, LocalDateTime value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(DATE_TIME_FORMAT.format(value));
+        }
+    }
+}
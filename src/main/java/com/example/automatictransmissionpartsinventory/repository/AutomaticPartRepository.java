@@ -2,23 +2,70 @@ package com.example.automatictransmissionpartsinventory.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+import com.example.automatictransmissionpartsinventory.dto.PartVersion;
 import com.example.automatictransmissionpartsinventory.entity.AutomativePart;
+import com.example.automatictransmissionpartsinventory.entity.Category;
 
 @Repository
-public interface AutomaticPartRepository extends JpaRepository<AutomativePart, Long> {
+public interface AutomaticPartRepository extends JpaRepository<AutomativePart, Long>, AutomaticPartRepositoryCustom {
+
+    /**
+     * 一覧表示用の射影（{@link PartListRow}）の列
+     * FROM句で ap（AT部品またはアーカイブ済みAT部品）と LEFT JOIN ap.category c を前提とする
+     */
+    String PART_LIST_ROW_COLUMNS =
+        "ap.id, ap.partNumber, ap.partName, ap.price, ap.manufacturer, " +
+        "c.id, c.name, COALESCE(c.fullPath, c.name), " +
+        "SUBSTRING(ap.description, 1, " + PartListRow.DESCRIPTION_EXCERPT_LENGTH + "), " +
+        "ap.createdAt, ap.updatedAt";
+
+    /**
+     * 一覧表示用の射影（{@link PartListRow}）のSELECT句
+     */
+    String PART_LIST_ROW_SELECT =
+        "SELECT new com.example.automatictransmissionpartsinventory.dto.PartListRow(" +
+        PART_LIST_ROW_COLUMNS + ") ";
+
+    /**
+     * 高度検索の検索条件（WHERE句）
+     * 件数取得・エンティティ取得・射影取得で共通
+     */
+    String ADVANCED_CRITERIA_WHERE =
+        "WHERE (:partNumber IS NULL OR LOWER(ap.partNumber) LIKE LOWER(CONCAT('%', :partNumber, '%'))) " +
+        "AND (:partName IS NULL OR LOWER(ap.partName) LIKE LOWER(CONCAT('%', :partName, '%'))) " +
+        "AND (:manufacturer IS NULL OR LOWER(ap.manufacturer) LIKE LOWER(CONCAT('%', :manufacturer, '%'))) " +
+        "AND (:categoryId IS NULL OR ap.category.id = :categoryId) " +
+        "AND (:categoryName IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :categoryName, '%'))) " +
+        "AND (:minPrice IS NULL OR ap.price >= :minPrice) " +
+        "AND (:maxPrice IS NULL OR ap.price <= :maxPrice) " +
+        "AND (:createdAfter IS NULL OR ap.createdAt >= :createdAfter) " +
+        "AND (:createdBefore IS NULL OR ap.createdAt <= :createdBefore) " +
+        "AND (:updatedAfter IS NULL OR ap.updatedAt >= :updatedAfter) " +
+        "AND (:updatedBefore IS NULL OR ap.updatedAt <= :updatedBefore)";
     
     // 部品番号での検索
     Optional<AutomativePart> findByPartNumber(String partNumber);
@@ -55,6 +102,28 @@ public interface AutomaticPartRepository extends JpaRepository<AutomativePart, L
     	        @Param("categoryId") Long categoryId
     	);
     
+    // 一覧表示用の射影取得（ページ単位、並び替えはPageableで指定）
+    @Query(value = PART_LIST_ROW_SELECT + "FROM AutomativePart ap LEFT JOIN ap.category c",
+           countQuery = "SELECT COUNT(ap) FROM AutomativePart ap")
+    Page<PartListRow> findListRows(Pageable pageable);
+
+    // 一覧表示用の射影取得（複合検索: 部品名・製造者は部分一致、大文字小文字無視）
+    @Query(PART_LIST_ROW_SELECT +
+           "FROM AutomativePart ap LEFT JOIN ap.category c WHERE " +
+           "(:partName IS NULL OR LOWER(ap.partName) LIKE LOWER(CONCAT('%', :partName, '%'))) AND " +
+           "(:manufacturer IS NULL OR LOWER(ap.manufacturer) LIKE LOWER(CONCAT('%', :manufacturer, '%'))) AND " +
+           "(:minPrice IS NULL OR ap.price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR ap.price <= :maxPrice) AND " +
+           "(:categoryId IS NULL OR c.id = :categoryId) " +
+           "ORDER BY ap.id")
+    List<PartListRow> findListRowsByConditions(
+            @Param("partName") String partName,
+            @Param("manufacturer") String manufacturer,
+            @Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice,
+            @Param("categoryId") Long categoryId
+    );
+    
     // 部品番号の重複チェック
     boolean existsByPartNumber(String partNumber);
     
@@ -63,6 +132,46 @@ public interface AutomaticPartRepository extends JpaRepository<AutomativePart, L
 
     // 特定カテゴリの部品存在チェック
     boolean existsByCategoryId(Long categoryId);
+
+    // 楽観ロック付き更新（バージョンが一致する場合のみ更新し、バージョンを1加算）
+    // 部品番号の重複は一意制約違反として検出する
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AutomativePart ap SET " +
+           "ap.partNumber = :partNumber, ap.partName = :partName, ap.price = :price, " +
+           "ap.description = :description, ap.manufacturer = :manufacturer, ap.category = :category, " +
+           "ap.updatedAt = :updatedAt, ap.version = ap.version + 1 " +
+           "WHERE ap.id = :id AND ap.version = :version")
+    int updateIfVersionMatches(@Param("id") Long id,
+                               @Param("version") Long version,
+                               @Param("partNumber") String partNumber,
+                               @Param("partName") String partName,
+                               @Param("price") BigDecimal price,
+                               @Param("description") String description,
+                               @Param("manufacturer") String manufacturer,
+                               @Param("category") Category category,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+
+    // ID指定の一括物理削除（エンティティを読み込まずにDELETE文を1回実行）
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM AutomativePart ap WHERE ap.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ID指定の一括論理削除（削除日時・更新日時を設定し、バージョンを1加算）
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AutomativePart ap SET ap.deletedAt = :deletedAt, ap.updatedAt = :deletedAt, " +
+           "ap.version = ap.version + 1 WHERE ap.id IN :ids AND ap.deletedAt IS NULL")
+    int softDeleteByIds(@Param("ids") Collection<Long> ids, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // 廃番フラグの設定（次回のアーカイブ処理で移動対象になる）
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AutomativePart ap SET ap.discontinued = true, ap.updatedAt = :updatedAt, " +
+           "ap.version = ap.version + 1 WHERE ap.id = :id AND ap.discontinued = false")
+    int markDiscontinued(@Param("id") Long id, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // 条件付きGET用のバージョン情報取得（部品本体は読み込まない）
+    @Query("SELECT new com.example.automatictransmissionpartsinventory.dto.PartVersion(ap.id, ap.updatedAt, c.updatedAt) " +
+           "FROM AutomativePart ap LEFT JOIN ap.category c WHERE ap.id = :id")
+    Optional<PartVersion> findVersionById(@Param("id") Long id);
  // ========================================
     // Phase 8.3 Step 6-1で追加: 高度検索機能
     // ========================================
@@ -73,17 +182,7 @@ public interface AutomaticPartRepository extends JpaRepository<AutomativePart, L
      */
     @Query("SELECT COUNT(ap) FROM AutomativePart ap " +
            "LEFT JOIN ap.category c " +
-           "WHERE (:partNumber IS NULL OR LOWER(ap.partNumber) LIKE LOWER(CONCAT('%', :partNumber, '%'))) " +
-           "AND (:partName IS NULL OR LOWER(ap.partName) LIKE LOWER(CONCAT('%', :partName, '%'))) " +
-           "AND (:manufacturer IS NULL OR LOWER(ap.manufacturer) LIKE LOWER(CONCAT('%', :manufacturer, '%'))) " +
-           "AND (:categoryId IS NULL OR ap.category.id = :categoryId) " +
-           "AND (:categoryName IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :categoryName, '%'))) " +
-           "AND (:minPrice IS NULL OR ap.price >= :minPrice) " +
-           "AND (:maxPrice IS NULL OR ap.price <= :maxPrice) " +
-           "AND (:createdAfter IS NULL OR ap.createdAt >= :createdAfter) " +
-           "AND (:createdBefore IS NULL OR ap.createdAt <= :createdBefore) " +
-           "AND (:updatedAfter IS NULL OR ap.updatedAt >= :updatedAfter) " +
-           "AND (:updatedBefore IS NULL OR ap.updatedAt <= :updatedBefore)")
+           ADVANCED_CRITERIA_WHERE)
     long countByAdvancedCriteria(@Param("partNumber") String partNumber,
                                  @Param("partName") String partName,
                                  @Param("manufacturer") String manufacturer,
@@ -102,17 +201,7 @@ public interface AutomaticPartRepository extends JpaRepository<AutomativePart, L
      */
     @Query("SELECT ap FROM AutomativePart ap " +
            "LEFT JOIN FETCH ap.category c " +
-           "WHERE (:partNumber IS NULL OR LOWER(ap.partNumber) LIKE LOWER(CONCAT('%', :partNumber, '%'))) " +
-           "AND (:partName IS NULL OR LOWER(ap.partName) LIKE LOWER(CONCAT('%', :partName, '%'))) " +
-           "AND (:manufacturer IS NULL OR LOWER(ap.manufacturer) LIKE LOWER(CONCAT('%', :manufacturer, '%'))) " +
-           "AND (:categoryId IS NULL OR ap.category.id = :categoryId) " +
-           "AND (:categoryName IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :categoryName, '%'))) " +
-           "AND (:minPrice IS NULL OR ap.price >= :minPrice) " +
-           "AND (:maxPrice IS NULL OR ap.price <= :maxPrice) " +
-           "AND (:createdAfter IS NULL OR ap.createdAt >= :createdAfter) " +
-           "AND (:createdBefore IS NULL OR ap.createdAt <= :createdBefore) " +
-           "AND (:updatedAfter IS NULL OR ap.updatedAt >= :updatedAfter) " +
-           "AND (:updatedBefore IS NULL OR ap.updatedAt <= :updatedBefore)")
+           ADVANCED_CRITERIA_WHERE)
     Page<AutomativePart> findByAdvancedCriteria(@Param("partNumber") String partNumber,
                                                @Param("partName") String partName,
                                                @Param("manufacturer") String manufacturer,
@@ -166,6 +255,330 @@ public interface AutomaticPartRepository extends JpaRepository<AutomativePart, L
         );
     }
 
+    /**
+     * 高度検索機能 - 一覧表示用の射影取得（ページネーション対応）
+     * 検索条件は {@link #findByAdvancedCriteria} と同一
+     */
+    @Query(value = PART_LIST_ROW_SELECT +
+                   "FROM AutomativePart ap LEFT JOIN ap.category c " +
+                   ADVANCED_CRITERIA_WHERE,
+           countQuery = "SELECT COUNT(ap) FROM AutomativePart ap LEFT JOIN ap.category c " +
+                        ADVANCED_CRITERIA_WHERE)
+    Page<PartListRow> findListRowsByAdvancedCriteria(@Param("partNumber") String partNumber,
+                                                     @Param("partName") String partName,
+                                                     @Param("manufacturer") String manufacturer,
+                                                     @Param("categoryId") Long categoryId,
+                                                     @Param("categoryName") String categoryName,
+                                                     @Param("minPrice") BigDecimal minPrice,
+                                                     @Param("maxPrice") BigDecimal maxPrice,
+                                                     @Param("createdAfter") LocalDateTime createdAfter,
+                                                     @Param("createdBefore") LocalDateTime createdBefore,
+                                                     @Param("updatedAfter") LocalDateTime updatedAfter,
+                                                     @Param("updatedBefore") LocalDateTime updatedBefore,
+                                                     Pageable pageable);
+
+    /**
+     * 高度検索機能 - 一覧表示用の射影取得（動的ソート対応）
+     * 並び替え・ページネーションは {@link #findByAdvancedCriteriaWithSort} と同一
+     */
+    default Page<PartListRow> findListRowsByAdvancedCriteriaWithSort(AdvancedSearchCriteria criteria) {
+        return findListRowsByAdvancedCriteria(criteria, listRowPageable(criteria));
+    }
+
+    /**
+     * 高度検索機能 - 一覧表示用の射影取得（ページ指定）
+     * アーカイブを含む検索で、ページより前の行もまとめて取得するために使用する
+     */
+    default Page<PartListRow> findListRowsByAdvancedCriteria(AdvancedSearchCriteria criteria, Pageable pageable) {
+        return findListRowsByAdvancedCriteria(
+            criteria.getPartNumber(),
+            criteria.getPartName(),
+            criteria.getManufacturer(),
+            criteria.getCategoryId(),
+            criteria.getCategoryName(),
+            criteria.getMinPrice(),
+            criteria.getMaxPrice(),
+            criteria.getCreatedAfterAsDateTime(),
+            criteria.getCreatedBeforeAsDateTime(),
+            criteria.getUpdatedAfterAsDateTime(),
+            criteria.getUpdatedBeforeAsDateTime(),
+            pageable
+        );
+    }
+
+    /**
+     * 高度検索機能 - 一覧表示用の射影取得（件数取得なし）
+     * 検索条件は {@link #findByAdvancedCriteria} と同一。
+     * 件数取得のクエリを実行せず、次ページの有無はページサイズ＋1件の取得で判定する
+     */
+    @Query(PART_LIST_ROW_SELECT +
+           "FROM AutomativePart ap LEFT JOIN ap.category c " +
+           ADVANCED_CRITERIA_WHERE)
+    Slice<PartListRow> findListRowSliceByAdvancedCriteria(@Param("partNumber") String partNumber,
+                                                          @Param("partName") String partName,
+                                                          @Param("manufacturer") String manufacturer,
+                                                          @Param("categoryId") Long categoryId,
+                                                          @Param("categoryName") String categoryName,
+                                                          @Param("minPrice") BigDecimal minPrice,
+                                                          @Param("maxPrice") BigDecimal maxPrice,
+                                                          @Param("createdAfter") LocalDateTime createdAfter,
+                                                          @Param("createdBefore") LocalDateTime createdBefore,
+                                                          @Param("updatedAfter") LocalDateTime updatedAfter,
+                                                          @Param("updatedBefore") LocalDateTime updatedBefore,
+                                                          Pageable pageable);
+
+    /**
+     * 高度検索機能 - 一覧表示用の射影取得（件数取得なし、動的ソート対応）
+     * 並び替え・ページネーションは {@link #findListRowsByAdvancedCriteriaWithSort} と同一
+     */
+    default Slice<PartListRow> findListRowSliceByAdvancedCriteria(AdvancedSearchCriteria criteria) {
+        return findListRowSliceByAdvancedCriteria(
+            criteria.getPartNumber(),
+            criteria.getPartName(),
+            criteria.getManufacturer(),
+            criteria.getCategoryId(),
+            criteria.getCategoryName(),
+            criteria.getMinPrice(),
+            criteria.getMaxPrice(),
+            criteria.getCreatedAfterAsDateTime(),
+            criteria.getCreatedBeforeAsDateTime(),
+            criteria.getUpdatedAfterAsDateTime(),
+            criteria.getUpdatedBeforeAsDateTime(),
+            listRowPageable(criteria)
+        );
+    }
+
+    default long countByAdvancedCriteria(AdvancedSearchCriteria criteria) {
+        return countByAdvancedCriteria(
+            criteria.getPartNumber(),
+            criteria.getPartName(),
+            criteria.getManufacturer(),
+            criteria.getCategoryId(),
+            criteria.getCategoryName(),
+            criteria.getMinPrice(),
+            criteria.getMaxPrice(),
+            criteria.getCreatedAfterAsDateTime(),
+            criteria.getCreatedBeforeAsDateTime(),
+            criteria.getUpdatedAfterAsDateTime(),
+            criteria.getUpdatedBeforeAsDateTime()
+        );
+    }
+
+    /**
+     * 高度検索機能 - メーカー別件数（絞り込み候補の集計、件数の多い順に指定件数まで）
+     * 検索条件は {@link #findByAdvancedCriteria} と同一
+     */
+    @Query("SELECT ap.manufacturer, COUNT(ap) FROM AutomativePart ap LEFT JOIN ap.category c " +
+           ADVANCED_CRITERIA_WHERE +
+           " GROUP BY ap.manufacturer ORDER BY COUNT(ap) DESC")
+    List<Object[]> countByAdvancedCriteriaGroupByManufacturer(@Param("partNumber") String partNumber,
+                                                              @Param("partName") String partName,
+                                                              @Param("manufacturer") String manufacturer,
+                                                              @Param("categoryId") Long categoryId,
+                                                              @Param("categoryName") String categoryName,
+                                                              @Param("minPrice") BigDecimal minPrice,
+                                                              @Param("maxPrice") BigDecimal maxPrice,
+                                                              @Param("createdAfter") LocalDateTime createdAfter,
+                                                              @Param("createdBefore") LocalDateTime createdBefore,
+                                                              @Param("updatedAfter") LocalDateTime updatedAfter,
+                                                              @Param("updatedBefore") LocalDateTime updatedBefore,
+                                                              Limit limit);
+
+    default List<Object[]> countByAdvancedCriteriaGroupByManufacturer(AdvancedSearchCriteria criteria, int limit) {
+        return countByAdvancedCriteriaGroupByManufacturer(
+            criteria.getPartNumber(),
+            criteria.getPartName(),
+            criteria.getManufacturer(),
+            criteria.getCategoryId(),
+            criteria.getCategoryName(),
+            criteria.getMinPrice(),
+            criteria.getMaxPrice(),
+            criteria.getCreatedAfterAsDateTime(),
+            criteria.getCreatedBeforeAsDateTime(),
+            criteria.getUpdatedAfterAsDateTime(),
+            criteria.getUpdatedBeforeAsDateTime(),
+            Limit.of(limit)
+        );
+    }
+
+    /**
+     * 高度検索機能 - カテゴリ別件数（絞り込み候補の集計、件数の多い順に指定件数まで）
+     * 検索条件は {@link #findByAdvancedCriteria} と同一。未分類の部品はカテゴリID・カテゴリ名がnullの行となる
+     */
+    @Query("SELECT c.id, c.name, COUNT(ap) FROM AutomativePart ap LEFT JOIN ap.category c " +
+           ADVANCED_CRITERIA_WHERE +
+           " GROUP BY c.id, c.name ORDER BY COUNT(ap) DESC")
+    List<Object[]> countByAdvancedCriteriaGroupByCategory(@Param("partNumber") String partNumber,
+                                                          @Param("partName") String partName,
+                                                          @Param("manufacturer") String manufacturer,
+                                                          @Param("categoryId") Long categoryId,
+                                                          @Param("categoryName") String categoryName,
+                                                          @Param("minPrice") BigDecimal minPrice,
+                                                          @Param("maxPrice") BigDecimal maxPrice,
+                                                          @Param("createdAfter") LocalDateTime createdAfter,
+                                                          @Param("createdBefore") LocalDateTime createdBefore,
+                                                          @Param("updatedAfter") LocalDateTime updatedAfter,
+                                                          @Param("updatedBefore") LocalDateTime updatedBefore,
+                                                          Limit limit);
+
+    default List<Object[]> countByAdvancedCriteriaGroupByCategory(AdvancedSearchCriteria criteria, int limit) {
+        return countByAdvancedCriteriaGroupByCategory(
+            criteria.getPartNumber(),
+            criteria.getPartName(),
+            criteria.getManufacturer(),
+            criteria.getCategoryId(),
+            criteria.getCategoryName(),
+            criteria.getMinPrice(),
+            criteria.getMaxPrice(),
+            criteria.getCreatedAfterAsDateTime(),
+            criteria.getCreatedBeforeAsDateTime(),
+            criteria.getUpdatedAfterAsDateTime(),
+            criteria.getUpdatedBeforeAsDateTime(),
+            Limit.of(limit)
+        );
+    }
+
+    /**
+     * 高度検索機能 - 一覧表示用の射影取得（ID順のキーセット方式、指定IDより後ろを指定件数まで）
+     * 検索条件は {@link #findByAdvancedCriteria} と同一
+     */
+    @Query(PART_LIST_ROW_SELECT +
+           "FROM AutomativePart ap LEFT JOIN ap.category c " +
+           ADVANCED_CRITERIA_WHERE +
+           " AND ap.id > :afterId ORDER BY ap.id")
+    List<PartListRow> findListRowsAfter(@Param("partNumber") String partNumber,
+                                        @Param("partName") String partName,
+                                        @Param("manufacturer") String manufacturer,
+                                        @Param("categoryId") Long categoryId,
+                                        @Param("categoryName") String categoryName,
+                                        @Param("minPrice") BigDecimal minPrice,
+                                        @Param("maxPrice") BigDecimal maxPrice,
+                                        @Param("createdAfter") LocalDateTime createdAfter,
+                                        @Param("createdBefore") LocalDateTime createdBefore,
+                                        @Param("updatedAfter") LocalDateTime updatedAfter,
+                                        @Param("updatedBefore") LocalDateTime updatedBefore,
+                                        @Param("afterId") Long afterId,
+                                        Limit limit);
+
+    /**
+     * 高度検索機能 - 一覧表示用の射影の逐次取得（ID順、指定IDより後ろをすべて）
+     * MySQLのストリーミング取得（フェッチサイズ Integer.MIN_VALUE）により、結果をメモリに溜めずに1行ずつ読み出す。
+     * 読み出しが終わるまでトランザクション内でStreamを閉じずに保持すること
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(PART_LIST_ROW_SELECT +
+           "FROM AutomativePart ap LEFT JOIN ap.category c " +
+           ADVANCED_CRITERIA_WHERE +
+           " AND ap.id > :afterId ORDER BY ap.id")
+    Stream<PartListRow> streamListRowsAfter(@Param("partNumber") String partNumber,
+                                            @Param("partName") String partName,
+                                            @Param("manufacturer") String manufacturer,
+                                            @Param("categoryId") Long categoryId,
+                                            @Param("categoryName") String categoryName,
+                                            @Param("minPrice") BigDecimal minPrice,
+                                            @Param("maxPrice") BigDecimal maxPrice,
+                                            @Param("createdAfter") LocalDateTime createdAfter,
+                                            @Param("createdBefore") LocalDateTime createdBefore,
+                                            @Param("updatedAfter") LocalDateTime updatedAfter,
+                                            @Param("updatedBefore") LocalDateTime updatedBefore,
+                                            @Param("afterId") Long afterId);
+
+    default List<PartListRow> findListRowsAfter(AdvancedSearchCriteria criteria, long afterId, int limit) {
+        return findListRowsAfter(
+            criteria.getPartNumber(),
+            criteria.getPartName(),
+            criteria.getManufacturer(),
+            criteria.getCategoryId(),
+            criteria.getCategoryName(),
+            criteria.getMinPrice(),
+            criteria.getMaxPrice(),
+            criteria.getCreatedAfterAsDateTime(),
+            criteria.getCreatedBeforeAsDateTime(),
+            criteria.getUpdatedAfterAsDateTime(),
+            criteria.getUpdatedBeforeAsDateTime(),
+            afterId,
+            Limit.of(limit)
+        );
+    }
+
+    default Stream<PartListRow> streamListRowsAfter(AdvancedSearchCriteria criteria, long afterId) {
+        return streamListRowsAfter(
+            criteria.getPartNumber(),
+            criteria.getPartName(),
+            criteria.getManufacturer(),
+            criteria.getCategoryId(),
+            criteria.getCategoryName(),
+            criteria.getMinPrice(),
+            criteria.getMaxPrice(),
+            criteria.getCreatedAfterAsDateTime(),
+            criteria.getCreatedBeforeAsDateTime(),
+            criteria.getUpdatedAfterAsDateTime(),
+            criteria.getUpdatedBeforeAsDateTime(),
+            afterId
+        );
+    }
+
+    /**
+     * 一覧表示用の射影取得に使用するページ・並び替え条件
+     * デフォルトの並び替え・ページネーションを適用したうえで構築する
+     */
+    default Pageable listRowPageable(AdvancedSearchCriteria criteria) {
+        // デフォルト設定の適用
+        criteria.setDefaultSort();
+        criteria.setDefaultPagination();
+        
+        // 並び替え条件の構築
+        Sort sort = Sort.unsorted();
+        if (criteria.getSortBy() != null && !criteria.getSortBy().trim().isEmpty()) {
+            Sort.Direction direction = "ASC".equalsIgnoreCase(criteria.getSortOrder()) 
+                ? Sort.Direction.ASC : Sort.Direction.DESC;
+            
+            // カテゴリ名は暗黙の内部結合にならないよう、外部結合の別名で並び替える
+            String sortField = mapSortField(criteria.getSortBy());
+            sort = "category.name".equals(sortField)
+                ? JpaSort.unsafe(direction, "c.name")
+                : Sort.by(direction, sortField);
+            
+            // 同値の行がページ間で重複・欠落しないよう、IDを第2キーとする
+            sort = sort.and(Sort.by(direction, "id"));
+        }
+        
+        return PageRequest.of(criteria.getPage(), criteria.getSize(), sort);
+    }
+
+    /**
+     * 一括操作の対象ID取得（ID順のキーセット方式、指定IDより後ろを指定件数まで）
+     * 高度検索条件に加え、メーカー完全一致・部品番号前方一致・カテゴリ配下（フルパスの前方一致）で絞り込む
+     * 前方一致の値は '!' でエスケープ済みであること
+     */
+    @Query("SELECT ap.id FROM AutomativePart ap LEFT JOIN ap.category c " +
+           ADVANCED_CRITERIA_WHERE +
+           " AND (:exactManufacturer IS NULL OR ap.manufacturer = :exactManufacturer)" +
+           " AND (:partNumberPrefix IS NULL OR ap.partNumber LIKE CONCAT(:partNumberPrefix, '%') ESCAPE '!')" +
+           " AND (:subtreeCategoryId IS NULL OR c.id = :subtreeCategoryId" +
+           " OR c.fullPath LIKE CONCAT(:subtreePathPrefix, '%') ESCAPE '!')" +
+           " AND ap.id > :afterId ORDER BY ap.id")
+    List<Long> findIdsForBulkOperation(@Param("partNumber") String partNumber,
+                                       @Param("partName") String partName,
+                                       @Param("manufacturer") String manufacturer,
+                                       @Param("categoryId") Long categoryId,
+                                       @Param("categoryName") String categoryName,
+                                       @Param("minPrice") BigDecimal minPrice,
+                                       @Param("maxPrice") BigDecimal maxPrice,
+                                       @Param("createdAfter") LocalDateTime createdAfter,
+                                       @Param("createdBefore") LocalDateTime createdBefore,
+                                       @Param("updatedAfter") LocalDateTime updatedAfter,
+                                       @Param("updatedBefore") LocalDateTime updatedBefore,
+                                       @Param("exactManufacturer") String exactManufacturer,
+                                       @Param("partNumberPrefix") String partNumberPrefix,
+                                       @Param("subtreeCategoryId") Long subtreeCategoryId,
+                                       @Param("subtreePathPrefix") String subtreePathPrefix,
+                                       @Param("afterId") Long afterId,
+                                       Limit limit);
+
     /**
      * ソートフィールドのマッピング処理
      * フロントエンドから送られてくるフィールド名をエンティティのフィールド名にマッピング
@@ -0,0 +1,60 @@
+package com.example.automatictransmissionpartsinventory.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.dto.PartField;
+import com.example.automatictransmissionpartsinventory.dto.PartFieldRow;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+
+/**
+ * AT部品リポジトリのカスタム操作
+ * 取得する列・対象テーブルが要求ごとに異なるため、Spring Data の @Query では表現できないクエリを定義
+ */
+public interface AutomaticPartRepositoryCustom {
+
+    /**
+     * 指定項目のみの一覧取得（ID順のキーセット方式、指定IDより後ろを指定件数まで）
+     * 検索条件は高度検索と同一
+     * @param criteria 検索条件
+     * @param fields 取得する項目（{@link PartField#parse} の結果）
+     * @param afterId このIDより後ろを取得する
+     * @param limit 最大件数
+     * @return 指定項目のみの行
+     */
+    List<PartFieldRow> findFieldRowsAfter(AdvancedSearchCriteria criteria, List<PartField> fields, long afterId, int limit);
+
+    /**
+     * 指定項目のみの一覧の逐次取得（ID順、指定IDより後ろをすべて）
+     * {@link AutomaticPartRepository#streamListRowsAfter} と同様、読み出しが終わるまでトランザクション内でStreamを閉じずに保持すること
+     * @param criteria 検索条件
+     * @param fields 取得する項目（{@link PartField#parse} の結果）
+     * @param afterId このIDより後ろを取得する
+     * @return 指定項目のみの行
+     */
+    Stream<PartFieldRow> streamFieldRowsAfter(AdvancedSearchCriteria criteria, List<PartField> fields, long afterId);
+
+    /**
+     * 指定項目のみの一覧取得（ページネーション対応）
+     * 検索条件は高度検索と同一、並び替えは一覧表示用の射影と同一
+     * @param criteria 検索条件
+     * @param fields 取得する項目（{@link PartField#parse} の結果）
+     * @param pageable ページ・並び替え条件（{@link AutomaticPartRepository#listRowPageable} の結果）
+     * @return 指定項目のみの行
+     */
+    Page<PartFieldRow> findFieldRows(AdvancedSearchCriteria criteria, List<PartField> fields, Pageable pageable);
+
+    /**
+     * アーカイブ済み部品を含めた一覧表示用の射影取得（ページネーション対応）
+     * 通常テーブル・アーカイブテーブルを UNION ALL で結合し、並び替え・ページの切り出しをデータベースで行う
+     * （文字列の並び順は列の照合順序に従う）
+     * @param criteria 検索条件（高度検索と同一）
+     * @param pageable ページ・並び替え条件（{@link AutomaticPartRepository#listRowPageable} の結果）
+     * @return 一覧表示用の射影（総件数は両テーブルの件数の合計）
+     */
+    Page<PartListRow> findListRowsIncludingArchive(AdvancedSearchCriteria criteria, Pageable pageable);
+}
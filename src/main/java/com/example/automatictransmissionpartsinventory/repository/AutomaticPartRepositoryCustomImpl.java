@@ -0,0 +1,197 @@
+package com.example.automatictransmissionpartsinventory.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.dto.PartField;
+import com.example.automatictransmissionpartsinventory.dto.PartFieldRow;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * AT部品リポジトリのカスタム操作の実装
+ * 指定項目の式のみをSELECT句に並べたJPQL、アーカイブテーブルと結合したJPQLを組み立てる（WHERE句は高度検索と共通）
+ */
+@RequiredArgsConstructor
+public class AutomaticPartRepositoryCustomImpl implements AutomaticPartRepositoryCustom {
+
+    /**
+     * アーカイブを含む一覧取得の各テーブルのSELECT句（{@link AutomaticPartRepository#PART_LIST_ROW_COLUMNS} と同じ列に別名を付ける）
+     */
+    private static final String LIST_ROW_UNION_COLUMNS =
+        "ap.id AS id, ap.partNumber AS partNumber, ap.partName AS partName, ap.price AS price, " +
+        "ap.manufacturer AS manufacturer, c.id AS categoryId, c.name AS categoryName, " +
+        "COALESCE(c.fullPath, c.name) AS categoryFullPath, " +
+        "SUBSTRING(ap.description, 1, " + PartListRow.DESCRIPTION_EXCERPT_LENGTH + ") AS descriptionExcerpt, " +
+        "ap.createdAt AS createdAt, ap.updatedAt AS updatedAt";
+
+    /**
+     * 一覧表示用の射影の並び替え項目と、UNION ALL の結果（別名 u）の列
+     */
+    private static final Map<String, String> LIST_ROW_SORT_COLUMNS = Map.of(
+        "id", "u.id",
+        "partNumber", "u.partNumber",
+        "partName", "u.partName",
+        "price", "u.price",
+        "manufacturer", "u.manufacturer",
+        "c.name", "u.categoryName",
+        "createdAt", "u.createdAt",
+        "updatedAt", "u.updatedAt");
+
+    /**
+     * 一覧表示用の射影の並び替え項目と、AT部品テーブル（別名 ap、カテゴリは c）の列
+     */
+    private static final Map<String, String> FIELD_ROW_SORT_COLUMNS = Map.of(
+        "id", "ap.id",
+        "partNumber", "ap.partNumber",
+        "partName", "ap.partName",
+        "price", "ap.price",
+        "manufacturer", "ap.manufacturer",
+        "c.name", "c.name",
+        "createdAt", "ap.createdAt",
+        "updatedAt", "ap.updatedAt");
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<PartFieldRow> findFieldRowsAfter(AdvancedSearchCriteria criteria, List<PartField> fields,
+                                                 long afterId, int limit) {
+        return createQuery(criteria, fields, afterId)
+            .setMaxResults(limit)
+            .getResultStream()
+            .map(values -> new PartFieldRow(fields, values))
+            .toList();
+    }
+
+    @Override
+    public Stream<PartFieldRow> streamFieldRowsAfter(AdvancedSearchCriteria criteria, List<PartField> fields,
+                                                     long afterId) {
+        // MySQLのストリーミング取得（フェッチサイズ Integer.MIN_VALUE）で1行ずつ読み出す
+        return createQuery(criteria, fields, afterId)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream()
+            .map(values -> new PartFieldRow(fields, values));
+    }
+
+    @Override
+    public Page<PartFieldRow> findFieldRows(AdvancedSearchCriteria criteria, List<PartField> fields, Pageable pageable) {
+        String jpql = "SELECT " + selectList(fields) + " FROM AutomativePart ap LEFT JOIN ap.category c " +
+                      AutomaticPartRepository.ADVANCED_CRITERIA_WHERE + orderBy(pageable.getSort(), FIELD_ROW_SORT_COLUMNS);
+
+        List<PartFieldRow> content = bindCriteria(entityManager.createQuery(jpql, Object[].class), criteria)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultStream()
+            .map(values -> new PartFieldRow(fields, values))
+            .toList();
+
+        return new PageImpl<>(content, pageable, count("AutomativePart", criteria));
+    }
+
+    @Override
+    public Page<PartListRow> findListRowsIncludingArchive(AdvancedSearchCriteria criteria, Pageable pageable) {
+        // 並び替え・ページの切り出しを UNION ALL の結果全体に対して行う
+        String jpql = "SELECT u.id, u.partNumber, u.partName, u.price, u.manufacturer, u.categoryId, u.categoryName, " +
+                      "u.categoryFullPath, u.descriptionExcerpt, u.createdAt, u.updatedAt, u.archived FROM (" +
+                      "SELECT " + LIST_ROW_UNION_COLUMNS + ", false AS archived " +
+                      "FROM AutomativePart ap LEFT JOIN ap.category c " + AutomaticPartRepository.ADVANCED_CRITERIA_WHERE +
+                      " UNION ALL " +
+                      "SELECT " + LIST_ROW_UNION_COLUMNS + ", true AS archived " +
+                      "FROM ArchivedPart ap LEFT JOIN ap.category c " + AutomaticPartRepository.ADVANCED_CRITERIA_WHERE +
+                      ") u" + orderBy(pageable.getSort(), LIST_ROW_SORT_COLUMNS);
+
+        List<PartListRow> content = bindCriteria(entityManager.createQuery(jpql, Object[].class), criteria)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultStream()
+            .map(AutomaticPartRepositoryCustomImpl::toListRow)
+            .toList();
+
+        long total = count("AutomativePart", criteria) + count("ArchivedPart", criteria);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private long count(String entityName, AdvancedSearchCriteria criteria) {
+        String jpql = "SELECT COUNT(ap) FROM " + entityName + " ap LEFT JOIN ap.category c " +
+                      AutomaticPartRepository.ADVANCED_CRITERIA_WHERE;
+        return bindCriteria(entityManager.createQuery(jpql, Long.class), criteria).getSingleResult();
+    }
+
+    /**
+     * 並び替え条件をORDER BY句に変換（並び替え条件が無い場合は更新日時の降順）
+     * @param sort 並び替え条件（{@link AutomaticPartRepository#listRowPageable} の結果）
+     * @param columns 並び替え項目と列の対応
+     */
+    private static String orderBy(Sort sort, Map<String, String> columns) {
+        String orders = sort.stream()
+            .filter(order -> columns.containsKey(order.getProperty()))
+            .map(order -> columns.get(order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"))
+            .collect(Collectors.joining(", "));
+        return " ORDER BY " + (orders.isEmpty() ? columns.get("updatedAt") + " DESC, " + columns.get("id") + " DESC" : orders);
+    }
+
+    private static PartListRow toListRow(Object[] values) {
+        return new PartListRow(
+            (Long) values[0],
+            (String) values[1],
+            (String) values[2],
+            (BigDecimal) values[3],
+            (String) values[4],
+            (Long) values[5],
+            (String) values[6],
+            (String) values[7],
+            (String) values[8],
+            (LocalDateTime) values[9],
+            (LocalDateTime) values[10],
+            (Boolean) values[11]);
+    }
+
+    private TypedQuery<Object[]> createQuery(AdvancedSearchCriteria criteria, List<PartField> fields, long afterId) {
+        String jpql = "SELECT " + selectList(fields) + " FROM AutomativePart ap LEFT JOIN ap.category c " +
+                      AutomaticPartRepository.ADVANCED_CRITERIA_WHERE +
+                      " AND ap.id > :afterId ORDER BY ap.id";
+
+        return bindCriteria(entityManager.createQuery(jpql, Object[].class), criteria)
+            .setParameter("afterId", afterId);
+    }
+
+    private static String selectList(List<PartField> fields) {
+        return fields.stream()
+            .map(PartField::getExpression)
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * 高度検索の検索条件（{@link AutomaticPartRepository#ADVANCED_CRITERIA_WHERE}）のパラメータを設定
+     */
+    private static <T> TypedQuery<T> bindCriteria(TypedQuery<T> query, AdvancedSearchCriteria criteria) {
+        return query
+            .setParameter("partNumber", criteria.getPartNumber())
+            .setParameter("partName", criteria.getPartName())
+            .setParameter("manufacturer", criteria.getManufacturer())
+            .setParameter("categoryId", criteria.getCategoryId())
+            .setParameter("categoryName", criteria.getCategoryName())
+            .setParameter("minPrice", criteria.getMinPrice())
+            .setParameter("maxPrice", criteria.getMaxPrice())
+            .setParameter("createdAfter", criteria.getCreatedAfterAsDateTime())
+            .setParameter("createdBefore", criteria.getCreatedBeforeAsDateTime())
+            .setParameter("updatedAfter", criteria.getUpdatedAfterAsDateTime())
+            .setParameter("updatedBefore", criteria.getUpdatedBeforeAsDateTime());
+    }
+}
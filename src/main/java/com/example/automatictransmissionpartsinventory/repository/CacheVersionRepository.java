@@ -0,0 +1,36 @@
+package com.example.automatictransmissionpartsinventory.repository;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.automatictransmissionpartsinventory.entity.CacheVersion;
+
+/**
+ * キャッシュ変更バージョンリポジトリインターフェース
+ */
+@Repository
+public interface CacheVersionRepository extends JpaRepository<CacheVersion, String> {
+
+    /**
+     * 指定リージョンのバージョンを1進める（行が無ければ作成）
+     * 呼び出し元のトランザクション内で実行される。
+     * 進めた後のバージョンは同じ接続の LAST_INSERT_ID() で取得できる
+     * @param region リージョン名
+     * @return 更新件数
+     */
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cache_versions"))
+    @Modifying
+    @Query(value = "INSERT INTO cache_versions (region, version, updated_at) VALUES (:region, LAST_INSERT_ID(1), CURRENT_TIMESTAMP(6)) " +
+                   "ON DUPLICATE KEY UPDATE version = LAST_INSERT_ID(version + 1), updated_at = CURRENT_TIMESTAMP(6)",
+           nativeQuery = true)
+    int incrementVersion(@Param("region") String region);
+}
@@ -3,8 +3,13 @@ package com.example.automatictransmissionpartsinventory.repository;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,7 +24,12 @@ import com.example.automatictransmissionpartsinventory.entity.Category;
  * @since 2025-09-05
  */
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, CategoryRepositoryCustom {
+
+    /**
+     * カテゴリ参照クエリ用のクエリキャッシュリージョン名
+     */
+    String QUERY_CACHE_REGION = "category-query";
 
     // ========================================
     // 基本的な検索メソッド
@@ -44,6 +54,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param isActive 有効フラグ
      * @return 有効なカテゴリリスト
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Category> findByIsActiveOrderByDisplayOrder(Boolean isActive);
     
     // ========================================
@@ -54,6 +68,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * 大分類カテゴリ（親カテゴリ）を取得
      * @return 大分類カテゴリリスト（表示順でソート）
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT c FROM Category c WHERE c.parent IS NULL ORDER BY c.displayOrder")
     List<Category> findParentCategories();
     
@@ -61,6 +79,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * 有効な大分類カテゴリのみを取得
      * @return 有効な大分類カテゴリリスト
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT c FROM Category c WHERE c.parent IS NULL AND c.isActive = true ORDER BY c.displayOrder")
     List<Category> findActiveParentCategories();
     
@@ -69,6 +91,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param parent 親カテゴリ
      * @return 子カテゴリリスト（表示順でソート）
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Category> findByParentOrderByDisplayOrder(Category parent);
     
     /**
@@ -76,6 +102,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param parentId 親カテゴリID
      * @return 子カテゴリリスト
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     @Query("SELECT c FROM Category c WHERE c.parent.id = :parentId ORDER BY c.displayOrder")
     List<Category> findByParentId(@Param("parentId") Long parentId);
     
@@ -180,4 +210,41 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      */
     @Query("SELECT c FROM Category c WHERE c.id NOT IN (SELECT DISTINCT c2.parent.id FROM Category c2 WHERE c2.parent IS NOT NULL) AND c.id NOT IN (SELECT DISTINCT ap.category.id FROM AutomativePart ap WHERE ap.category IS NOT NULL)")
     List<Category> findDeletableCategories();
-}
\ No newline at end of file
+    
+    // ========================================
+    // 階層情報（非正規化カラム）の保守
+    // ========================================
+    
+    /**
+     * 階層情報が未設定のカテゴリ数をカウント（バックフィル要否の判定用）
+     * @return full_path / level / root_id のいずれかが未設定のカテゴリ数
+     */
+    @Query("SELECT COUNT(c) FROM Category c WHERE c.fullPath IS NULL OR c.level IS NULL OR c.rootId IS NULL")
+    long countWithoutHierarchyColumns();
+    
+    /**
+     * 大分類カテゴリの階層情報を一括設定
+     * @return 更新件数
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categories"))
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE categories SET full_path = name, level = 0, root_id = id WHERE parent_id IS NULL",
+           nativeQuery = true)
+    int refreshRootHierarchyColumns();
+    
+    /**
+     * 指定レベルの親を持つ子カテゴリの階層情報を、親の値から一括設定
+     * 浅い階層から順に呼び出すことでツリー全体を再計算できる
+     * @param parentLevel 親カテゴリの階層レベル
+     * @return 更新件数
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categories"))
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE categories c JOIN categories p ON c.parent_id = p.id " +
+                   "SET c.full_path = CONCAT(p.full_path, ' > ', c.name), " +
+                   "    c.level = p.level + 1, " +
+                   "    c.root_id = p.root_id " +
+                   "WHERE p.level = :parentLevel",
+           nativeQuery = true)
+    int refreshChildHierarchyColumns(@Param("parentLevel") int parentLevel);
+}
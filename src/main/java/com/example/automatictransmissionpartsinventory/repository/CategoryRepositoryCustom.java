@@ -0,0 +1,26 @@
+package com.example.automatictransmissionpartsinventory.repository;
+
+import java.util.List;
+
+/**
+ * カテゴリリポジトリのカスタム操作
+ * Spring Data の派生クエリでは表現しにくい一括更新を定義
+ */
+public interface CategoryRepositoryCustom {
+
+    /**
+     * カテゴリの親と表示順をバッチUPDATEで一括更新
+     * @param assignments 更新内容
+     * @return 更新件数
+     */
+    int batchUpdateParentAndDisplayOrder(List<CategoryPlacement> assignments);
+
+    /**
+     * カテゴリの配置（親・表示順）
+     *
+     * @param id カテゴリID
+     * @param parentId 親カテゴリID（大分類の場合はnull）
+     * @param displayOrder 表示順
+     */
+    record CategoryPlacement(Long id, Long parentId, int displayOrder) {}
+}
@@ -0,0 +1,58 @@
+package com.example.automatictransmissionpartsinventory.repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.automatictransmissionpartsinventory.cache.SecondLevelCacheEvictor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * カテゴリリポジトリのカスタム操作の実装
+ * JDBCバッチで1往復にまとめて更新する
+ * Hibernateを経由しないため、更新後に2次キャッシュを明示的に破棄する
+ */
+@RequiredArgsConstructor
+public class CategoryRepositoryCustomImpl implements CategoryRepositoryCustom {
+
+    private static final String UPDATE_PLACEMENT_SQL =
+        "UPDATE categories SET parent_id = ?, display_order = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheEvictor secondLevelCacheEvictor;
+
+    @Override
+    public int batchUpdateParentAndDisplayOrder(List<CategoryPlacement> assignments) {
+        if (assignments.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] results = jdbcTemplate.batchUpdate(UPDATE_PLACEMENT_SQL, assignments, assignments.size(),
+            (ps, placement) -> {
+                if (placement.parentId() != null) {
+                    ps.setLong(1, placement.parentId());
+                } else {
+                    ps.setNull(1, Types.BIGINT);
+                }
+                ps.setInt(2, placement.displayOrder());
+                ps.setTimestamp(3, now);
+                ps.setLong(4, placement.id());
+            });
+
+        secondLevelCacheEvictor.evictCategories();
+
+        int updated = 0;
+        for (int[] batch : results) {
+            for (int count : batch) {
+                // rewriteBatchedStatements 有効時は件数不明（SUCCESS_NO_INFO）が返る
+                updated += count >= 0 ? count : 1;
+            }
+        }
+        return updated;
+    }
+}
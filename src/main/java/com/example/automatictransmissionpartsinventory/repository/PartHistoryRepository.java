@@ -0,0 +1,16 @@
+package com.example.automatictransmissionpartsinventory.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.automatictransmissionpartsinventory.entity.PartHistory;
+
+@Repository
+public interface PartHistoryRepository extends JpaRepository<PartHistory, Long> {
+
+    // 部品ごとの変更履歴（新しい順、(part_id, changed_at) インデックスを使用）
+    List<PartHistory> findByPartIdOrderByChangedAtDescIdDesc(Long partId, Limit limit);
+}
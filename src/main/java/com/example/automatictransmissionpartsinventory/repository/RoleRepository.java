@@ -3,7 +3,11 @@ package com.example.automatictransmissionpartsinventory.repository;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.example.automatictransmissionpartsinventory.entity.Role;
@@ -15,17 +19,30 @@ import com.example.automatictransmissionpartsinventory.entity.Role;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
+    /**
+     * 権限参照クエリ用のクエリキャッシュリージョン名
+     */
+    String QUERY_CACHE_REGION = "role-query";
+
     /**
      * 権限名でRoleを検索
      * @param roleName 権限名（例：ROLE_ADMIN, ROLE_USER）
      * @return 見つかったRole（Optional）
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Role> findByRoleName(String roleName);
 
     /**
      * すべてのRoleを取得（権限選択用）
      * @return 全権限のリスト
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Role> findAll();
 
     /**
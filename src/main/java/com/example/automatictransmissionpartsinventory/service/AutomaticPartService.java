@@ -8,6 +8,8 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 
 import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+import com.example.automatictransmissionpartsinventory.dto.PartVersion;
 import com.example.automatictransmissionpartsinventory.entity.AutomativePart;
 import com.example.automatictransmissionpartsinventory.exception.ServiceException;
 
@@ -44,6 +46,14 @@ public interface AutomaticPartService {
      */
     void deletePart(Long id) throws ServiceException, com.example.automatictransmissionpartsinventory.exception.ServiceException;
 
+    /**
+     * AT部品を廃番にする
+     * 廃番の部品は次回のアーカイブ処理でアーカイブテーブルへ移動する
+     * @param id 対象のID
+     * @throws ServiceException 部品が存在しない場合、またはデータベースエラー時
+     */
+    void discontinuePart(Long id) throws ServiceException;
+
     /**
      * IDでAT部品を検索
      * @param id 検索対象のID
@@ -51,6 +61,14 @@ public interface AutomaticPartService {
      */
     Optional<AutomativePart> findById(Long id);
 
+    /**
+     * IDでAT部品のバージョン情報（更新日時）のみを取得
+     * 条件付きGETの判定に使用し、部品本体は読み込まない
+     * @param id 検索対象のID
+     * @return バージョン情報（見つからない場合はOptional.empty()）
+     */
+    Optional<PartVersion> findVersionById(Long id);
+
     /**
      * すべてのAT部品を取得
      * @return AT部品リスト
@@ -99,6 +117,29 @@ public interface AutomaticPartService {
             BigDecimal minPrice, BigDecimal maxPrice, 
             Long categoryId);
 
+    /**
+     * AT部品を一覧表示用の射影でページ単位に取得
+     * @param page ページ番号（0から開始）
+     * @param size 1ページあたりの件数
+     * @param sortBy 並び替えフィールド（nullの場合は更新日時）
+     * @param sortOrder 並び替え順序（ASC/DESC、並び替えフィールド未指定の場合は無視）
+     * @return 一覧表示用の行のページ
+     */
+    Page<PartListRow> findListRowPage(int page, int size, String sortBy, String sortOrder);
+
+    /**
+     * 複合条件でAT部品を検索し、一覧表示用の射影で取得
+     * @param partName 部品名（部分一致、nullの場合は条件に含めない）
+     * @param manufacturer 製造者（部分一致、nullの場合は条件に含めない）
+     * @param minPrice 最低価格（nullの場合は条件に含めない）
+     * @param maxPrice 最高価格（nullの場合は条件に含めない）
+     * @param categoryId カテゴリID（nullの場合は条件に含めない）
+     * @return 該当する一覧表示用の行リスト（ID順）
+     */
+    List<PartListRow> findListRowsByConditions(String partName, String manufacturer,
+            BigDecimal minPrice, BigDecimal maxPrice,
+            Long categoryId);
+
     /**
      * 部品番号の重複チェック
      * @param partNumber チェック対象の部品番号
@@ -118,6 +159,15 @@ public interface AutomaticPartService {
      * @return 検索結果（ページネーション対応）
      */
     Page<AutomativePart> searchByAdvancedCriteria(AdvancedSearchCriteria criteria) throws ServiceException;
+
+    /**
+     * 高度検索機能（一覧表示用の射影）
+     * 検索条件・並び替え・ページネーションは {@link #searchByAdvancedCriteria} と同一
+     * 
+     * @param criteria 検索条件
+     * @return 検索結果（ページネーション対応）
+     */
+    Page<PartListRow> searchListRowsByAdvancedCriteria(AdvancedSearchCriteria criteria) throws ServiceException;
     
     /**
      * 高度検索の検索結果件数取得
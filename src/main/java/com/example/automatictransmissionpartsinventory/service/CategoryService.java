@@ -3,6 +3,7 @@ package com.example.automatictransmissionpartsinventory.service;
 import java.util.List;
 import java.util.Optional;
 
+import com.example.automatictransmissionpartsinventory.dto.CategoryOrderNode;
 import com.example.automatictransmissionpartsinventory.entity.Category;
 
 /**
@@ -82,6 +83,16 @@ public interface CategoryService {
      */
     List<Category> findCategoryTree();
     
+    /**
+     * カテゴリツリー全体の並び順・親子関係を一括更新
+     * 配列内の位置を表示順、ネストを親子関係として1トランザクションで反映する
+     * ツリーには有効なカテゴリをすべて含めること（一部のみの指定は拒否する）
+     * @param tree 並び替え後のカテゴリツリー（大分類の配列）
+     * @return 更新されたカテゴリ数
+     * @throws IllegalArgumentException ツリーが不正な場合
+     */
+    int reorderCategories(List<CategoryOrderNode> tree);
+    
     // ========================================
     // 検索・フィルタリング
     // ========================================
@@ -136,6 +147,24 @@ public interface CategoryService {
      */
     boolean isNameExists(String name, Long excludeId);
     
+    // ========================================
+    // 階層情報（非正規化カラム）
+    // ========================================
+    
+    /**
+     * 全カテゴリの階層情報（full_path / level / root_id）を一括再計算
+     * 既存データのバックフィルや不整合の修復に使用
+     * 更新があった場合はカテゴリ変更イベントを発行する
+     * @return 更新されたカテゴリ数
+     */
+    int rebuildHierarchyColumns();
+    
+    /**
+     * 階層情報が未設定のカテゴリが存在するかを判定
+     * @return 未設定のカテゴリが存在する場合true
+     */
+    boolean hasMissingHierarchyColumns();
+    
     // ========================================
     // 内部クラス：統計情報
     // ========================================
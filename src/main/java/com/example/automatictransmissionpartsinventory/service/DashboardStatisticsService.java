@@ -0,0 +1,28 @@
+package com.example.automatictransmissionpartsinventory.service;
+
+import com.example.automatictransmissionpartsinventory.dto.DashboardStatistics;
+
+/**
+ * 管理者ダッシュボード統計サービスインターフェース
+ * 集計値をメモリ上に保持し、ダッシュボード表示時の集計クエリを不要にする
+ */
+public interface DashboardStatisticsService {
+
+    /**
+     * 保持している統計情報を取得
+     * 未集計の場合のみ同期的に集計する
+     * @return 統計情報
+     */
+    DashboardStatistics getStatistics();
+
+    /**
+     * 全統計情報を再集計
+     * @return 再集計後の統計情報
+     */
+    DashboardStatistics refresh();
+
+    /**
+     * ユーザー関連の統計情報のみ再集計
+     */
+    void refreshUserCounts();
+}
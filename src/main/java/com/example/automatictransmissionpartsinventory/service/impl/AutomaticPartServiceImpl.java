@@ -1,6 +1,7 @@
 package com.example.automatictransmissionpartsinventory.service.impl;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -10,7 +11,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,7 +25,10 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+import com.example.automatictransmissionpartsinventory.dto.PartVersion;
 import com.example.automatictransmissionpartsinventory.entity.AutomativePart;
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
 import com.example.automatictransmissionpartsinventory.exception.ServiceException;
 import com.example.automatictransmissionpartsinventory.repository.AutomaticPartRepository;
 import com.example.automatictransmissionpartsinventory.service.AutomaticPartService;
@@ -38,9 +46,18 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class AutomaticPartServiceImpl implements AutomaticPartService {
 
+    /** MySQLの一意制約違反エラーコード（ER_DUP_ENTRY） */
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+
     private final AutomaticPartRepository automaticPartRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** 削除時に論理削除を行うか（falseの場合は物理削除） */
+    @Value("${app.parts.soft-delete.enabled:false}")
+    private boolean softDeleteEnabled;
 
     @Override
+    @Transactional(rollbackFor = ServiceException.class)
     public AutomativePart registerPart(AutomativePart automativePart) throws ServiceException {
         log.info("AT部品登録開始: {}", automativePart.getPartNumber());
         
@@ -58,10 +75,26 @@ public class AutomaticPartServiceImpl implements AutomaticPartService {
             
             // 登録実行
             AutomativePart savedPart = automaticPartRepository.save(automativePart);
+            eventPublisher.publishEvent(PartChangedEvent.of(PartChangedEvent.ChangeType.CREATED, savedPart.getId()));
             
             log.info("AT部品登録完了: ID={}, 部品番号={}", savedPart.getId(), savedPart.getPartNumber());
             return savedPart;
             
+        } catch (DataIntegrityViolationException e) {
+            // 重複チェック後に同じ部品番号が並行して登録された場合
+            if (isDuplicateKey(e)) {
+                throw new ServiceException(
+                    "部品番号 '" + automativePart.getPartNumber() + "' は既に登録されています。",
+                    ServiceException.DUPLICATE_PART_NUMBER,
+                    e
+                );
+            }
+            log.error("AT部品登録中に制約違反が発生: {}", e.getMessage());
+            throw new ServiceException(
+                "AT部品の登録中にエラーが発生しました。",
+                ServiceException.DATABASE_ERROR,
+                e
+            );
         } catch (DataAccessException e) {
             log.error("AT部品登録中にデータベースエラーが発生: {}", e.getMessage());
             throw new ServiceException(
@@ -72,47 +105,75 @@ public class AutomaticPartServiceImpl implements AutomaticPartService {
         }
     }
 
+    /**
+     * AT部品情報を更新
+     * 編集開始時のバージョンを条件とした1回のUPDATE文で更新し、事前のSELECTは行わない。
+     * 部品番号の重複はUPDATE時の一意制約違反として検出する。
+     * 戻り値は更新内容・新しいバージョンを反映した入力オブジェクト（作成日時は含まない）
+     */
     @Override
+    @Transactional(rollbackFor = ServiceException.class)
     public AutomativePart updatePart(Long id, AutomativePart updatedPart) throws ServiceException {
-        log.info("AT部品更新開始: ID={}", id);
+        log.info("AT部品更新開始: ID={}, バージョン={}", id, updatedPart != null ? updatedPart.getVersion() : null);
+        
+        // バリデーション
+        validatePartData(updatedPart, id);
+        if (updatedPart.getVersion() == null) {
+            throw new ServiceException("更新対象のバージョンが指定されていません。", ServiceException.VALIDATION_ERROR);
+        }
         
         try {
-            // 既存データの存在確認
-            Optional<AutomativePart> existingPartOpt = automaticPartRepository.findById(id);
-            if (existingPartOpt.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            int updated = automaticPartRepository.updateIfVersionMatches(
+                id,
+                updatedPart.getVersion(),
+                updatedPart.getPartNumber(),
+                updatedPart.getPartName(),
+                updatedPart.getPrice(),
+                updatedPart.getDescription(),
+                updatedPart.getManufacturer(),
+                updatedPart.getCategory(),
+                now
+            );
+            
+            if (updated == 0) {
+                // 失敗時のみ原因を判定（削除済みか、他のユーザーによる更新か）
+                if (!automaticPartRepository.existsById(id)) {
+                    throw new ServiceException(
+                        "ID " + id + " のAT部品が見つかりません。",
+                        ServiceException.PART_NOT_FOUND
+                    );
+                }
+                log.warn("AT部品更新競合: ID={}, バージョン={}", id, updatedPart.getVersion());
                 throw new ServiceException(
-                    "ID " + id + " のAT部品が見つかりません。",
-                    ServiceException.PART_NOT_FOUND
+                    "他のユーザーがこのAT部品を更新しました。最新の内容を確認してから再度編集してください。",
+                    ServiceException.VERSION_CONFLICT
                 );
             }
             
-            AutomativePart existingPart = existingPartOpt.get();
+            eventPublisher.publishEvent(PartChangedEvent.of(PartChangedEvent.ChangeType.UPDATED, id));
             
-            // バリデーション
-            validatePartData(updatedPart, id);
+            updatedPart.setId(id);
+            updatedPart.setVersion(updatedPart.getVersion() + 1);
+            updatedPart.setUpdatedAt(now);
             
-            // 部品番号重複チェック（自分以外で同じ部品番号がないか）
-            if (isPartNumberDuplicated(updatedPart.getPartNumber(), id)) {
+            log.info("AT部品更新完了: ID={}, 部品番号={}", id, updatedPart.getPartNumber());
+            return updatedPart;
+            
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateKey(e)) {
                 throw new ServiceException(
                     "部品番号 '" + updatedPart.getPartNumber() + "' は既に他のAT部品で使用されています。",
-                    ServiceException.DUPLICATE_PART_NUMBER
+                    ServiceException.DUPLICATE_PART_NUMBER,
+                    e
                 );
             }
-            
-            // データ更新
-            existingPart.setPartNumber(updatedPart.getPartNumber());
-            existingPart.setPartName(updatedPart.getPartName());
-            existingPart.setPrice(updatedPart.getPrice());
-            existingPart.setDescription(updatedPart.getDescription());
-            existingPart.setManufacturer(updatedPart.getManufacturer());
-            existingPart.setCategory(updatedPart.getCategory());
-            
-            // 更新実行
-            AutomativePart savedPart = automaticPartRepository.save(existingPart);
-            
-            log.info("AT部品更新完了: ID={}, 部品番号={}", savedPart.getId(), savedPart.getPartNumber());
-            return savedPart;
-            
+            log.error("AT部品更新中に制約違反が発生: {}", e.getMessage());
+            throw new ServiceException(
+                "AT部品の更新中にエラーが発生しました。",
+                ServiceException.DATABASE_ERROR,
+                e
+            );
         } catch (DataAccessException e) {
             log.error("AT部品更新中にデータベースエラーが発生: {}", e.getMessage());
             throw new ServiceException(
@@ -128,16 +189,17 @@ public class AutomaticPartServiceImpl implements AutomaticPartService {
         log.info("AT部品削除開始: ID={}", id);
         
         try {
-            // 存在確認
-            if (!automaticPartRepository.existsById(id)) {
+            // 削除実行（事前の存在確認は行わず、削除件数で判定）
+            int deleted = softDeleteEnabled
+                ? automaticPartRepository.softDeleteByIds(List.of(id), LocalDateTime.now())
+                : automaticPartRepository.deleteByIdIn(List.of(id));
+            if (deleted == 0) {
                 throw new ServiceException(
                     "ID " + id + " のAT部品が見つかりません。",
                     ServiceException.PART_NOT_FOUND
                 );
             }
-            
-            // 削除実行
-            automaticPartRepository.deleteById(id);
+            eventPublisher.publishEvent(PartChangedEvent.of(PartChangedEvent.ChangeType.DELETED, id));
             
             log.info("AT部品削除完了: ID={}", id);
             
@@ -151,6 +213,37 @@ public class AutomaticPartServiceImpl implements AutomaticPartService {
         }
     }
 
+    @Override
+    @Transactional(rollbackFor = ServiceException.class)
+    public void discontinuePart(Long id) throws ServiceException {
+        log.info("AT部品廃番設定開始: ID={}", id);
+        
+        try {
+            int updated = automaticPartRepository.markDiscontinued(id, LocalDateTime.now());
+            if (updated == 0) {
+                if (!automaticPartRepository.existsById(id)) {
+                    throw new ServiceException(
+                        "ID " + id + " のAT部品が見つかりません。",
+                        ServiceException.PART_NOT_FOUND
+                    );
+                }
+                log.info("AT部品は廃番設定済みです: ID={}", id);
+                return;
+            }
+            eventPublisher.publishEvent(PartChangedEvent.of(PartChangedEvent.ChangeType.UPDATED, id));
+            
+            log.info("AT部品廃番設定完了: ID={}", id);
+            
+        } catch (DataAccessException e) {
+            log.error("AT部品廃番設定中にデータベースエラーが発生: {}", e.getMessage());
+            throw new ServiceException(
+                "AT部品の廃番設定中にエラーが発生しました。",
+                ServiceException.DATABASE_ERROR,
+                e
+            );
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<AutomativePart> findById(Long id) {
@@ -158,6 +251,12 @@ public class AutomaticPartServiceImpl implements AutomaticPartService {
         return automaticPartRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PartVersion> findVersionById(Long id) {
+        return automaticPartRepository.findVersionById(id);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<AutomativePart> findAllParts() {
@@ -283,6 +382,36 @@ public class AutomaticPartServiceImpl implements AutomaticPartService {
     }
     
     
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PartListRow> findListRowPage(int page, int size, String sortBy, String sortOrder) {
+        log.debug("AT部品一覧取得（一覧表示用）: ページ={}, 件数={}, 並び替え={} {}", page, size, sortBy, sortOrder);
+        AdvancedSearchCriteria criteria = AdvancedSearchCriteria.builder()
+            .page(page)
+            .size(size)
+            .sortBy(sortBy)
+            .sortOrder(sortOrder)
+            .build();
+        return automaticPartRepository.findListRows(automaticPartRepository.listRowPageable(criteria));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PartListRow> findListRowsByConditions(String partName, String manufacturer,
+            BigDecimal minPrice, BigDecimal maxPrice,
+            Long categoryId) {
+        log.debug("複合条件検索（一覧表示用）: 部品名={}, 製造者={}, 価格範囲={}-{}, カテゴリID={}",
+                  partName, manufacturer, minPrice, maxPrice, categoryId);
+
+        List<PartListRow> rows = automaticPartRepository.findListRowsByConditions(
+            StringUtils.hasText(partName) ? partName.trim() : null,
+            StringUtils.hasText(manufacturer) ? manufacturer.trim() : null,
+            minPrice, maxPrice, categoryId);
+
+        log.debug("検索完了 - 該当部品数: {}件", rows.size());
+        return rows;
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public boolean isPartNumberDuplicated(String partNumber, Long excludeId) {
@@ -303,6 +432,19 @@ public class AutomaticPartServiceImpl implements AutomaticPartService {
         return true;
     }
 
+    /**
+     * 一意制約違反（MySQLの ER_DUP_ENTRY）かどうかを判定
+     * @param e データ整合性違反例外
+     * @return 一意制約違反の場合true
+     */
+    private boolean isDuplicateKey(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+            && sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY;
+    }
+
     /**
      * AT部品データのバリデーション
      * @param automativePart バリデーション対象のAT部品
@@ -377,6 +519,41 @@ public class AutomaticPartServiceImpl implements AutomaticPartService {
         }
     }
 
+    /**
+     * 高度検索機能の実装（一覧表示用の射影）
+     * 空の検索条件の場合もWHERE句の各条件が無効になるため、同一のクエリで全件を取得する
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PartListRow> searchListRowsByAdvancedCriteria(AdvancedSearchCriteria criteria) throws ServiceException {
+        try {
+            log.info("高度検索（一覧表示用）を開始します。検索条件: {}", criteria);
+            
+            // 検索条件の妥当性チェック
+            Map<String, String> validationErrors = validateSearchCriteria(criteria);
+            if (!validationErrors.isEmpty()) {
+                log.warn("検索条件に不正な値があります: {}", validationErrors);
+                throw new ServiceException("検索条件が不正です: " + validationErrors.toString());
+            }
+            
+            // 検索条件の前処理
+            preprocessSearchCriteria(criteria);
+            
+            Page<PartListRow> results = criteria.isArchiveIncluded()
+                ? automaticPartRepository.findListRowsIncludingArchive(criteria, automaticPartRepository.listRowPageable(criteria))
+                : automaticPartRepository.findListRowsByAdvancedCriteriaWithSort(criteria);
+            
+            log.info("高度検索（一覧表示用）が完了しました。結果件数: {}, 総ページ数: {}", 
+                       results.getTotalElements(), results.getTotalPages());
+            
+            return results;
+            
+        } catch (Exception e) {
+            log.error("高度検索処理中にエラーが発生しました。検索条件: {}", criteria, e);
+            throw new ServiceException("検索処理に失敗しました: " + e.getMessage());
+        }
+    }
+
     /**
      * 高度検索の検索結果件数取得
      */
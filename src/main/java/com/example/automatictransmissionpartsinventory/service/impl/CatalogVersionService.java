@@ -0,0 +1,101 @@
+package com.example.automatictransmissionpartsinventory.service.impl;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.automatictransmissionpartsinventory.cache.CacheCoherenceService;
+import com.example.automatictransmissionpartsinventory.entity.CacheVersion;
+import com.example.automatictransmissionpartsinventory.event.CacheRegionChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.CategoryChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * カタログ世代サービス
+ * 一覧・検索系APIの条件付きGET（ETag / Last-Modified）の検証子を提供する
+ *
+ * ETagは全ノードで共有する cache_versions のAT部品・カテゴリのバージョンから作るため、
+ * ロードバランサー配下でノードをまたいでも、同じETagは同じカタログ状態を指す。
+ * 他ノードの変更はポーリング間隔（app.cache.coherence.poll-interval-ms）の範囲で遅れて反映され、
+ * その間は変更前のETagに304を返すことがある。
+ *
+ * Last-Modified は自ノードで変更を反映した日時とする（変更のコミット日時以降の値になるため、
+ * 他ノードで取得した日時と比べても新しい変更を見落とさない）。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionService {
+
+    private final CacheCoherenceService cacheCoherenceService;
+
+    private final AtomicReference<Instant> modifiedAt = new AtomicReference<>(Instant.now());
+
+    /**
+     * 現在のカタログ世代を取得
+     * @return カタログ世代
+     */
+    public CatalogVersion current() {
+        return new CatalogVersion(
+            cacheCoherenceService.currentVersion(CacheVersion.REGION_PARTS),
+            cacheCoherenceService.currentVersion(CacheVersion.REGION_CATEGORIES),
+            modifiedAt.get());
+    }
+
+    /**
+     * カタログの変更を反映した日時を記録
+     */
+    private void touch() {
+        Instant now = Instant.now();
+        modifiedAt.set(now);
+        log.debug("カタログ更新日時を更新: {}", now);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPartChanged(PartChangedEvent event) {
+        touch();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        touch();
+    }
+
+    /**
+     * 他ノードでのAT部品・カテゴリ変更を検知した場合に更新日時を記録
+     * @param event キャッシュリージョン変更イベント
+     */
+    @EventListener
+    public void onCacheRegionChanged(CacheRegionChangedEvent event) {
+        if (CacheVersion.REGION_PARTS.equals(event.region()) || CacheVersion.REGION_CATEGORIES.equals(event.region())) {
+            touch();
+        }
+    }
+
+    /**
+     * カタログ世代
+     *
+     * @param partsVersion AT部品リージョンのバージョン
+     * @param categoriesVersion カテゴリリージョンのバージョン
+     * @param modifiedAt 自ノードでの更新日時
+     */
+    public record CatalogVersion(long partsVersion, long categoriesVersion, Instant modifiedAt) {
+
+        /**
+         * 指定スコープの強いETagを生成
+         * 一覧・検索結果にはカテゴリ名も含まれるため、どのスコープも両リージョンのバージョンを含める
+         * @param scope リソース種別（例: "parts", "categories"）
+         * @return ETag値（ダブルクォート付き）
+         */
+        public String etag(String scope) {
+            return "\"" + scope + "-p" + partsVersion + "-c" + categoriesVersion + "\"";
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.automatictransmissionpartsinventory.service.impl;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.example.automatictransmissionpartsinventory.service.CategoryService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * カテゴリ階層情報のバックフィル処理
+ * 起動時に full_path / level / root_id が未設定のカテゴリがあれば一括で再計算する
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryHierarchyBackfillRunner implements ApplicationRunner {
+
+    private final CategoryService categoryService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (!categoryService.hasMissingHierarchyColumns()) {
+                log.debug("カテゴリ階層情報は設定済みのためバックフィルをスキップします");
+                return;
+            }
+
+            int updated = categoryService.rebuildHierarchyColumns();
+            log.info("カテゴリ階層情報のバックフィル完了: {}件", updated);
+
+        } catch (Exception e) {
+            // 階層情報は親を辿る算出にフォールバックできるため起動は継続する
+            log.error("カテゴリ階層情報のバックフィルに失敗しました", e);
+        }
+    }
+}
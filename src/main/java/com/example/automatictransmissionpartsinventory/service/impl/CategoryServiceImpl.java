@@ -1,13 +1,25 @@
 package com.example.automatictransmissionpartsinventory.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.automatictransmissionpartsinventory.dto.CategoryOrderNode;
 import com.example.automatictransmissionpartsinventory.entity.Category;
+import com.example.automatictransmissionpartsinventory.event.CategoryChangedEvent;
 import com.example.automatictransmissionpartsinventory.repository.CategoryRepository;
+import com.example.automatictransmissionpartsinventory.repository.CategoryRepositoryCustom.CategoryPlacement;
 import com.example.automatictransmissionpartsinventory.service.CategoryService;
 
 import lombok.RequiredArgsConstructor;
@@ -27,7 +39,18 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(readOnly = true)
 public class CategoryServiceImpl implements CategoryService {
 
+    /**
+     * 階層情報の一括再計算で辿る最大の深さ（循環データ対策）
+     */
+    private static final int MAX_HIERARCHY_DEPTH = 10;
+
+    /**
+     * 許可する最大階層数（大分類・小分類の2階層）
+     */
+    private static final int MAX_TREE_LEVELS = 2;
+
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ========================================
     // CRUD操作
@@ -86,8 +109,31 @@ public class CategoryServiceImpl implements CategoryService {
             throw new IllegalArgumentException("カテゴリ名が重複しています: " + category.getName());
         }
         
+        // 変更前の階層情報（名称変更・移動の判定用）
+        String previousPath = null;
+        Long previousRootId = null;
+        if (category.getId() != null) {
+            Optional<Category> existing = categoryRepository.findById(category.getId());
+            if (existing.isPresent()) {
+                previousPath = existing.get().getFullPath();
+                previousRootId = existing.get().getRootId();
+            }
+        }
+        
         Category savedCategory = categoryRepository.save(category);
         
+        // 階層情報の再計算（名称変更・移動時はサブツリー全体）
+        savedCategory.refreshHierarchyColumns();
+        if (previousPath != null &&
+            (!Objects.equals(previousPath, savedCategory.getFullPath()) ||
+             !Objects.equals(previousRootId, savedCategory.getRootId()))) {
+            int refreshed = refreshDescendantHierarchy(savedCategory, 0);
+            log.info("サブツリーの階層情報を再計算: ID={}, 更新件数={}", savedCategory.getId(), refreshed);
+        }
+        
+        eventPublisher.publishEvent(
+            CategoryChangedEvent.of(CategoryChangedEvent.ChangeType.SAVED, List.of(savedCategory.getId())));
+        
         log.info("カテゴリ保存完了: ID={}, Name={}", savedCategory.getId(), savedCategory.getName());
         return savedCategory;
     }
@@ -112,6 +158,8 @@ public class CategoryServiceImpl implements CategoryService {
         }
         
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(
+            CategoryChangedEvent.of(CategoryChangedEvent.ChangeType.DELETED, List.of(id)));
         log.info("カテゴリ削除完了: ID={}, Name={}", id, category.get().getName());
     }
     
@@ -166,6 +214,60 @@ public class CategoryServiceImpl implements CategoryService {
         return parentCategories;
     }
     
+    @Override
+    @Transactional
+    public int reorderCategories(List<CategoryOrderNode> tree) {
+        log.debug("カテゴリ並び順の一括更新を開始");
+        
+        if (tree == null || tree.isEmpty()) {
+            throw new IllegalArgumentException("カテゴリツリーが指定されていません");
+        }
+        
+        // ツリーを (ID, 親ID, 表示順) の並びに展開
+        List<CategoryPlacement> placements = new ArrayList<>();
+        flattenTree(tree, null, 1, placements, new HashSet<>());
+        
+        // 全カテゴリを一括取得して存在確認・差分抽出
+        Map<Long, Category> existing = categoryRepository.findAll()
+            .stream()
+            .collect(Collectors.toMap(Category::getId, Function.identity()));
+        validateTreeCoverage(placements, existing.values());
+        
+        List<CategoryPlacement> changed = new ArrayList<>();
+        boolean parentChanged = false;
+        for (CategoryPlacement placement : placements) {
+            Category current = existing.get(placement.id());
+            if (current == null) {
+                throw new IllegalArgumentException("カテゴリが見つかりません: ID=" + placement.id());
+            }
+            Long currentParentId = current.getParent() != null ? current.getParent().getId() : null;
+            boolean moved = !Objects.equals(currentParentId, placement.parentId());
+            if (moved || !Objects.equals(current.getDisplayOrder(), placement.displayOrder())) {
+                changed.add(placement);
+                parentChanged |= moved;
+            }
+        }
+        
+        if (changed.isEmpty()) {
+            log.info("カテゴリ並び順に変更はありません");
+            return 0;
+        }
+        
+        int updated = categoryRepository.batchUpdateParentAndDisplayOrder(changed);
+        
+        // 親子関係が変わった場合のみ階層情報を再計算
+        if (parentChanged) {
+            refreshHierarchyColumns();
+        }
+        
+        eventPublisher.publishEvent(CategoryChangedEvent.of(
+            CategoryChangedEvent.ChangeType.REORDERED,
+            changed.stream().map(CategoryPlacement::id).toList()));
+        
+        log.info("カテゴリ並び順の一括更新完了: 指定{}件, 更新{}件", placements.size(), updated);
+        return updated;
+    }
+    
     // ========================================
     // 検索・フィルタリング
     // ========================================
@@ -277,10 +379,137 @@ public class CategoryServiceImpl implements CategoryService {
         return true;
     }
     
+    // ========================================
+    // 階層情報（非正規化カラム）
+    // ========================================
+    
+    @Override
+    @Transactional
+    public int rebuildHierarchyColumns() {
+        int updated = refreshHierarchyColumns();
+        if (updated > 0) {
+            eventPublisher.publishEvent(CategoryChangedEvent.of(CategoryChangedEvent.ChangeType.SAVED, List.of()));
+        }
+        return updated;
+    }
+    
+    @Override
+    public boolean hasMissingHierarchyColumns() {
+        return categoryRepository.countWithoutHierarchyColumns() > 0;
+    }
+    
     // ========================================
     // プライベートメソッド
     // ========================================
     
+    /**
+     * 全カテゴリの階層情報を一括再計算（変更イベントは呼び出し元で発行する）
+     * @return 更新されたカテゴリ数
+     */
+    private int refreshHierarchyColumns() {
+        log.info("カテゴリ階層情報の一括再計算を開始");
+        
+        int updated = categoryRepository.refreshRootHierarchyColumns();
+        
+        // 浅い階層から順に親の値を子へ伝播
+        for (int parentLevel = 0; parentLevel < MAX_HIERARCHY_DEPTH; parentLevel++) {
+            int childUpdated = categoryRepository.refreshChildHierarchyColumns(parentLevel);
+            if (childUpdated == 0) {
+                break;
+            }
+            updated += childUpdated;
+        }
+        
+        log.info("カテゴリ階層情報の一括再計算完了: {}件", updated);
+        return updated;
+    }
+    
+    /**
+     * 並び替えツリーを配置情報の一覧に展開
+     * @param nodes 同じ親を持つノード（表示順）
+     * @param parentId 親カテゴリID
+     * @param level 階層（1始まり）
+     * @param placements 展開結果の格納先
+     * @param visited 重複チェック用のID集合
+     * @throws IllegalArgumentException ツリーが不正な場合
+     */
+    private void flattenTree(List<CategoryOrderNode> nodes, Long parentId, int level,
+                             List<CategoryPlacement> placements, Set<Long> visited) {
+        if (nodes == null || nodes.isEmpty()) {
+            return;
+        }
+        if (level > MAX_TREE_LEVELS) {
+            throw new IllegalArgumentException("3階層以上のカテゴリは作成できません");
+        }
+        
+        int displayOrder = 1;
+        for (CategoryOrderNode node : nodes) {
+            if (node == null || node.getId() == null) {
+                throw new IllegalArgumentException("カテゴリIDが指定されていないノードがあります");
+            }
+            if (!visited.add(node.getId())) {
+                throw new IllegalArgumentException("カテゴリIDが重複しています: ID=" + node.getId());
+            }
+            placements.add(new CategoryPlacement(node.getId(), parentId, displayOrder++));
+            flattenTree(node.getChildren(), node.getId(), level + 1, placements, visited);
+        }
+    }
+    
+    /**
+     * 並び替えツリーが全体を表しているかを検証
+     * 一部のみのツリーでは、指定されなかったカテゴリの親子関係をこの場で確認できないため、
+     * 有効なカテゴリはすべて指定されていることを必須とする。
+     * 指定されなかった無効カテゴリは現在の親の下に残るため、その親が小分類に配置される場合は3階層となり拒否する
+     * @param placements 展開済みの配置情報
+     * @param categories 全カテゴリ
+     * @throws IllegalArgumentException 有効なカテゴリの指定漏れ、または3階層以上になる場合
+     */
+    private void validateTreeCoverage(List<CategoryPlacement> placements, Collection<Category> categories) {
+        Set<Long> placedIds = new HashSet<>();
+        Set<Long> childIds = new HashSet<>();
+        for (CategoryPlacement placement : placements) {
+            placedIds.add(placement.id());
+            if (placement.parentId() != null) {
+                childIds.add(placement.id());
+            }
+        }
+        
+        List<Long> missingActiveIds = new ArrayList<>();
+        for (Category category : categories) {
+            if (placedIds.contains(category.getId())) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(category.getIsActive())) {
+                missingActiveIds.add(category.getId());
+            } else if (category.getParent() != null && childIds.contains(category.getParent().getId())) {
+                throw new IllegalArgumentException("3階層以上のカテゴリは作成できません: ID=" + category.getId());
+            }
+        }
+        if (!missingActiveIds.isEmpty()) {
+            throw new IllegalArgumentException("すべての有効なカテゴリを指定してください（未指定: ID=" + missingActiveIds + "）");
+        }
+    }
+    
+    /**
+     * 指定カテゴリ配下の階層情報を再帰的に再計算
+     * @param parent 再計算済みの親カテゴリ
+     * @param depth 現在の深さ（循環データ対策）
+     * @return 更新したカテゴリ数
+     */
+    private int refreshDescendantHierarchy(Category parent, int depth) {
+        if (depth >= MAX_HIERARCHY_DEPTH) {
+            log.warn("カテゴリ階層が深すぎるため再計算を打ち切りました: ID={}", parent.getId());
+            return 0;
+        }
+        
+        int refreshed = 0;
+        for (Category child : categoryRepository.findByParentId(parent.getId())) {
+            child.refreshHierarchyColumns();
+            refreshed += 1 + refreshDescendantHierarchy(child, depth + 1);
+        }
+        return refreshed;
+    }
+    
     /**
      * カテゴリのバリデーション
      * @param category バリデーション対象カテゴリ
@@ -0,0 +1,127 @@
+package com.example.automatictransmissionpartsinventory.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.automatictransmissionpartsinventory.dto.DashboardStatistics;
+import com.example.automatictransmissionpartsinventory.entity.CacheVersion;
+import com.example.automatictransmissionpartsinventory.event.CacheRegionChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.UserChangedEvent;
+import com.example.automatictransmissionpartsinventory.repository.AutomaticPartRepository;
+import com.example.automatictransmissionpartsinventory.repository.UserRepository;
+import com.example.automatictransmissionpartsinventory.service.DashboardStatisticsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 管理者ダッシュボード統計サービス実装クラス
+ *
+ * 集計値は不変スナップショットとして保持し、以下のタイミングで更新する。
+ * - 定期実行（app.dashboard.statistics.refresh-interval-ms）による全件再集計
+ * - AT部品の登録・削除コミット後の差分反映
+ * - ユーザー変更後のユーザー件数のみの再集計
+ * - 他ノードでの変更検知（cache_versions）時の再集計（自ノードの変更のみの場合は差分反映済みのため行わない）
+ *
+ * 再集計と差分反映が同時に走った場合の誤差は次回の定期再集計で解消される。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardStatisticsServiceImpl implements DashboardStatisticsService {
+
+    private static final String ROLE_ADMIN = "ROLE_ADMIN";
+    private static final String ROLE_USER = "ROLE_USER";
+
+    private final AutomaticPartRepository automaticPartRepository;
+    private final UserRepository userRepository;
+
+    private final AtomicReference<DashboardStatistics> snapshot = new AtomicReference<>();
+
+    @Override
+    public DashboardStatistics getStatistics() {
+        DashboardStatistics current = snapshot.get();
+        return current != null ? current : refresh();
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${app.dashboard.statistics.initial-delay-ms:0}",
+               fixedDelayString = "${app.dashboard.statistics.refresh-interval-ms:300000}")
+    public DashboardStatistics refresh() {
+        DashboardStatistics statistics = new DashboardStatistics(
+            automaticPartRepository.count(),
+            userRepository.count(),
+            userRepository.countByRoleName(ROLE_ADMIN),
+            userRepository.countByRoleName(ROLE_USER),
+            LocalDateTime.now());
+
+        snapshot.set(statistics);
+        log.debug("ダッシュボード統計を再集計: {}", statistics);
+        return statistics;
+    }
+
+    @Override
+    public void refreshUserCounts() {
+        long totalUsers = userRepository.count();
+        long adminUsers = userRepository.countByRoleName(ROLE_ADMIN);
+        long regularUsers = userRepository.countByRoleName(ROLE_USER);
+
+        DashboardStatistics updated = snapshot.updateAndGet(current -> current == null ? null
+            : new DashboardStatistics(current.totalParts(), totalUsers, adminUsers, regularUsers, LocalDateTime.now()));
+        if (updated == null) {
+            refresh();
+        }
+    }
+
+    /**
+     * AT部品変更イベント受信（コミット後）
+     * 登録・削除件数を登録部品数に差分反映する
+     * @param event AT部品変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPartChanged(PartChangedEvent event) {
+        long delta = switch (event.changeType()) {
+            case CREATED -> event.partIds().size();
+            case DELETED -> -event.partIds().size();
+            case UPDATED -> 0;
+        };
+        if (delta != 0) {
+            snapshot.updateAndGet(current -> current == null ? null : current.withPartDelta(delta));
+        }
+    }
+
+    /**
+     * ユーザー変更イベント受信（コミット後）
+     * ユーザー件数は少量のため権限別件数を含めて再集計する
+     * @param event ユーザー変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        refreshUserCounts();
+    }
+
+    /**
+     * 他ノードの変更検知時の再集計
+     * 他ノードの差分は受け取れないため、該当する統計を再集計する
+     * 自ノードの変更のみの場合は {@link #onPartChanged}・{@link #onUserChanged} で反映済みのため何もしない
+     * @param event キャッシュリージョン変更イベント
+     */
+    @EventListener
+    public void onCacheRegionChanged(CacheRegionChangedEvent event) {
+        if (snapshot.get() == null || !event.remote()) {
+            return;
+        }
+        if (CacheVersion.REGION_PARTS.equals(event.region())) {
+            refresh();
+        } else if (CacheVersion.REGION_USERS.equals(event.region())) {
+            refreshUserCounts();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.automatictransmissionpartsinventory.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.automatictransmissionpartsinventory.cache.CatalogSnapshotService;
+import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.dto.PartField;
+import com.example.automatictransmissionpartsinventory.dto.PartFieldRow;
+import com.example.automatictransmissionpartsinventory.dto.PartKeysetPage;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+import com.example.automatictransmissionpartsinventory.dto.PartLookupResponse;
+import com.example.automatictransmissionpartsinventory.dto.PartSnapshotEntry;
+import com.example.automatictransmissionpartsinventory.json.PartJsonWriter;
+import com.example.automatictransmissionpartsinventory.repository.AutomaticPartRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AT部品 REST API（/api/v1/parts）のサービス
+ *
+ * 一覧はID順のキーセット方式で取得し、件数が増えても後ろのページの取得コストが変わらない。
+ * NDJSON形式の出力はデータベースのカーソルから1行ずつ読み出して書き込むため、
+ * 件数に関係なくサーバーのメモリ使用量は一定となる。
+ * 項目の指定（fields）がある場合は、指定項目の列のみを取得・出力する。
+ * 画面の一覧ページAPI・高度検索APIの fields 指定（ページ番号方式）にも使用する。
+ * 部品番号の一括照会（部品表の見積もり用）は、カタログスナップショットでまとめて解決する。
+ */
+@Slf4j
+@Service
+public class PartApiService {
+
+    /** NDJSON出力で応答をクライアントへ送り出す間隔（行数） */
+    private static final int STREAM_FLUSH_INTERVAL = 1000;
+
+    private final AutomaticPartRepository automaticPartRepository;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public PartApiService(AutomaticPartRepository automaticPartRepository,
+                          CatalogSnapshotService catalogSnapshotService,
+                          PlatformTransactionManager transactionManager,
+                          ObjectMapper objectMapper) {
+        this.automaticPartRepository = automaticPartRepository;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 検索条件に一致するAT部品を、指定IDより後ろからID順に取得
+     * @param criteria 検索条件（並び替え・ページ指定は無視する）
+     * @param afterId このIDより後ろを取得する
+     * @param limit 最大件数
+     * @return キーセット方式のページ
+     */
+    public PartKeysetPage<PartListRow> findPage(AdvancedSearchCriteria criteria, long afterId, int limit) {
+        List<PartListRow> items = readOnlyTransaction.execute(status ->
+            automaticPartRepository.findListRowsAfter(normalize(criteria), afterId, limit));
+        Long nextAfter = items.size() == limit ? items.get(items.size() - 1).id() : null;
+        return new PartKeysetPage<>(items, limit, nextAfter);
+    }
+
+    /**
+     * 検索条件に一致するAT部品の指定項目のみを、指定IDより後ろからID順に取得
+     * 指定項目の列のみをSELECTする
+     * @param criteria 検索条件（並び替え・ページ指定は無視する）
+     * @param fields 取得する項目（{@link PartField#parse} の結果）
+     * @param afterId このIDより後ろを取得する
+     * @param limit 最大件数
+     * @return キーセット方式のページ
+     */
+    public PartKeysetPage<PartFieldRow> findPage(AdvancedSearchCriteria criteria, List<PartField> fields,
+                                                 long afterId, int limit) {
+        List<PartFieldRow> items = readOnlyTransaction.execute(status ->
+            automaticPartRepository.findFieldRowsAfter(normalize(criteria), fields, afterId, limit));
+        Long nextAfter = items.size() == limit ? items.get(items.size() - 1).id() : null;
+        return new PartKeysetPage<>(items, limit, nextAfter);
+    }
+
+    /**
+     * 検索条件に一致するAT部品の指定項目のみをページ単位で取得
+     * 並び替え・ページ指定は一覧表示用の射影と同一（{@link AutomaticPartRepository#listRowPageable}）
+     * @param criteria 検索条件（アーカイブを含む指定は無視する）
+     * @param fields 取得する項目（{@link PartField#parse} の結果）
+     * @return 指定項目のみの行
+     */
+    public Page<PartFieldRow> findFieldRowPage(AdvancedSearchCriteria criteria, List<PartField> fields) {
+        AdvancedSearchCriteria normalized = normalize(criteria);
+        return readOnlyTransaction.execute(status -> automaticPartRepository.findFieldRows(
+            normalized, fields, automaticPartRepository.listRowPageable(normalized)));
+    }
+
+    /**
+     * 検索条件に一致するAT部品を、指定IDより後ろからID順にNDJSON形式（1行1件）で書き込む
+     * @param criteria 検索条件（並び替え・ページ指定は無視する）
+     * @param afterId このIDより後ろを出力する（中断した出力の再開に使用）
+     * @param out 出力先
+     * @return 出力件数
+     * @throws IOException 出力先への書き込みに失敗した場合（クライアントの切断など）
+     */
+    public long writeNdjson(AdvancedSearchCriteria criteria, long afterId, OutputStream out) throws IOException {
+        return writeNdjson(criteria, null, afterId, out);
+    }
+
+    /**
+     * 検索条件に一致するAT部品の指定項目のみを、指定IDより後ろからID順にNDJSON形式（1行1件）で書き込む
+     * @param criteria 検索条件（並び替え・ページ指定は無視する）
+     * @param fields 出力する項目（{@link PartField#parse} の結果、nullの場合は一覧表示用の全項目）
+     * @param afterId このIDより後ろを出力する（中断した出力の再開に使用）
+     * @param out 出力先
+     * @return 出力件数
+     * @throws IOException 出力先への書き込みに失敗した場合（クライアントの切断など）
+     */
+    public long writeNdjson(AdvancedSearchCriteria criteria, List<PartField> fields, long afterId,
+                            OutputStream out) throws IOException {
+        AdvancedSearchCriteria normalized = normalize(criteria);
+        long started = System.currentTimeMillis();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Long count = readOnlyTransaction.execute(status -> {
+                if (fields != null) {
+                    try (Stream<PartFieldRow> rows = automaticPartRepository.streamFieldRowsAfter(normalized, fields, afterId)) {
+                        return writeNdjsonRows(generator, rows, PartJsonWriter::write);
+                    }
+                }
+                try (Stream<PartListRow> rows = automaticPartRepository.streamListRowsAfter(normalized, afterId)) {
+                    return writeNdjsonRows(generator, rows, PartJsonWriter::write);
+                }
+            });
+
+            log.info("AT部品のNDJSON出力完了: {}件, {}ms", count, System.currentTimeMillis() - started);
+            return count != null ? count : 0;
+
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> long writeNdjsonRows(JsonGenerator generator, Stream<T> rows, RowWriter<T> rowWriter) {
+        long written = 0;
+        try {
+            for (T row : (Iterable<T>) rows::iterator) {
+                // 1行ごとのフラッシュは行わず、STREAM_FLUSH_INTERVAL 行ごとにまとめて送り出す
+                rowWriter.write(generator, row);
+                generator.writeRaw('\n');
+                if (++written % STREAM_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
+    }
+
+    /**
+     * 1行分のJSON出力処理
+     */
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(JsonGenerator generator, T row) throws IOException;
+    }
+
+    /**
+     * 部品番号の一括照会
+     * カタログスナップショット（未作成の場合は一定件数ずつの IN 検索）でまとめて解決し、
+     * 部品番号ごとに1回ずつ問い合わせることはしない
+     * @param partNumbers 部品番号（前後の空白は無視する。重複可）
+     * @return 要求と同じ順序の照会結果
+     */
+    public PartLookupResponse lookup(List<String> partNumbers) {
+        long started = System.currentTimeMillis();
+        List<String> trimmed = partNumbers.stream()
+            .map(partNumber -> partNumber != null ? partNumber.trim() : "")
+            .toList();
+
+        Map<String, PartSnapshotEntry> found = catalogSnapshotService.findByPartNumbers(
+            trimmed.stream().filter(partNumber -> !partNumber.isEmpty()).collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        List<PartLookupResponse.Item> items = new ArrayList<>(trimmed.size());
+        Set<String> missing = new LinkedHashSet<>();
+        int foundCount = 0;
+        for (String partNumber : trimmed) {
+            PartSnapshotEntry part = found.get(partNumber);
+            if (part != null) {
+                foundCount++;
+            } else {
+                missing.add(partNumber);
+            }
+            items.add(new PartLookupResponse.Item(partNumber, part != null, part));
+        }
+
+        log.info("部品番号の一括照会: 要求={}件, 該当={}件, 該当なし={}件, {}ms",
+            trimmed.size(), foundCount, trimmed.size() - foundCount, System.currentTimeMillis() - started);
+        return new PartLookupResponse(items, foundCount, List.copyOf(missing));
+    }
+
+    /**
+     * 空文字の検索条件を未指定として扱う
+     */
+    private static AdvancedSearchCriteria normalize(AdvancedSearchCriteria criteria) {
+        AdvancedSearchCriteria normalized = criteria != null ? criteria : new AdvancedSearchCriteria();
+        normalized.setPartNumber(blankToNull(normalized.getPartNumber()));
+        normalized.setPartName(blankToNull(normalized.getPartName()));
+        normalized.setManufacturer(blankToNull(normalized.getManufacturer()));
+        normalized.setCategoryName(blankToNull(normalized.getCategoryName()));
+        return normalized;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.automatictransmissionpartsinventory.service.impl;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.automatictransmissionpartsinventory.cache.CatalogSnapshotService;
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+import com.example.automatictransmissionpartsinventory.exception.ServiceException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AT部品のアーカイブサービス
+ *
+ * 廃番の部品を automotive_parts から automotive_parts_archive へ少量ずつ移動する（夜間バッチ）。
+ * app.parts.archive.inactive-days を指定した場合は、最終更新からその日数が経過した部品も移動する（既定は無効）。
+ * 1回分の移動（対象行のロック → アーカイブへの複写 → 削除）を1トランザクションで行い、
+ * 回ごとに待機して通常の更新処理への影響を抑える。
+ * 変更記録（アウトボックス・削除記録）も同じトランザクションで追加し、
+ * キャッシュ等を更新する変更通知は全件の移動後に1回だけ発行する。
+ * 論理削除済みの部品は対象外（保存期間の経過後に物理削除される）。
+ *
+ * アーカイブした部品は {@link #restorePart(Long)} で automotive_parts へ戻せる。
+ */
+@Slf4j
+@Service
+public class PartArchiveService {
+
+    private static final String COLUMNS =
+        "id, part_number, part_name, price, category_id, description, manufacturer, " +
+        "created_at, updated_at, version, discontinued";
+
+    private static final String SELECT_CANDIDATES_SQL =
+        "SELECT id FROM automotive_parts " +
+        "WHERE deleted_at IS NULL AND (%s) AND id > ? " +
+        "ORDER BY id LIMIT ? FOR UPDATE";
+
+    private static final String DISCONTINUED_CONDITION = "discontinued = TRUE";
+    private static final String DISCONTINUED_OR_INACTIVE_CONDITION = "discontinued = TRUE OR updated_at < ?";
+
+    private static final String COPY_SQL =
+        "INSERT INTO automotive_parts_archive (" + COLUMNS + ", archived_at) " +
+        "SELECT " + COLUMNS + ", ? FROM automotive_parts WHERE id IN (%s)";
+
+    private static final String DELETE_SQL =
+        "DELETE FROM automotive_parts WHERE id IN (%s)";
+
+    private static final String SELECT_ARCHIVED_PART_NUMBER_SQL =
+        "SELECT part_number FROM automotive_parts_archive WHERE id = ? FOR UPDATE";
+
+    private static final String COUNT_ACTIVE_PART_NUMBER_SQL =
+        "SELECT COUNT(*) FROM automotive_parts WHERE part_number = ? AND deleted_at IS NULL";
+
+    // 廃番を解除し、更新日時を復元日時にして戻す（次回のアーカイブ処理の対象にしない）
+    private static final String RESTORE_SQL =
+        "INSERT INTO automotive_parts (" + COLUMNS + ") " +
+        "SELECT id, part_number, part_name, price, category_id, description, manufacturer, " +
+        "created_at, ?, version + 1, FALSE FROM automotive_parts_archive WHERE id = ?";
+
+    private static final String DELETE_ARCHIVED_SQL =
+        "DELETE FROM automotive_parts_archive WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartHistoryService partHistoryService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int inactiveDays;
+    private final int batchSize;
+    private final Duration pause;
+
+    public PartArchiveService(JdbcTemplate jdbcTemplate,
+                              PartHistoryService partHistoryService,
+                              CatalogSnapshotService catalogSnapshotService,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${app.parts.archive.inactive-days:0}") int inactiveDays,
+                              @Value("${app.parts.archive.batch-size:200}") int batchSize,
+                              @Value("${app.parts.archive.pause-ms:100}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partHistoryService = partHistoryService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.inactiveDays = inactiveDays;
+        this.batchSize = batchSize;
+        this.pause = Duration.ofMillis(pauseMs);
+    }
+
+    /**
+     * 廃番の部品（指定した場合は長期間更新されていない部品も）をアーカイブテーブルへ移動（夜間バッチ）
+     * 処理途中でエラーが発生した場合も、それまでに移動した分は確定し、変更通知を発行する
+     * @return 移動件数
+     */
+    @Scheduled(cron = "${app.parts.archive.cron:0 0 2 * * *}")
+    public int archiveParts() {
+        Timestamp cutoff = inactiveDays > 0 ? Timestamp.valueOf(LocalDateTime.now().minusDays(inactiveDays)) : null;
+        long started = System.currentTimeMillis();
+        List<Long> archivedIds = new ArrayList<>();
+        long afterId = 0L;
+
+        try {
+            while (true) {
+                long from = afterId;
+                List<Long> ids = transactionTemplate.execute(status -> moveBatch(cutoff, from));
+                if (ids == null || ids.isEmpty()) {
+                    break;
+                }
+                archivedIds.addAll(ids);
+                afterId = ids.get(ids.size() - 1);
+                if (ids.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(pause);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (DataAccessException e) {
+            log.error("AT部品のアーカイブに失敗しました: 完了{}件", archivedIds.size(), e);
+        } finally {
+            if (!archivedIds.isEmpty()) {
+                eventPublisher.publishEvent(PartChangedEvent.recorded(PartChangedEvent.ChangeType.DELETED, archivedIds));
+            }
+        }
+
+        if (!archivedIds.isEmpty()) {
+            log.info("AT部品のアーカイブ完了: {}件（廃番{}）, {}ms", archivedIds.size(),
+                     cutoff != null ? "または" + cutoff + "以前に更新" : "", System.currentTimeMillis() - started);
+        }
+        return archivedIds.size();
+    }
+
+    /**
+     * アーカイブした部品を automotive_parts へ戻す
+     * 廃番は解除し、更新日時は復元日時とする
+     * @param id 部品ID
+     * @throws ServiceException アーカイブに存在しない場合、同じ部品番号の部品が登録済みの場合
+     */
+    public void restorePart(Long id) throws ServiceException {
+        log.info("AT部品のアーカイブからの復元開始: ID={}", id);
+
+        String partNumber;
+        try {
+            partNumber = transactionTemplate.execute(status -> {
+                List<String> partNumbers = jdbcTemplate.queryForList(SELECT_ARCHIVED_PART_NUMBER_SQL, String.class, id);
+                if (partNumbers.isEmpty()) {
+                    return null;
+                }
+                // 同時に登録された場合は部品番号の一意制約で同じ例外となる
+                Long count = jdbcTemplate.queryForObject(COUNT_ACTIVE_PART_NUMBER_SQL, Long.class, partNumbers.get(0));
+                if (count != null && count > 0) {
+                    throw new DuplicateKeyException("部品番号が登録済み: " + partNumbers.get(0));
+                }
+
+                jdbcTemplate.update(RESTORE_SQL, Timestamp.valueOf(LocalDateTime.now()), id);
+                jdbcTemplate.update(DELETE_ARCHIVED_SQL, id);
+                partHistoryService.append(PartChangedEvent.ChangeType.CREATED, List.of(id));
+                return partNumbers.get(0);
+            });
+        } catch (DuplicateKeyException e) {
+            throw new ServiceException(
+                "同じ部品番号のAT部品が登録されているため、ID " + id + " のAT部品を復元できません。",
+                ServiceException.DUPLICATE_PART_NUMBER,
+                e
+            );
+        } catch (DataAccessException e) {
+            log.error("AT部品のアーカイブからの復元中にデータベースエラーが発生: {}", e.getMessage());
+            throw new ServiceException(
+                "AT部品のアーカイブからの復元中にエラーが発生しました。",
+                ServiceException.DATABASE_ERROR,
+                e
+            );
+        }
+        if (partNumber == null) {
+            throw new ServiceException(
+                "ID " + id + " のアーカイブ済みAT部品が見つかりません。",
+                ServiceException.PART_NOT_FOUND
+            );
+        }
+
+        eventPublisher.publishEvent(PartChangedEvent.recorded(PartChangedEvent.ChangeType.CREATED, List.of(id)));
+        log.info("AT部品のアーカイブからの復元完了: ID={}, 部品番号={}", id, partNumber);
+    }
+
+    /**
+     * 1回分の移動（変更記録・削除記録の追加を含む）
+     * @param cutoff この日時より前に更新された部品も対象とする（nullの場合は廃番の部品のみ）
+     * @param afterId このIDより後ろの部品を対象とする
+     * @return 移動した部品のID（ID順）
+     */
+    private List<Long> moveBatch(Timestamp cutoff, long afterId) {
+        List<Long> ids = cutoff != null
+            ? jdbcTemplate.queryForList(String.format(SELECT_CANDIDATES_SQL, DISCONTINUED_OR_INACTIVE_CONDITION),
+                                        Long.class, cutoff, afterId, batchSize)
+            : jdbcTemplate.queryForList(String.format(SELECT_CANDIDATES_SQL, DISCONTINUED_CONDITION),
+                                        Long.class, afterId, batchSize);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        List<Object> copyArgs = new ArrayList<>();
+        copyArgs.add(Timestamp.valueOf(LocalDateTime.now()));
+        copyArgs.addAll(ids);
+        jdbcTemplate.update(String.format(COPY_SQL, placeholders), copyArgs.toArray());
+        jdbcTemplate.update(String.format(DELETE_SQL, placeholders), ids.toArray());
+        partHistoryService.append(PartChangedEvent.ChangeType.DELETED, ids);
+        catalogSnapshotService.recordTombstones(ids);
+        return ids;
+    }
+}
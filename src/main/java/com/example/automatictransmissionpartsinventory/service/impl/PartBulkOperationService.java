@@ -0,0 +1,390 @@
+package com.example.automatictransmissionpartsinventory.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.automatictransmissionpartsinventory.cache.CatalogSnapshotService;
+import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.dto.BulkDeleteRequest;
+import com.example.automatictransmissionpartsinventory.dto.BulkPartFilter;
+import com.example.automatictransmissionpartsinventory.dto.BulkPriceAdjustmentRequest;
+import com.example.automatictransmissionpartsinventory.entity.Category;
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+import com.example.automatictransmissionpartsinventory.exception.ServiceException;
+import com.example.automatictransmissionpartsinventory.repository.AutomaticPartRepository;
+import com.example.automatictransmissionpartsinventory.service.CategoryService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AT部品の一括操作サービス
+ *
+ * 対象をID順に一定件数ずつ取得し、件数ごとに短いトランザクションでSQLを1文実行する。
+ * 1トランザクションで全件を更新しないため、行ロックの保持時間を抑えられる。
+ * 各回のトランザクションでは、まず対象のうち変更可能な行（未削除など）をロックして確定し、その行だけを変更する。
+ * 変更記録（アウトボックス・削除記録）は確定した行について各回の変更と同じトランザクションで追加し、
+ * キャッシュ等を更新する変更通知（{@link PartChangedEvent}）は全件の処理後に1回だけ発行する。
+ *
+ * 論理削除された部品は保存期間（app.parts.purge.retention-days）の経過後、
+ * 夜間バッチで少量ずつ物理削除する。
+ */
+@Slf4j
+@Service
+public class PartBulkOperationService {
+
+    private static final String UPDATE_PRICE_SQL =
+        "UPDATE automotive_parts " +
+        "SET price = GREATEST(%s((price * ? + ?) / ?) * ?, 0), updated_at = ?, version = version + 1 " +
+        "WHERE price IS NOT NULL AND id IN (%s)";
+
+    private static final String SELECT_TARGETS_SQL =
+        "SELECT id FROM automotive_parts WHERE %s AND id IN (%s) ORDER BY id FOR UPDATE";
+
+    /** 削除の対象条件（存在しないID・論理削除済みの部品は対象外） */
+    private static final String ACTIVE_CONDITION = "deleted_at IS NULL";
+
+    /** 価格調整の対象条件（価格未設定の部品は UPDATE_PRICE_SQL で更新されないため対象外） */
+    private static final String PRICED_CONDITION = "deleted_at IS NULL AND price IS NOT NULL";
+
+    private static final String PURGE_SQL =
+        "DELETE FROM automotive_parts WHERE deleted_at IS NOT NULL AND deleted_at < ? ORDER BY id LIMIT ?";
+
+    private final AutomaticPartRepository automaticPartRepository;
+    private final CategoryService categoryService;
+    private final PartHistoryService partHistoryService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final boolean softDeleteByDefault;
+    private final int purgeRetentionDays;
+    private final int purgeBatchSize;
+    private final Duration purgePause;
+
+    public PartBulkOperationService(AutomaticPartRepository automaticPartRepository,
+                                    CategoryService categoryService,
+                                    PartHistoryService partHistoryService,
+                                    CatalogSnapshotService catalogSnapshotService,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${app.bulk.chunk-size:500}") int chunkSize,
+                                    @Value("${app.parts.soft-delete.enabled:false}") boolean softDeleteByDefault,
+                                    @Value("${app.parts.purge.retention-days:30}") int purgeRetentionDays,
+                                    @Value("${app.parts.purge.batch-size:200}") int purgeBatchSize,
+                                    @Value("${app.parts.purge.pause-ms:100}") long purgePauseMs) {
+        this.automaticPartRepository = automaticPartRepository;
+        this.categoryService = categoryService;
+        this.partHistoryService = partHistoryService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.softDeleteByDefault = softDeleteByDefault;
+        this.purgeRetentionDays = purgeRetentionDays;
+        this.purgeBatchSize = purgeBatchSize;
+        this.purgePause = Duration.ofMillis(purgePauseMs);
+    }
+
+    /**
+     * 絞り込み条件に一致するAT部品の価格を一括調整
+     * 処理途中でエラーが発生した場合も、それまでに完了した分の変更は確定し、変更通知を発行する
+     * @param request 一括価格調整の要求
+     * @return 処理結果（affectedRows: 更新件数、chunks: 実行回数、elapsedMs: 処理時間）
+     * @throws ServiceException 要求が不正な場合、またはデータベースエラー時
+     */
+    public Map<String, Object> adjustPrices(BulkPriceAdjustmentRequest request) throws ServiceException {
+        validatePriceRequest(request);
+
+        BigDecimal value = request.getValue();
+        BigDecimal factor = request.getAdjustmentType() == BulkPriceAdjustmentRequest.AdjustmentType.PERCENT
+            ? BigDecimal.ONE.add(value.movePointLeft(2))
+            : BigDecimal.ONE;
+        BigDecimal offset = request.getAdjustmentType() == BulkPriceAdjustmentRequest.AdjustmentType.ABSOLUTE
+            ? value
+            : BigDecimal.ZERO;
+        BigDecimal unit = request.getRoundingUnit() != null ? request.getRoundingUnit() : BigDecimal.ONE;
+        BulkPriceAdjustmentRequest.Rounding rounding = request.getRounding() != null
+            ? request.getRounding() : BulkPriceAdjustmentRequest.Rounding.HALF_UP;
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+
+        log.info("一括価格調整開始: 条件={}, 方法={}, 値={}, 丸め={}/{}",
+                 request.getFilter(), request.getAdjustmentType(), value, rounding, unit);
+
+        return executeInChunks(filterChunks(request.getFilter()), "価格調整", PartChangedEvent.ChangeType.UPDATED,
+                               PRICED_CONDITION, ids -> {
+            List<Object> args = new ArrayList<>(List.of(factor, offset, unit, unit, updatedAt));
+            args.addAll(ids);
+            String sql = String.format(UPDATE_PRICE_SQL, rounding.getSqlFunction(), placeholders(ids.size()));
+            jdbcTemplate.update(sql, args.toArray());
+        });
+    }
+
+    /**
+     * AT部品を一括削除
+     * 対象はID指定または絞り込み条件のいずれか（両方指定時はID指定を優先）
+     * 論理削除の場合は即時に非表示となり、保存期間の経過後に {@link #purgeSoftDeleted()} で物理削除される
+     * @param request 一括削除の要求
+     * @return 処理結果（affectedRows: 削除件数、chunks: 実行回数、elapsedMs: 処理時間、softDelete: 論理削除か）
+     * @throws ServiceException 要求が不正な場合、またはデータベースエラー時
+     */
+    public Map<String, Object> deleteParts(BulkDeleteRequest request) throws ServiceException {
+        boolean hasIds = request != null && request.getIds() != null && !request.getIds().isEmpty();
+        if (!hasIds && (request == null || request.getFilter() == null || request.getFilter().isEmpty())) {
+            throw new ServiceException("削除対象のIDまたは絞り込み条件を指定してください。", ServiceException.VALIDATION_ERROR);
+        }
+
+        boolean softDelete = request.getSoftDelete() != null ? request.getSoftDelete() : softDeleteByDefault;
+        log.info("一括削除開始: ID指定={}件, 条件={}, 論理削除={}",
+                 hasIds ? request.getIds().size() : 0, request.getFilter(), softDelete);
+
+        ChunkSource source = hasIds ? idChunks(request.getIds()) : filterChunks(request.getFilter());
+        Map<String, Object> result;
+        if (softDelete) {
+            LocalDateTime deletedAt = LocalDateTime.now();
+            result = executeInChunks(source, "論理削除", PartChangedEvent.ChangeType.DELETED, ACTIVE_CONDITION,
+                ids -> automaticPartRepository.softDeleteByIds(ids, deletedAt));
+        } else {
+            result = executeInChunks(source, "削除", PartChangedEvent.ChangeType.DELETED, ACTIVE_CONDITION,
+                automaticPartRepository::deleteByIdIn);
+        }
+        result.put("softDelete", softDelete);
+        return result;
+    }
+
+    /**
+     * 論理削除済みAT部品の物理削除（夜間バッチ）
+     * 保存期間を経過した部品を少量ずつ削除し、1文ごとにコミットする
+     * @return 削除件数
+     */
+    @Scheduled(cron = "${app.parts.purge.cron:0 30 2 * * *}")
+    public int purgeSoftDeleted() {
+        LocalDateTime threshold = LocalDateTime.now().minusDays(purgeRetentionDays);
+        long started = System.currentTimeMillis();
+        int purged = 0;
+
+        try {
+            while (true) {
+                int deleted = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(threshold), purgeBatchSize);
+                purged += deleted;
+                if (deleted < purgeBatchSize) {
+                    break;
+                }
+                Thread.sleep(purgePause);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (DataAccessException e) {
+            log.error("論理削除済みAT部品の物理削除に失敗しました: 完了{}件", purged, e);
+        }
+
+        if (purged > 0) {
+            log.info("論理削除済みAT部品の物理削除完了: {}件（{}以前に削除）, {}ms",
+                     purged, threshold, System.currentTimeMillis() - started);
+        }
+        return purged;
+    }
+
+    /**
+     * 対象IDを一定件数ずつ取得し、件数ごとに別トランザクションで処理する
+     * 各回のトランザクションでは対象条件に一致する行をロックして確定し、確定した行のみを変更・記録する
+     * （存在しないID・論理削除済みの部品などに変更記録・削除記録・変更通知を出さない）。
+     * 変更記録は各回のトランザクション内で追加するため、途中でエラーが発生しても反映済みの分は記録される
+     * @param source 対象IDの取得方法
+     * @param operationName ログ・エラーメッセージ用の操作名
+     * @param changeType 変更通知の種類
+     * @param targetCondition 変更対象とする行の条件（SQLのWHERE句）
+     * @param chunkOperation 1回分の処理（確定した対象IDを受け取り、変更する）
+     * @return 処理結果
+     */
+    private Map<String, Object> executeInChunks(ChunkSource source, String operationName,
+                                                PartChangedEvent.ChangeType changeType,
+                                                String targetCondition,
+                                                ChunkOperation chunkOperation) throws ServiceException {
+        long started = System.currentTimeMillis();
+        List<Long> processedIds = new ArrayList<>();
+        int affectedRows = 0;
+        int chunks = 0;
+        long afterId = 0L;
+
+        try {
+            while (true) {
+                List<Long> ids = source.next(afterId);
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                List<Long> targets = transactionTemplate.execute(status -> {
+                    List<Long> locked = jdbcTemplate.queryForList(
+                        String.format(SELECT_TARGETS_SQL, targetCondition, placeholders(ids.size())),
+                        Long.class, ids.toArray());
+                    if (locked.isEmpty()) {
+                        return locked;
+                    }
+                    chunkOperation.apply(locked);
+                    partHistoryService.append(changeType, locked);
+                    if (changeType == PartChangedEvent.ChangeType.DELETED) {
+                        catalogSnapshotService.recordTombstones(locked);
+                    }
+                    return locked;
+                });
+                int updated = targets != null ? targets.size() : 0;
+                affectedRows += updated;
+                chunks++;
+                if (updated > 0) {
+                    processedIds.addAll(targets);
+                }
+                afterId = ids.get(ids.size() - 1);
+
+                log.debug("一括{}: {}回目 対象{}件 変更{}件", operationName, chunks, ids.size(), updated);
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("一括{}中にデータベースエラーが発生: 完了{}件", operationName, affectedRows, e);
+            throw new ServiceException(
+                "一括" + operationName + "中にエラーが発生しました（" + affectedRows + "件は反映済み）。",
+                ServiceException.DATABASE_ERROR,
+                e
+            );
+        } finally {
+            if (!processedIds.isEmpty()) {
+                eventPublisher.publishEvent(PartChangedEvent.recorded(changeType, processedIds));
+            }
+        }
+
+        long elapsedMs = System.currentTimeMillis() - started;
+        log.info("一括{}完了: 変更{}件, 実行{}回, {}ms", operationName, affectedRows, chunks, elapsedMs);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("affectedRows", affectedRows);
+        result.put("chunks", chunks);
+        result.put("elapsedMs", elapsedMs);
+        return result;
+    }
+
+    /**
+     * 絞り込み条件に一致するIDをID順に取得する
+     */
+    private ChunkSource filterChunks(BulkPartFilter filter) throws ServiceException {
+        AdvancedSearchCriteria criteria = filter.getCriteria() != null ? filter.getCriteria() : new AdvancedSearchCriteria();
+        String partNumberPrefix = blankToNull(filter.getPartNumberPrefix());
+        String escapedPartNumberPrefix = partNumberPrefix != null ? escapeLike(partNumberPrefix) : null;
+        String subtreePathPrefix = resolveSubtreePathPrefix(filter.getCategoryId());
+
+        return afterId -> automaticPartRepository.findIdsForBulkOperation(
+            blankToNull(criteria.getPartNumber()),
+            blankToNull(criteria.getPartName()),
+            blankToNull(criteria.getManufacturer()),
+            criteria.getCategoryId(),
+            blankToNull(criteria.getCategoryName()),
+            criteria.getMinPrice(),
+            criteria.getMaxPrice(),
+            criteria.getCreatedAfterAsDateTime(),
+            criteria.getCreatedBeforeAsDateTime(),
+            criteria.getUpdatedAfterAsDateTime(),
+            criteria.getUpdatedBeforeAsDateTime(),
+            blankToNull(filter.getManufacturer()),
+            escapedPartNumberPrefix,
+            filter.getCategoryId(),
+            subtreePathPrefix,
+            afterId,
+            Limit.of(chunkSize));
+    }
+
+    /**
+     * 指定されたIDを重複を除いてID順に分割する
+     */
+    private ChunkSource idChunks(Collection<Long> ids) {
+        NavigableSet<Long> sorted = new TreeSet<>();
+        ids.stream().filter(Objects::nonNull).forEach(sorted::add);
+        return afterId -> sorted.tailSet(afterId, false).stream().limit(chunkSize).toList();
+    }
+
+    private void validatePriceRequest(BulkPriceAdjustmentRequest request) throws ServiceException {
+        if (request == null || request.getFilter() == null || request.getFilter().isEmpty()) {
+            throw new ServiceException("絞り込み条件を1つ以上指定してください。", ServiceException.VALIDATION_ERROR);
+        }
+        if (request.getAdjustmentType() == null || request.getValue() == null) {
+            throw new ServiceException("調整方法と調整値は必須です。", ServiceException.VALIDATION_ERROR);
+        }
+        if (request.getAdjustmentType() == BulkPriceAdjustmentRequest.AdjustmentType.PERCENT
+                && request.getValue().compareTo(BigDecimal.valueOf(-100)) < 0) {
+            throw new ServiceException("値下げ率は100%以下で指定してください。", ServiceException.VALIDATION_ERROR);
+        }
+        if (request.getRoundingUnit() != null && request.getRoundingUnit().signum() <= 0) {
+            throw new ServiceException("丸め単位は0より大きい値を指定してください。", ServiceException.VALIDATION_ERROR);
+        }
+    }
+
+    /**
+     * カテゴリ配下の絞り込みに使用するフルパスの前方一致値を取得
+     * @param categoryId カテゴリID（nullの場合は絞り込まない）
+     * @return エスケープ済みの「フルパス + 区切り文字」（カテゴリ未指定の場合はnull）
+     * @throws ServiceException カテゴリが存在しない場合
+     */
+    private String resolveSubtreePathPrefix(Long categoryId) throws ServiceException {
+        if (categoryId == null) {
+            return null;
+        }
+        Category category = categoryService.findById(categoryId)
+            .orElseThrow(() -> new ServiceException(
+                "ID " + categoryId + " のカテゴリが見つかりません。", ServiceException.VALIDATION_ERROR));
+        return escapeLike(category.getFullPath() + Category.PATH_SEPARATOR);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * 一括操作の対象IDの取得方法
+     */
+    @FunctionalInterface
+    private interface ChunkSource {
+        /**
+         * 指定IDより後ろの対象IDをID順に最大 chunkSize 件取得
+         */
+        List<Long> next(long afterId);
+    }
+
+    /**
+     * 一括操作の1回分の処理（対象の行はロック済み）
+     */
+    @FunctionalInterface
+    private interface ChunkOperation {
+        void apply(List<Long> ids);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.automatictransmissionpartsinventory.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.automatictransmissionpartsinventory.dto.PartChangeRecord;
+import com.example.automatictransmissionpartsinventory.entity.PartHistory;
+import com.example.automatictransmissionpartsinventory.event.PartChangeConsumer;
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+import com.example.automatictransmissionpartsinventory.repository.PartHistoryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AT部品の変更履歴サービス（トランザクショナル・アウトボックス）
+ *
+ * - 書き込み側: AT部品の変更イベントを受けて、同一トランザクション内（コミット直前）で
+ *   変更記録を part_change_outbox へ1文で追加する。下流への配信は行わない
+ * - 取り込み側: 一定間隔ごとにアウトボックスを少量ずつ取り出し、part_history へ一括登録して
+ *   {@link PartChangeConsumer} へ配信したうえでアウトボックスから削除する
+ *   （SKIP LOCKED により、複数ノードで実行しても同じ記録を重複して取り込まない）
+ */
+@Slf4j
+@Service
+public class PartHistoryService {
+
+    private static final String APPEND_FROM_PARTS_SQL =
+        "INSERT INTO part_change_outbox (part_id, change_type, part_number, price, changed_at) " +
+        "SELECT id, ?, part_number, price, ? FROM automotive_parts WHERE id IN (%s)";
+
+    private static final String APPEND_DELETED_SQL =
+        "INSERT INTO part_change_outbox (part_id, change_type, changed_at) VALUES (?, ?, ?)";
+
+    private static final String SELECT_OUTBOX_SQL =
+        "SELECT id, part_id, change_type, part_number, price, changed_at FROM part_change_outbox " +
+        "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String INSERT_HISTORY_SQL =
+        "INSERT INTO part_history (part_id, change_type, part_number, price, changed_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String DELETE_OUTBOX_SQL =
+        "DELETE FROM part_change_outbox WHERE id IN (%s)";
+
+    /** 1文で追加するIDの上限（一括操作で大量のIDを含むイベントを分割する） */
+    private static final int APPEND_CHUNK_SIZE = 1000;
+
+    private final PartHistoryRepository partHistoryRepository;
+    private final ObjectProvider<PartChangeConsumer> consumers;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int drainBatchSize;
+
+    public PartHistoryService(PartHistoryRepository partHistoryRepository,
+                              ObjectProvider<PartChangeConsumer> consumers,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.parts.history.drain-batch-size:500}") int drainBatchSize) {
+        this.partHistoryRepository = partHistoryRepository;
+        this.consumers = consumers;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.drainBatchSize = drainBatchSize;
+    }
+
+    // ========================================
+    // 書き込み側: アウトボックスへの追加
+    // ========================================
+
+    /**
+     * 変更記録をアウトボックスへ追加（変更と同一トランザクション内、コミット直前）
+     * 変更処理の中で追加済みのイベント（{@link PartChangedEvent#recorded()}）は対象外
+     * @param event AT部品変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPartChanged(PartChangedEvent event) {
+        if (!event.recorded()) {
+            append(event.changeType(), event.partIds());
+        }
+    }
+
+    /**
+     * 変更記録をアウトボックスへ追加
+     * 登録・更新は変更後の部品番号・価格を部品テーブルから複写し、削除はIDのみを記録する。
+     * 変更と同じトランザクション内で呼び出すこと（複数トランザクションに分けて変更する一括操作・アーカイブ用）
+     * @param type 変更種別
+     * @param partIds 変更されたAT部品ID
+     */
+    public void append(PartChangedEvent.ChangeType type, List<Long> partIds) {
+        Timestamp changedAt = Timestamp.valueOf(LocalDateTime.now());
+        String changeType = type.name();
+
+        for (int from = 0; from < partIds.size(); from += APPEND_CHUNK_SIZE) {
+            List<Long> ids = partIds.subList(from, Math.min(from + APPEND_CHUNK_SIZE, partIds.size()));
+
+            if (type == PartChangedEvent.ChangeType.DELETED) {
+                jdbcTemplate.batchUpdate(APPEND_DELETED_SQL, ids, ids.size(),
+                    (ps, id) -> {
+                        ps.setLong(1, id);
+                        ps.setString(2, changeType);
+                        ps.setTimestamp(3, changedAt);
+                    });
+            } else {
+                List<Object> args = new ArrayList<>(List.of(changeType, changedAt));
+                args.addAll(ids);
+                jdbcTemplate.update(String.format(APPEND_FROM_PARTS_SQL, placeholders(ids.size())), args.toArray());
+            }
+        }
+    }
+
+    // ========================================
+    // 取り込み側: 変更履歴・下流への配信
+    // ========================================
+
+    /**
+     * アウトボックスの変更記録を取り込む
+     * 取り出した件数が上限に達した場合は、残りがなくなるまで続けて取り込む
+     * @return 取り込み件数
+     */
+    @Scheduled(fixedDelayString = "${app.parts.history.drain-interval-ms:1000}")
+    public int drainOutbox() {
+        int drained = 0;
+        try {
+            while (true) {
+                Integer count = transactionTemplate.execute(status -> drainBatch());
+                drained += count != null ? count : 0;
+                if (count == null || count < drainBatchSize) {
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("AT部品変更記録の取り込みに失敗しました: 完了{}件", drained, e);
+        } catch (RuntimeException e) {
+            log.error("AT部品変更記録の配信に失敗しました（次回に再送します）: 完了{}件", drained, e);
+        }
+
+        if (drained > 0) {
+            log.debug("AT部品変更記録の取り込み完了: {}件", drained);
+        }
+        return drained;
+    }
+
+    /**
+     * AT部品の変更履歴を取得（新しい順）
+     * @param partId AT部品ID
+     * @param limit 最大件数
+     * @return 変更履歴
+     */
+    public List<PartHistory> findHistory(Long partId, int limit) {
+        return partHistoryRepository.findByPartIdOrderByChangedAtDescIdDesc(partId, Limit.of(limit));
+    }
+
+    /**
+     * 1回分の取り込み（同一トランザクションで履歴登録・配信・アウトボックス削除）
+     * @return 取り込み件数
+     */
+    private int drainBatch() {
+        List<PartChangeRecord> records = jdbcTemplate.query(SELECT_OUTBOX_SQL,
+            (rs, rowNum) -> new PartChangeRecord(
+                rs.getLong("id"),
+                rs.getLong("part_id"),
+                PartChangedEvent.ChangeType.valueOf(rs.getString("change_type")),
+                rs.getString("part_number"),
+                rs.getBigDecimal("price"),
+                rs.getTimestamp("changed_at").toLocalDateTime()),
+            drainBatchSize);
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, records, records.size(),
+            (ps, record) -> {
+                ps.setLong(1, record.partId());
+                ps.setString(2, record.changeType().name());
+                ps.setString(3, record.partNumber());
+                ps.setBigDecimal(4, record.price());
+                ps.setTimestamp(5, Timestamp.valueOf(record.changedAt()));
+            });
+
+        consumers.orderedStream().forEach(consumer -> consumer.accept(records));
+
+        List<Long> outboxIds = records.stream().map(PartChangeRecord::outboxId).toList();
+        jdbcTemplate.update(String.format(DELETE_OUTBOX_SQL, placeholders(outboxIds.size())), outboxIds.toArray());
+        return records.size();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.automatictransmissionpartsinventory.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+import com.example.automatictransmissionpartsinventory.dto.PartSearchFacets;
+import com.example.automatictransmissionpartsinventory.exception.ServiceException;
+import com.example.automatictransmissionpartsinventory.repository.AutomaticPartRepository;
+import com.example.automatictransmissionpartsinventory.service.AutomaticPartService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 高度検索のライブ検索（Server-Sent Events）
+ *
+ * 表示ページの行を件数の集計を待たずに送り、続けて総件数・絞り込み候補を送る。
+ * - rows: 表示ページの行（件数取得のクエリは実行しない）
+ * - total: 総件数・総ページ数
+ * - facets: メーカー別・カテゴリ別件数
+ * - done: 完了 / error: 検索条件の不正・検索の失敗
+ * 同じ画面（検索ID）から次の検索が始まった場合や、クライアントの切断を検知した場合は、
+ * 実行中のクエリを取り消し（Statement#cancel、MySQLでは KILL QUERY）、以降の集計も行わない。
+ * 切断は一定間隔の keep-alive の送信失敗で検知する。
+ * keep-alive は専用のスレッドで送信し、夜間バッチなどの @Scheduled 処理と実行スレッドを共有しない
+ * （クエリ実行中にも送る必要があるため、検索処理のスレッドでは送信しない）。
+ */
+@Slf4j
+@Service
+public class PartLiveSearchService {
+
+    private final AutomaticPartRepository automaticPartRepository;
+    private final AutomaticPartService automaticPartService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AsyncTaskExecutor taskExecutor;
+    private final ThreadPoolTaskScheduler heartbeatScheduler;
+
+    /** 実行中の検索（キー: ユーザー名と検索ID） */
+    private final Map<String, LiveSearch> running = new ConcurrentHashMap<>();
+
+    /** 応答全体のタイムアウト（ミリ秒） */
+    @Value("${app.parts.live-search.timeout-ms:60000}")
+    private long timeoutMs;
+
+    /** keep-alive の送信間隔（ミリ秒） */
+    @Value("${app.parts.live-search.heartbeat-interval-ms:2000}")
+    private long heartbeatIntervalMs;
+
+    /** 絞り込み候補の最大件数（メーカー・カテゴリそれぞれ） */
+    @Value("${app.parts.live-search.facet-limit:10}")
+    private int facetLimit;
+
+    public PartLiveSearchService(AutomaticPartRepository automaticPartRepository,
+                                 AutomaticPartService automaticPartService,
+                                 EntityManagerFactory entityManagerFactory,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                 @Value("${app.parts.live-search.heartbeat-pool-size:2}") int heartbeatPoolSize) {
+        this.automaticPartRepository = automaticPartRepository;
+        this.automaticPartService = automaticPartService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.heartbeatScheduler = new ThreadPoolTaskScheduler();
+        this.heartbeatScheduler.setPoolSize(heartbeatPoolSize);
+        this.heartbeatScheduler.setThreadNamePrefix("live-search-heartbeat-");
+        this.heartbeatScheduler.initialize();
+    }
+
+    /**
+     * アプリケーション終了時に keep-alive の送信を停止
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdown();
+    }
+
+    /**
+     * ライブ検索を開始
+     * 同じキーで実行中の検索があれば取り消す
+     * @param searchKey 検索のキー（ユーザー名と画面ごとの検索ID）
+     * @param criteria 検索条件
+     * @return イベントの送信先
+     */
+    public SseEmitter start(String searchKey, AdvancedSearchCriteria criteria) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        LiveSearch search = new LiveSearch(searchKey, emitter);
+
+        LiveSearch previous = running.put(searchKey, search);
+        if (previous != null) {
+            previous.cancel("次の検索の開始");
+        }
+
+        emitter.onCompletion(() -> finish(search, "応答の終了"));
+        emitter.onTimeout(() -> finish(search, "タイムアウト"));
+        emitter.onError(e -> finish(search, "クライアントの切断"));
+
+        search.heartbeat = heartbeatScheduler.scheduleAtFixedRate(search::heartbeat, Duration.ofMillis(heartbeatIntervalMs));
+        taskExecutor.execute(() -> run(search, criteria));
+        return emitter;
+    }
+
+    private void finish(LiveSearch search, String reason) {
+        running.remove(search.key, search);
+        search.cancel(reason);
+    }
+
+    private void run(LiveSearch search, AdvancedSearchCriteria criteria) {
+        try {
+            Map<String, String> validationErrors = automaticPartService.validateSearchCriteria(criteria);
+            if (!validationErrors.isEmpty()) {
+                search.send("error", createErrorEvent("検索条件が不正です", validationErrors));
+                search.complete();
+                return;
+            }
+
+            AdvancedSearchCriteria normalized = normalize(criteria);
+            if (normalized.isArchiveIncluded()) {
+                searchIncludingArchive(search, normalized);
+            } else {
+                readOnlyTransaction.executeWithoutResult(status -> searchActive(search, normalized));
+            }
+
+            if (search.send("done", Map.of("elapsedMillis", search.elapsedMillis()))) {
+                log.info("ライブ検索完了: {}, {}ms", search.key, search.elapsedMillis());
+                search.complete();
+            }
+
+        } catch (ServiceException | RuntimeException e) {
+            if (search.isClosed()) {
+                // 取り消しによりクエリが中断された
+                log.debug("取り消したライブ検索のクエリが中断されました: {}", e.getMessage());
+                return;
+            }
+            log.error("ライブ検索でエラーが発生しました: {}", search.key, e);
+            search.send("error", createErrorEvent("検索処理に失敗しました", e.getMessage()));
+            search.complete();
+        }
+    }
+
+    /**
+     * 通常の部品の検索
+     * 行・総件数・絞り込み候補を別々のクエリで順に取得し、取得したものから送る
+     */
+    private void searchActive(LiveSearch search, AdvancedSearchCriteria criteria) {
+        search.session = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory).unwrap(Session.class);
+        try {
+            if (search.isClosed()) {
+                return;
+            }
+            Slice<PartListRow> rows = automaticPartRepository.findListRowSliceByAdvancedCriteria(criteria);
+            if (!search.send("rows", createRowsEvent(rows.getContent(), rows.getNumber(), rows.getSize(),
+                                                     rows.hasNext(), rows.hasPrevious(), search))) {
+                return;
+            }
+
+            long totalCount = automaticPartRepository.countByAdvancedCriteria(criteria);
+            if (!search.send("total", createTotalEvent(totalCount, criteria.getSize(), search))) {
+                return;
+            }
+
+            PartSearchFacets facets = new PartSearchFacets(
+                toManufacturerBuckets(automaticPartRepository.countByAdvancedCriteriaGroupByManufacturer(criteria, facetLimit)),
+                toCategoryBuckets(automaticPartRepository.countByAdvancedCriteriaGroupByCategory(criteria, facetLimit)));
+            search.send("facets", facets);
+
+        } finally {
+            search.session = null;
+        }
+    }
+
+    /**
+     * アーカイブ済み部品を含む検索
+     * 両テーブルの行を併合するため件数も同時に取得する既存の検索処理を使用し、行と総件数を続けて送る。
+     * 絞り込み候補の集計は行わない
+     */
+    private void searchIncludingArchive(LiveSearch search, AdvancedSearchCriteria criteria) throws ServiceException {
+        Page<PartListRow> parts = automaticPartService.searchListRowsByAdvancedCriteria(criteria);
+        if (search.send("rows", createRowsEvent(parts.getContent(), parts.getNumber(), parts.getSize(),
+                                                parts.hasNext(), parts.hasPrevious(), search))) {
+            search.send("total", createTotalEvent(parts.getTotalElements(), parts.getSize(), search));
+        }
+    }
+
+    private static Map<String, Object> createRowsEvent(List<PartListRow> parts, int currentPage, int pageSize,
+                                                       boolean hasNext, boolean hasPrevious, LiveSearch search) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("parts", parts);
+        event.put("currentPage", currentPage);
+        event.put("pageSize", pageSize);
+        event.put("hasNext", hasNext);
+        event.put("hasPrevious", hasPrevious);
+        event.put("elapsedMillis", search.elapsedMillis());
+        return event;
+    }
+
+    private static Map<String, Object> createTotalEvent(long totalCount, int pageSize, LiveSearch search) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("totalCount", totalCount);
+        event.put("totalPages", (int) ((totalCount + pageSize - 1) / pageSize));
+        event.put("elapsedMillis", search.elapsedMillis());
+        return event;
+    }
+
+    private static Map<String, Object> createErrorEvent(String message, Object details) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("success", false);
+        event.put("message", message);
+        event.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+
+        if (details != null) {
+            event.put("details", details);
+        }
+
+        return event;
+    }
+
+    private static List<PartSearchFacets.Bucket> toManufacturerBuckets(List<Object[]> rows) {
+        List<PartSearchFacets.Bucket> buckets = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String manufacturer = (String) row[0];
+            buckets.add(new PartSearchFacets.Bucket(
+                manufacturer, manufacturer != null ? manufacturer : "未設定", ((Number) row[1]).longValue()));
+        }
+        return buckets;
+    }
+
+    private static List<PartSearchFacets.Bucket> toCategoryBuckets(List<Object[]> rows) {
+        List<PartSearchFacets.Bucket> buckets = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long categoryId = (Long) row[0];
+            buckets.add(new PartSearchFacets.Bucket(
+                categoryId != null ? categoryId.toString() : null,
+                categoryId != null ? (String) row[1] : "未分類",
+                ((Number) row[2]).longValue()));
+        }
+        return buckets;
+    }
+
+    /**
+     * 空文字の検索条件を未指定として扱い、既定の並び替え・ページ指定を設定する
+     */
+    private static AdvancedSearchCriteria normalize(AdvancedSearchCriteria criteria) {
+        criteria.setPartNumber(blankToNull(criteria.getPartNumber()));
+        criteria.setPartName(blankToNull(criteria.getPartName()));
+        criteria.setManufacturer(blankToNull(criteria.getManufacturer()));
+        criteria.setCategoryName(blankToNull(criteria.getCategoryName()));
+        criteria.setDefaultSort();
+        criteria.setDefaultPagination();
+        return criteria;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    /**
+     * 実行中のライブ検索
+     */
+    private static final class LiveSearch {
+
+        private final String key;
+        private final SseEmitter emitter;
+        private final long started = System.currentTimeMillis();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        /** クエリ実行中のセッション（取り消し用、他のスレッドから参照する） */
+        private volatile Session session;
+        private volatile ScheduledFuture<?> heartbeat;
+
+        LiveSearch(String key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        boolean isClosed() {
+            return closed.get();
+        }
+
+        long elapsedMillis() {
+            return System.currentTimeMillis() - started;
+        }
+
+        /**
+         * イベントを送信
+         * @return 送信できた場合true（取り消し済み、またはクライアントが切断していた場合false）
+         */
+        boolean send(String name, Object data) {
+            if (closed.get()) {
+                return false;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                cancel("クライアントの切断");
+                return false;
+            }
+        }
+
+        /**
+         * keep-alive（コメント行）を送信し、送信できなければ取り消す
+         */
+        void heartbeat() {
+            if (closed.get()) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                cancel("クライアントの切断");
+            }
+        }
+
+        /**
+         * 正常に終了
+         */
+        void complete() {
+            if (closed.compareAndSet(false, true)) {
+                stopHeartbeat();
+                emitter.complete();
+            }
+        }
+
+        /**
+         * 取り消し
+         * 実行中のクエリを取り消し、応答を終了する（終了済みの場合は何もしない）
+         */
+        void cancel(String reason) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            stopHeartbeat();
+
+            Session current = session;
+            if (current != null) {
+                try {
+                    current.cancelQuery();
+                } catch (RuntimeException e) {
+                    log.debug("ライブ検索のクエリの取り消しに失敗しました: {}", e.getMessage());
+                }
+            }
+            emitter.complete();
+            log.info("ライブ検索を取り消し: {}, 理由={}, {}ms", key, reason, elapsedMillis());
+        }
+
+        private void stopHeartbeat() {
+            ScheduledFuture<?> current = heartbeat;
+            if (current != null) {
+                current.cancel(false);
+            }
+        }
+    }
+}
@@ -1,60 +1,184 @@
 package com.example.automatictransmissionpartsinventory.service.impl;
 
+import java.time.Duration;
+import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import com.example.automatictransmissionpartsinventory.entity.CacheVersion;
 import com.example.automatictransmissionpartsinventory.entity.User;
+import com.example.automatictransmissionpartsinventory.event.CacheRegionChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.UserChangedEvent;
 import com.example.automatictransmissionpartsinventory.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Spring Security認証用のUserDetailsService実装
  * データベースからユーザー情報を取得してSpring Securityに提供
+ *
+ * Basic認証のAPIクライアントはリクエストごとに認証されるため、
+ * 取得結果を件数上限・TTL付きでキャッシュする（統計はメトリクス cache.* name=userDetails）。
+ * ユーザー情報の登録・更新・削除時は {@link UserChangedEvent} のコミット後に全件を破棄する。
+ *
+ * users の照合順序は大文字小文字を区別しないため、"ADMIN" と "admin" は同じユーザーとして認証される。
+ * 入力の表記ごとに別エントリーにならないよう、キャッシュのキーは小文字に正規化したユーザー名とする。
  */
+@Slf4j
 @Service
-@Transactional(readOnly = true)
 public class UserDetailsServiceImpl implements UserDetailsService {
-    
+
     @Autowired
     private UserRepository userRepository;
-    
+
+    private final Cache<String, CachedUser> userCache;
+
+    public UserDetailsServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.user-cache.max-entries:1000}") int maxEntries,
+            @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userCache = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "userDetails");
+    }
+
     /**
      * ユーザー名を使ってユーザー詳細情報を取得
      * Spring Securityによって認証時に自動的に呼び出される
-     * 
+     *
      * @param username ログイン画面で入力されたユーザー名
      * @return UserDetails Spring Security用のユーザー詳細情報
      * @throws UsernameNotFoundException ユーザーが見つからない場合
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // データベースからユーザーを検索
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException(
-                    "ユーザーが見つかりません: " + username));
-        
-        // ユーザーの権限情報を取得してGrantedAuthorityに変換
-        Set<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getRoleName()))
-                .collect(Collectors.toSet());
-        
-        // Spring SecurityのUserDetailsを返す
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(authorities)
-                .accountExpired(!user.getAccountNonExpired())
-                .accountLocked(!user.getAccountNonLocked())
-                .credentialsExpired(!user.getCredentialsNonExpired())
-                .disabled(!user.getEnabled())
-                .build();
-    }
-}
\ No newline at end of file
+        String key = cacheKey(username);
+        CachedUser cachedUser = key != null ? userCache.getIfPresent(key) : null;
+
+        if (cachedUser == null) {
+            // データベースからユーザーを検索
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException(
+                        "ユーザーが見つかりません: " + username));
+
+            cachedUser = CachedUser.from(user);
+            userCache.put(cacheKey(user.getUsername()), cachedUser);
+        }
+
+        // 認証後に資格情報が消去されるため、呼び出しごとに新しいUserDetailsを生成する
+        return cachedUser.toUserDetails();
+    }
+
+    /**
+     * 指定ユーザーのキャッシュを破棄
+     * 権限変更・無効化・削除を次回の認証から即時に反映させるために使用
+     * @param username ユーザー名
+     */
+    public void evictUser(String username) {
+        if (username != null) {
+            userCache.invalidate(cacheKey(username));
+            log.debug("ユーザー認証情報のキャッシュを破棄: {}", username);
+        }
+    }
+
+    /**
+     * 全ユーザーのキャッシュを破棄
+     */
+    public void evictAll() {
+        userCache.invalidateAll();
+        log.debug("ユーザー認証情報のキャッシュを全件破棄");
+    }
+
+    /**
+     * ユーザーの登録・更新・削除のコミット後に全件破棄
+     * 変更前のユーザー名や表記違いのキーも確実に破棄するため、変更されたユーザーに限定しない
+     * @param event ユーザー変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evictAll();
+    }
+
+    /**
+     * 他ノードを含むユーザー変更を検知した場合に全件破棄
+     * 変更されたユーザーは特定できないため全件を対象とする
+     * @param event キャッシュリージョン変更イベント
+     */
+    @EventListener
+    public void onCacheRegionChanged(CacheRegionChangedEvent event) {
+        if (CacheVersion.REGION_USERS.equals(event.region())) {
+            evictAll();
+        }
+    }
+
+    /**
+     * キャッシュのキーを生成（大文字小文字を区別しない照合順序に合わせて小文字に正規化）
+     * @param username ユーザー名
+     * @return キー（ユーザー名がnullの場合はnull）
+     */
+    private static String cacheKey(String username) {
+        return username != null ? username.toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * キャッシュに保持するユーザー情報（不変）
+     */
+    private record CachedUser(
+        String username,
+        String password,
+        Set<GrantedAuthority> authorities,
+        boolean accountExpired,
+        boolean accountLocked,
+        boolean credentialsExpired,
+        boolean disabled
+    ) {
+        static CachedUser from(User user) {
+            // ユーザーの権限情報を取得してGrantedAuthorityに変換
+            Set<GrantedAuthority> authorities = user.getRoles().stream()
+                    .map(role -> new SimpleGrantedAuthority(role.getRoleName()))
+                    .collect(Collectors.toUnmodifiableSet());
+
+            return new CachedUser(
+                user.getUsername(),
+                user.getPassword(),
+                authorities,
+                !user.getAccountNonExpired(),
+                !user.getAccountNonLocked(),
+                !user.getCredentialsNonExpired(),
+                !user.getEnabled());
+        }
+
+        UserDetails toUserDetails() {
+            // Spring SecurityのUserDetailsを返す
+            return org.springframework.security.core.userdetails.User.builder()
+                    .username(username)
+                    .password(password)
+                    .authorities(authorities)
+                    .accountExpired(accountExpired)
+                    .accountLocked(accountLocked)
+                    .credentialsExpired(credentialsExpired)
+                    .disabled(disabled)
+                    .build();
+        }
+    }
+}
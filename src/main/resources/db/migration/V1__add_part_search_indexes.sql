@@ -0,0 +1,18 @@
+-- AT部品: 一覧・高度検索・統計クエリ用インデックス
+-- テーブル・カラムは Hibernate（ddl-auto=update）が作成済みであることを前提とする
+
+-- 既定の並び順（updatedAt DESC）とスナップショット差分取得（updated_at > ?）
+-- id を含めて同一更新日時内の順序とキーセットページングにも使用する
+CREATE INDEX idx_parts_updated_at ON automotive_parts (updated_at, id);
+
+-- 登録日時による範囲検索・並び替え
+CREATE INDEX idx_parts_created_at ON automotive_parts (created_at);
+
+-- カテゴリ指定 + 価格範囲の絞り込み、カテゴリ別部品数（countPartsByCategory / countByCategoryId）
+CREATE INDEX idx_parts_category_price ON automotive_parts (category_id, price);
+
+-- メーカー別部品数（countPartsByManufacturer）をインデックスのみで集計、メーカー完全一致検索
+CREATE INDEX idx_parts_manufacturer ON automotive_parts (manufacturer);
+
+-- 価格範囲検索・価格順の並び替え、価格帯別部品数（countPartsByPriceRange）をインデックスのみで集計
+CREATE INDEX idx_parts_price ON automotive_parts (price);
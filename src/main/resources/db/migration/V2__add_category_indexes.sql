@@ -0,0 +1,5 @@
+-- カテゴリ: 親カテゴリ別の子カテゴリ取得（表示順）用インデックス
+CREATE INDEX idx_categories_parent_order ON categories (parent_id, display_order);
+
+-- 有効カテゴリの表示順取得（findByIsActiveOrderByDisplayOrder）
+CREATE INDEX idx_categories_active_order ON categories (is_active, display_order);
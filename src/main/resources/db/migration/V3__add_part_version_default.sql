@@ -0,0 +1,4 @@
+-- AT部品: 楽観ロック用バージョン（カラム自体は ddl-auto で追加される）
+-- 既存行・SQLで直接登録された行も 0 から開始する
+UPDATE automotive_parts SET version = 0 WHERE version IS NULL;
+ALTER TABLE automotive_parts MODIFY COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- AT部品: 論理削除済み部品の物理削除（保存期間経過分の抽出）用インデックス
+CREATE INDEX idx_parts_deleted_at ON automotive_parts (deleted_at);
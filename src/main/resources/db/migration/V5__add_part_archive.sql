@@ -0,0 +1,14 @@
+-- AT部品: 廃番フラグ（カラム自体は ddl-auto で追加される）
+-- SQLで直接登録された行も廃番でない状態から開始する
+UPDATE automotive_parts SET discontinued = FALSE WHERE discontinued IS NULL;
+ALTER TABLE automotive_parts MODIFY COLUMN discontinued BIT NOT NULL DEFAULT 0;
+
+-- アーカイブ済みAT部品（テーブルは ddl-auto で作成される）: アーカイブを含む高度検索用インデックス
+-- 既定の並び順（updatedAt DESC）
+CREATE INDEX idx_parts_archive_updated_at ON automotive_parts_archive (updated_at, id);
+
+-- 部品番号による検索
+CREATE INDEX idx_parts_archive_part_number ON automotive_parts_archive (part_number);
+
+-- カテゴリ指定の絞り込み
+CREATE INDEX idx_parts_archive_category ON automotive_parts_archive (category_id);
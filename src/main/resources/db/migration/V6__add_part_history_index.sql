@@ -0,0 +1,2 @@
+-- AT部品変更履歴（テーブルは ddl-auto で作成される）: 部品ごとの履歴を新しい順に取得
+CREATE INDEX idx_part_history_part_changed ON part_history (part_id, changed_at);
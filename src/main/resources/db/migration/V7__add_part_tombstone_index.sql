@@ -0,0 +1,2 @@
+-- AT部品削除記録（テーブルは ddl-auto で作成される）: 差分取得・保存期間経過分の削除
+CREATE INDEX idx_part_tombstones_deleted_at ON part_tombstones (deleted_at);
@@ -0,0 +1,10 @@
+-- AT部品: 統計クエリのインデックスに deleted_at を追加
+-- エンティティの論理削除条件（deleted_at IS NULL）が付くため、単一カラムのインデックスでは
+-- メーカー別・価格帯別部品数の集計がテーブル参照となる。条件のカラムを含めてインデックスのみで集計する
+DROP INDEX idx_parts_manufacturer ON automotive_parts;
+CREATE INDEX idx_parts_manufacturer ON automotive_parts (manufacturer, deleted_at);
+
+-- 価格帯別部品数は価格の式で集計するため、deleted_at IS NULL の参照で価格のみを読む順とする
+-- 価格範囲検索も deleted_at IS NULL と合わせた範囲検索として引き続き使用できる
+DROP INDEX idx_parts_price ON automotive_parts;
+CREATE INDEX idx_parts_price ON automotive_parts (deleted_at, price);
@@ -0,0 +1,24 @@
+-- AT部品: 部品番号の一意制約を未削除の部品に限定する
+-- 論理削除済みの部品は物理削除までの保存期間中も行が残るため、part_number 自体の一意制約では
+-- 削除した部品と同じ部品番号を再登録できない。未削除の場合のみ部品番号を持つ生成カラムで一意性を保証する
+-- （論理削除済みの行は NULL となり、一意インデックスの対象外となる）
+
+-- ddl-auto が作成した part_number の一意制約（名前は Hibernate が生成）を削除
+SET @part_number_unique_key = (
+    SELECT index_name FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'automotive_parts'
+      AND column_name = 'part_number' AND non_unique = 0 AND seq_in_index = 1
+    LIMIT 1);
+SET @drop_part_number_unique_key = IF(@part_number_unique_key IS NULL, 'DO 0',
+    CONCAT('ALTER TABLE automotive_parts DROP INDEX `', @part_number_unique_key, '`'));
+PREPARE drop_part_number_unique_key FROM @drop_part_number_unique_key;
+EXECUTE drop_part_number_unique_key;
+DEALLOCATE PREPARE drop_part_number_unique_key;
+
+ALTER TABLE automotive_parts
+    ADD COLUMN active_part_number VARCHAR(255)
+        AS (CASE WHEN deleted_at IS NULL THEN part_number END) STORED;
+CREATE UNIQUE INDEX uk_parts_active_part_number ON automotive_parts (active_part_number);
+
+-- 部品番号による検索（論理削除済みを含む）
+CREATE INDEX idx_parts_part_number ON automotive_parts (part_number);
@@ -0,0 +1,149 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.automatictransmissionpartsinventory.config.AdmissionControlFilter;
+import com.example.automatictransmissionpartsinventory.config.AdmissionControlProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 受付制御フィルターの拒否応答の検証
+ * 処理枠1・待ち行列1の検索種別で、待ち行列が満杯の場合は429、最大待ち時間を超えた場合は503となり、
+ * いずれも Retry-After を返し、件数がメトリクスに反映されることを確認する
+ */
+class AdmissionControlFilterTests {
+
+	private final CountDownLatch releaseHolder = new CountDownLatch(1);
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void releaseHeldRequest() {
+		releaseHolder.countDown();
+	}
+
+	@Test
+	void queueFullIsRejectedWith429() throws Exception {
+		AdmissionControlFilter filter = filter(Duration.ofSeconds(10));
+		CompletableFuture<MockHttpServletResponse> holder = holdSlot(filter);
+		CompletableFuture<MockHttpServletResponse> waiting = CompletableFuture.supplyAsync(() -> perform(filter, "/api/v1/parts"));
+		awaitQueueDepth(filter, 1);
+		assertThat(meterRegistry.get("admission.queue.depth").tag("class", "SEARCH").gauge().value()).isEqualTo(1.0);
+		assertThat(meterRegistry.get("admission.active").tag("class", "SEARCH").gauge().value()).isEqualTo(1.0);
+
+		MockHttpServletResponse rejected = perform(filter, "/api/v1/parts");
+
+		assertThat(rejected.getStatus()).isEqualTo(429);
+		assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+		assertThat(rejected.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+		assertThat(rejected.getContentAsString()).contains("\"success\":false", "\"details\":\"SEARCH\"");
+
+		releaseHolder.countDown();
+		assertThat(holder.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+		assertThat(waiting.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+		assertThat(searchStatistics(filter)).containsEntry("rejectedQueueFull", 1L).containsEntry("admitted", 2L);
+		assertThat(requestCount("queue_full")).isEqualTo(1.0);
+		assertThat(requestCount("admitted")).isEqualTo(2.0);
+	}
+
+	@Test
+	void waitBeyondMaxWaitIsRejectedWith503() throws Exception {
+		AdmissionControlFilter filter = filter(Duration.ofMillis(100));
+		CompletableFuture<MockHttpServletResponse> holder = holdSlot(filter);
+
+		MockHttpServletResponse rejected = perform(filter, "/parts/search");
+
+		assertThat(rejected.getStatus()).isEqualTo(503);
+		assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+		assertThat(rejected.getContentType()).startsWith(MediaType.TEXT_PLAIN_VALUE);
+
+		releaseHolder.countDown();
+		assertThat(holder.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+		assertThat(searchStatistics(filter)).containsEntry("rejectedTimeout", 1L).containsEntry("queueDepth", 0);
+		assertThat(requestCount("timeout")).isEqualTo(1.0);
+		assertThat(perform(filter, "/parts/search").getStatus()).isEqualTo(200);
+	}
+
+	private AdmissionControlFilter filter(Duration maxWait) {
+		AdmissionControlProperties.Limit limit = new AdmissionControlProperties.Limit();
+		limit.setMaxConcurrent(1);
+		limit.setQueueCapacity(1);
+		limit.setMaxWait(maxWait);
+		limit.setRetryAfter(Duration.ofSeconds(3));
+
+		AdmissionControlProperties properties = new AdmissionControlProperties();
+		properties.getLimits().put(AdmissionControlFilter.EndpointClass.SEARCH, limit);
+		AdmissionControlFilter filter = new AdmissionControlFilter(properties, new ObjectMapper());
+		filter.bindTo(meterRegistry);
+		return filter;
+	}
+
+	private double requestCount(String outcome) {
+		return meterRegistry.get("admission.requests").tag("class", "SEARCH").tag("outcome", outcome).functionCounter().count();
+	}
+
+	/**
+	 * 処理枠を1つ使ったまま、releaseHolder が解放されるまで処理を終えないリクエストを開始する
+	 */
+	private CompletableFuture<MockHttpServletResponse> holdSlot(AdmissionControlFilter filter) throws InterruptedException {
+		CountDownLatch admitted = new CountDownLatch(1);
+		CompletableFuture<MockHttpServletResponse> holder = CompletableFuture.supplyAsync(() -> {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			try {
+				filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/parts"), response, (request, ignored) -> {
+					admitted.countDown();
+					try {
+						releaseHolder.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+			return response;
+		});
+		assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+		return holder;
+	}
+
+	private static MockHttpServletResponse perform(AdmissionControlFilter filter, String uri) {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			filter.doFilter(new MockHttpServletRequest("GET", uri), response, (request, ignored) -> {
+			});
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return response;
+	}
+
+	private static void awaitQueueDepth(AdmissionControlFilter filter, int depth) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!Integer.valueOf(depth).equals(searchStatistics(filter).get("queueDepth")) && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(10);
+		}
+		assertThat(searchStatistics(filter)).containsEntry("queueDepth", depth);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> searchStatistics(AdmissionControlFilter filter) {
+		return (Map<String, Object>) filter.getStatistics().get(AdmissionControlFilter.EndpointClass.SEARCH.name());
+	}
+}
@@ -0,0 +1,118 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.automatictransmissionpartsinventory.cache.CacheCoherenceService;
+import com.example.automatictransmissionpartsinventory.entity.CacheVersion;
+import com.example.automatictransmissionpartsinventory.event.CacheRegionChangedEvent;
+import com.example.automatictransmissionpartsinventory.event.PartChangedEvent;
+import com.example.automatictransmissionpartsinventory.service.impl.CatalogVersionService;
+
+/**
+ * ノード間キャッシュ整合性の検証
+ * 自ノードが進めたバージョンと他ノード（テーブルの直接更新）が進めたバージョンを区別して通知し、
+ * カタログのETagが共有バージョンから作られることを確認する
+ */
+@SpringBootTest(properties = "app.cache.coherence.poll-interval-ms=50")
+class CacheCoherenceServiceTests {
+
+	@Autowired
+	private CacheCoherenceService cacheCoherenceService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private CatalogVersionService catalogVersionService;
+
+	@Autowired
+	private RegionEvents regionEvents;
+
+	@BeforeEach
+	void waitForBaseline() throws InterruptedException {
+		// ポーリングのベースライン取得と、他テストの変更による通知を待ってから破棄する
+		TimeUnit.MILLISECONDS.sleep(300);
+		regionEvents.events.clear();
+	}
+
+	@Test
+	void ownVersionIsNotReportedAsRemote() throws InterruptedException {
+		cacheCoherenceService.onPartChanged(PartChangedEvent.of(PartChangedEvent.ChangeType.UPDATED, 1L));
+
+		CacheRegionChangedEvent event = regionEvents.next(CacheVersion.REGION_PARTS);
+		assertThat(event).isNotNull();
+		assertThat(event.remote()).isFalse();
+	}
+
+	@Test
+	void versionFromAnotherNodeIsReportedAsRemote() throws InterruptedException {
+		jdbcTemplate.update(
+				"INSERT INTO cache_versions (region, version, updated_at) VALUES (?, 1, CURRENT_TIMESTAMP(6)) " +
+				"ON DUPLICATE KEY UPDATE version = version + 1", CacheVersion.REGION_PARTS);
+
+		CacheRegionChangedEvent event = regionEvents.next(CacheVersion.REGION_PARTS);
+		assertThat(event).isNotNull();
+		assertThat(event.remote()).isTrue();
+	}
+
+	@Test
+	void catalogEtagFollowsSharedVersions() throws InterruptedException {
+		String before = catalogVersionService.current().etag("parts");
+		jdbcTemplate.update(
+				"INSERT INTO cache_versions (region, version, updated_at) VALUES (?, 1, CURRENT_TIMESTAMP(6)) " +
+				"ON DUPLICATE KEY UPDATE version = version + 1", CacheVersion.REGION_PARTS);
+
+		assertThat(regionEvents.next(CacheVersion.REGION_PARTS)).isNotNull();
+		long parts = jdbcTemplate.queryForObject(
+				"SELECT version FROM cache_versions WHERE region = ?", Long.class, CacheVersion.REGION_PARTS);
+		long categories = jdbcTemplate.queryForList(
+				"SELECT version FROM cache_versions WHERE region = ?", Long.class, CacheVersion.REGION_CATEGORIES)
+				.stream().findFirst().orElse(0L);
+		assertThat(catalogVersionService.current().etag("parts"))
+				.isNotEqualTo(before)
+				.isEqualTo("\"parts-p" + parts + "-c" + categories + "\"");
+	}
+
+	@TestConfiguration
+	static class RegionEventsConfig {
+
+		@Bean
+		RegionEvents regionEvents() {
+			return new RegionEvents();
+		}
+	}
+
+	static class RegionEvents {
+
+		private final BlockingQueue<CacheRegionChangedEvent> events = new LinkedBlockingQueue<>();
+
+		@EventListener
+		void onCacheRegionChanged(CacheRegionChangedEvent event) {
+			events.add(event);
+		}
+
+		CacheRegionChangedEvent next(String region) throws InterruptedException {
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (System.nanoTime() < deadline) {
+				CacheRegionChangedEvent event = events.poll(100, TimeUnit.MILLISECONDS);
+				if (event != null && event.region().equals(region)) {
+					return event;
+				}
+			}
+			return null;
+		}
+	}
+}
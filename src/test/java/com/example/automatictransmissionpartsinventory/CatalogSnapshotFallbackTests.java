@@ -0,0 +1,62 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.automatictransmissionpartsinventory.cache.CatalogSnapshotService;
+import com.example.automatictransmissionpartsinventory.dto.PartSnapshotEntry;
+import com.example.automatictransmissionpartsinventory.entity.AutomativePart;
+import com.example.automatictransmissionpartsinventory.repository.AutomaticPartRepository;
+
+/**
+ * スナップショット未作成時の部品番号参照の検証
+ * データベースでの参照も、スナップショットと同じく部品番号の大文字小文字を区別し、
+ * 要求された部品番号をキーとして返すことを確認する
+ */
+@SpringBootTest(properties = "app.catalog.snapshot.enabled=false")
+class CatalogSnapshotFallbackTests {
+
+	private static final String PART_NUMBER_PREFIX = "FALLBACK-";
+
+	@Autowired
+	private CatalogSnapshotService catalogSnapshotService;
+
+	@Autowired
+	private AutomaticPartRepository automaticPartRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM automotive_parts WHERE part_number LIKE ?", PART_NUMBER_PREFIX + "%");
+	}
+
+	@Test
+	void lookupIsCaseSensitiveLikeSnapshot() {
+		String partNumber = PART_NUMBER_PREFIX + "Ab" + System.nanoTime();
+		AutomativePart part = new AutomativePart();
+		part.setPartNumber(partNumber);
+		part.setPartName("大文字小文字の検証用部品");
+		part.setPrice(BigDecimal.valueOf(1000));
+		part.setManufacturer("AISIN");
+		automaticPartRepository.save(part);
+
+		String otherCase = partNumber.toUpperCase();
+		Map<String, PartSnapshotEntry> found = catalogSnapshotService.findByPartNumbers(List.of(partNumber, otherCase));
+
+		assertThat(found).containsOnlyKeys(partNumber);
+		assertThat(catalogSnapshotService.findByPartNumbers(List.of(otherCase))).isEmpty();
+		assertThat(catalogSnapshotService.findByPartNumber(partNumber)).isPresent();
+		assertThat(catalogSnapshotService.findByPartNumber(otherCase)).isEmpty();
+	}
+}
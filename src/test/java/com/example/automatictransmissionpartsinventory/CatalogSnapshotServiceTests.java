@@ -0,0 +1,65 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.automatictransmissionpartsinventory.cache.CatalogSnapshotService;
+import com.example.automatictransmissionpartsinventory.entity.AutomativePart;
+import com.example.automatictransmissionpartsinventory.entity.CacheVersion;
+import com.example.automatictransmissionpartsinventory.repository.AutomaticPartRepository;
+
+/**
+ * カタログスナップショットの他ノード変更の取り込みの検証
+ * 他ノードでの物理削除が、スナップショットの再作成を待たずに部品番号参照へ反映されることを確認する
+ */
+@SpringBootTest(properties = "app.cache.coherence.poll-interval-ms=50")
+class CatalogSnapshotServiceTests {
+
+	@Autowired
+	private CatalogSnapshotService catalogSnapshotService;
+
+	@Autowired
+	private AutomaticPartRepository automaticPartRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void hardDeleteOnAnotherNodeIsAppliedWithoutRebuild() throws InterruptedException {
+		AutomativePart part = new AutomativePart();
+		part.setPartNumber("TOMBSTONE-" + System.nanoTime());
+		part.setPartName("削除記録の検証用部品");
+		part.setPrice(BigDecimal.valueOf(1000));
+		part.setManufacturer("AISIN");
+		AutomativePart saved = automaticPartRepository.save(part);
+
+		assertThat(catalogSnapshotService.rebuild()).isPositive();
+		assertThat(catalogSnapshotService.findByPartNumber(saved.getPartNumber())).isPresent();
+
+		// 他ノードでの物理削除（削除・削除記録の追加・バージョン更新）
+		jdbcTemplate.update("DELETE FROM automotive_parts WHERE id = ?", saved.getId());
+		jdbcTemplate.update("INSERT INTO part_tombstones (part_id, deleted_at) VALUES (?, ?)",
+				saved.getId(), Timestamp.valueOf(LocalDateTime.now()));
+		jdbcTemplate.update(
+				"INSERT INTO cache_versions (region, version, updated_at) VALUES (?, 1, CURRENT_TIMESTAMP(6)) " +
+				"ON DUPLICATE KEY UPDATE version = version + 1", CacheVersion.REGION_PARTS);
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (catalogSnapshotService.findByPartNumber(saved.getPartNumber()).isPresent()
+				&& System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(50);
+		}
+		assertThat(catalogSnapshotService.findByPartNumber(saved.getPartNumber())).isEmpty();
+		assertThat(catalogSnapshotService.findByPartNumbers(List.of(saved.getPartNumber()))).isEmpty();
+	}
+}
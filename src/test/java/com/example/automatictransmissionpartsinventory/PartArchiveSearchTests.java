@@ -0,0 +1,92 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.dto.PartListRow;
+import com.example.automatictransmissionpartsinventory.exception.ServiceException;
+import com.example.automatictransmissionpartsinventory.service.AutomaticPartService;
+
+/**
+ * アーカイブ済み部品を含めた高度検索の検証
+ * 通常テーブルとアーカイブテーブルの行が、列の照合順序（大文字小文字・アクセントの違いを無視）で1つの並びに併合されることを確認する
+ */
+@SpringBootTest
+class PartArchiveSearchTests {
+
+	private static final String PART_NUMBER_PREFIX = "ARCHMERGE-";
+	private static final long ARCHIVED_ID_BASE = 990_000_000L;
+
+	@Autowired
+	private AutomaticPartService automaticPartService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		cleanUp();
+		insertActive("b");
+		insertActive("f");
+		insertArchived(1, "A");
+		insertArchived(2, "é");
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM automotive_parts WHERE part_number LIKE ?", PART_NUMBER_PREFIX + "%");
+		jdbcTemplate.update("DELETE FROM automotive_parts_archive WHERE part_number LIKE ?", PART_NUMBER_PREFIX + "%");
+	}
+
+	@Test
+	void activeAndArchivedRowsAreMergedInCollationOrder() throws ServiceException {
+		Page<PartListRow> first = search(0);
+		Page<PartListRow> second = search(1);
+
+		assertThat(first.getTotalElements()).isEqualTo(4);
+		assertThat(first.getContent()).extracting(PartListRow::partNumber)
+				.containsExactly(PART_NUMBER_PREFIX + "A", PART_NUMBER_PREFIX + "b");
+		assertThat(first.getContent()).extracting(PartListRow::archived).containsExactly(true, false);
+		assertThat(second.getContent()).extracting(PartListRow::partNumber)
+				.containsExactly(PART_NUMBER_PREFIX + "é", PART_NUMBER_PREFIX + "f");
+		assertThat(second.getContent()).extracting(PartListRow::archived).containsExactly(true, false);
+	}
+
+	private Page<PartListRow> search(int page) throws ServiceException {
+		AdvancedSearchCriteria criteria = new AdvancedSearchCriteria();
+		criteria.setPartNumber(PART_NUMBER_PREFIX);
+		criteria.setIncludeArchived(true);
+		criteria.setSortBy("partNumber");
+		criteria.setSortOrder("ASC");
+		criteria.setPage(page);
+		criteria.setSize(2);
+		return automaticPartService.searchListRowsByAdvancedCriteria(criteria);
+	}
+
+	private void insertActive(String suffix) {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.update(
+				"INSERT INTO automotive_parts (part_number, part_name, price, manufacturer, created_at, updated_at, discontinued, version) "
+						+ "VALUES (?, 'アーカイブ併合の検証用部品', 1000, 'AISIN', ?, ?, FALSE, 0)",
+				PART_NUMBER_PREFIX + suffix, now, now);
+	}
+
+	private void insertArchived(long offset, String suffix) {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.update(
+				"INSERT INTO automotive_parts_archive (id, part_number, part_name, price, manufacturer, created_at, updated_at, "
+						+ "archived_at, discontinued, version) VALUES (?, ?, 'アーカイブ併合の検証用部品', 1000, 'AISIN', ?, ?, ?, FALSE, 0)",
+				ARCHIVED_ID_BASE + offset, PART_NUMBER_PREFIX + suffix, now, now, now);
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.automatictransmissionpartsinventory.exception.ServiceException;
+import com.example.automatictransmissionpartsinventory.service.impl.PartArchiveService;
+
+/**
+ * アーカイブからの復元の検証
+ * 廃番でアーカイブした部品を automotive_parts へ戻せること、同じ部品番号の部品が登録済みの場合は戻さないことを確認する
+ */
+@SpringBootTest
+class PartArchiveServiceTests {
+
+	private static final String PART_NUMBER_PREFIX = "ARCHRESTORE-";
+
+	@Autowired
+	private PartArchiveService partArchiveService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM automotive_parts WHERE part_number LIKE ?", PART_NUMBER_PREFIX + "%");
+		jdbcTemplate.update("DELETE FROM automotive_parts_archive WHERE part_number LIKE ?", PART_NUMBER_PREFIX + "%");
+	}
+
+	@Test
+	void restoreMovesArchivedPartBack() throws ServiceException {
+		long id = archive(insertDiscontinued("A"));
+		LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+
+		partArchiveService.restorePart(id);
+
+		Map<String, Object> restored = jdbcTemplate.queryForMap(
+				"SELECT part_number, discontinued, updated_at, version FROM automotive_parts WHERE id = ?", id);
+		assertThat(restored.get("part_number")).isEqualTo(PART_NUMBER_PREFIX + "A");
+		assertThat(restored.get("discontinued")).isEqualTo(false);
+		assertThat((LocalDateTime) restored.get("updated_at")).isAfter(before);
+		assertThat(((Number) restored.get("version")).longValue()).isEqualTo(1L);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM automotive_parts_archive WHERE id = ?", Long.class, id)).isZero();
+	}
+
+	@Test
+	void restoreRefusesPartNumberInUse() {
+		long id = archive(insertDiscontinued("B"));
+		insertDiscontinued("B");
+
+		assertThatThrownBy(() -> partArchiveService.restorePart(id))
+				.isInstanceOfSatisfying(ServiceException.class,
+						e -> assertThat(e.getErrorCode()).isEqualTo(ServiceException.DUPLICATE_PART_NUMBER));
+
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM automotive_parts_archive WHERE id = ?", Long.class, id)).isEqualTo(1L);
+	}
+
+	@Test
+	void restoreOfUnknownIdFails() {
+		assertThatThrownBy(() -> partArchiveService.restorePart(-1L))
+				.isInstanceOfSatisfying(ServiceException.class,
+						e -> assertThat(e.getErrorCode()).isEqualTo(ServiceException.PART_NOT_FOUND));
+	}
+
+	private long insertDiscontinued(String suffix) {
+		Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now().minusYears(5));
+		jdbcTemplate.update(
+				"INSERT INTO automotive_parts (part_number, part_name, price, manufacturer, created_at, updated_at, discontinued, version) "
+						+ "VALUES (?, 'アーカイブ復元の検証用部品', 1000, 'AISIN', ?, ?, TRUE, 0)",
+				PART_NUMBER_PREFIX + suffix, updatedAt, updatedAt);
+		return jdbcTemplate.queryForObject(
+				"SELECT MAX(id) FROM automotive_parts WHERE part_number = ?", Long.class, PART_NUMBER_PREFIX + suffix);
+	}
+
+	/**
+	 * アーカイブ処理と同じく、部品をアーカイブテーブルへ移動する
+	 * （夜間バッチは開発用DBの廃番の部品すべてを移動するため、対象の部品のみを移動する）
+	 */
+	private long archive(long id) {
+		jdbcTemplate.update(
+				"INSERT INTO automotive_parts_archive (id, part_number, part_name, price, category_id, description, manufacturer, "
+						+ "created_at, updated_at, version, discontinued, archived_at) "
+						+ "SELECT id, part_number, part_name, price, category_id, description, manufacturer, "
+						+ "created_at, updated_at, version, discontinued, NOW() FROM automotive_parts WHERE id = ?",
+				id);
+		jdbcTemplate.update("DELETE FROM automotive_parts WHERE id = ?", id);
+		return id;
+	}
+}
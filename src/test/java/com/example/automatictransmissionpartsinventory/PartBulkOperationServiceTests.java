@@ -0,0 +1,202 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.automatictransmissionpartsinventory.dto.BulkDeleteRequest;
+import com.example.automatictransmissionpartsinventory.dto.BulkPartFilter;
+import com.example.automatictransmissionpartsinventory.dto.BulkPriceAdjustmentRequest;
+import com.example.automatictransmissionpartsinventory.entity.AutomativePart;
+import com.example.automatictransmissionpartsinventory.exception.ServiceException;
+import com.example.automatictransmissionpartsinventory.service.AutomaticPartService;
+import com.example.automatictransmissionpartsinventory.service.impl.PartBulkOperationService;
+
+/**
+ * 一括操作の分割実行の検証
+ * 1回あたりの件数を3件にして、件数の境界（端数あり・ちょうど割り切れる）と指定IDの重複・null の扱い、
+ * 各回のトランザクションで追加される変更記録・削除記録が実際に削除した部品ごとに1件であること、
+ * 論理削除した部品の部品番号を再登録できることを確認する
+ */
+@SpringBootTest(properties = "app.bulk.chunk-size=3")
+class PartBulkOperationServiceTests {
+
+	private static final String PART_NUMBER_PREFIX = "BULKCHUNK-";
+
+	@Autowired
+	private PartBulkOperationService partBulkOperationService;
+
+	@Autowired
+	private AutomaticPartService automaticPartService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM automotive_parts WHERE part_number LIKE ?", PART_NUMBER_PREFIX + "%");
+	}
+
+	@Test
+	void priceAdjustmentWithRemainderRunsPartialLastChunk() throws ServiceException {
+		insertParts(7);
+
+		Map<String, Object> result = partBulkOperationService.adjustPrices(BulkPriceAdjustmentRequest.builder()
+				.filter(prefixFilter())
+				.adjustmentType(BulkPriceAdjustmentRequest.AdjustmentType.PERCENT)
+				.value(BigDecimal.TEN)
+				.build());
+
+		assertThat(result).containsEntry("affectedRows", 7).containsEntry("chunks", 3);
+		assertThat(prices()).hasSize(7).allSatisfy(price -> assertThat(price).isEqualByComparingTo("1100"));
+	}
+
+	@Test
+	void priceAdjustmentWithExactMultipleStopsAfterEmptyFetch() throws ServiceException {
+		insertParts(6);
+
+		Map<String, Object> result = partBulkOperationService.adjustPrices(BulkPriceAdjustmentRequest.builder()
+				.filter(prefixFilter())
+				.adjustmentType(BulkPriceAdjustmentRequest.AdjustmentType.ABSOLUTE)
+				.value(BigDecimal.valueOf(-200))
+				.build());
+
+		assertThat(result).containsEntry("affectedRows", 6).containsEntry("chunks", 2);
+		assertThat(prices()).hasSize(6).allSatisfy(price -> assertThat(price).isEqualByComparingTo("800"));
+	}
+
+	@Test
+	void deleteByIdsIgnoresDuplicatesAndNulls() throws ServiceException {
+		List<Long> ids = insertParts(5);
+		List<Long> requested = new ArrayList<>(ids.subList(0, 4));
+		requested.addAll(Arrays.asList(ids.get(0), null, ids.get(3)));
+
+		Map<String, Object> result = partBulkOperationService.deleteParts(BulkDeleteRequest.builder()
+				.ids(requested)
+				.softDelete(false)
+				.build());
+
+		assertThat(result).containsEntry("affectedRows", 4).containsEntry("chunks", 2).containsEntry("softDelete", false);
+		assertThat(jdbcTemplate.queryForList("SELECT id FROM automotive_parts WHERE part_number LIKE ?",
+				Long.class, PART_NUMBER_PREFIX + "%")).containsExactly(ids.get(4));
+	}
+
+	@Test
+	void hardDeleteRecordsHistoryAndTombstonesOncePerPart() throws ServiceException {
+		List<Long> ids = insertParts(7);
+
+		partBulkOperationService.deleteParts(BulkDeleteRequest.builder()
+				.ids(ids)
+				.softDelete(false)
+				.build());
+
+		String in = String.join(",", ids.stream().map(String::valueOf).toList());
+		// 取り込み処理が並行して動くため、アウトボックスと取り込み済みの履歴を合わせて数える
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT (SELECT COUNT(*) FROM part_change_outbox WHERE change_type = 'DELETED' AND part_id IN (" + in + ")) "
+						+ "+ (SELECT COUNT(*) FROM part_history WHERE change_type = 'DELETED' AND part_id IN (" + in + "))",
+				Integer.class)).isEqualTo(7);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM part_tombstones WHERE part_id IN (" + in + ")", Integer.class)).isEqualTo(7);
+
+		jdbcTemplate.update("DELETE FROM part_change_outbox WHERE part_id IN (" + in + ")");
+		jdbcTemplate.update("DELETE FROM part_history WHERE part_id IN (" + in + ")");
+		jdbcTemplate.update("DELETE FROM part_tombstones WHERE part_id IN (" + in + ")");
+	}
+
+	@Test
+	void deleteRecordsOnlyPartsThatWereDeleted() throws ServiceException {
+		List<Long> ids = insertParts(4);
+		long missingId = ids.get(3) + 1_000_000L;
+		jdbcTemplate.update("UPDATE automotive_parts SET deleted_at = ? WHERE id = ?",
+				Timestamp.valueOf(LocalDateTime.now()), ids.get(0));
+
+		Map<String, Object> result = partBulkOperationService.deleteParts(BulkDeleteRequest.builder()
+				.ids(List.of(ids.get(0), ids.get(1), ids.get(2), ids.get(3), missingId))
+				.softDelete(false)
+				.build());
+
+		assertThat(result).containsEntry("affectedRows", 3);
+		String in = String.join(",", ids.stream().map(String::valueOf).toList()) + "," + missingId;
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT part_id FROM part_change_outbox WHERE change_type = 'DELETED' AND part_id IN (" + in + ") "
+						+ "UNION ALL SELECT part_id FROM part_history WHERE change_type = 'DELETED' AND part_id IN (" + in + ")",
+				Long.class)).containsExactlyInAnyOrder(ids.get(1), ids.get(2), ids.get(3));
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT part_id FROM part_tombstones WHERE part_id IN (" + in + ")", Long.class))
+				.containsExactlyInAnyOrder(ids.get(1), ids.get(2), ids.get(3));
+
+		jdbcTemplate.update("DELETE FROM part_change_outbox WHERE part_id IN (" + in + ")");
+		jdbcTemplate.update("DELETE FROM part_history WHERE part_id IN (" + in + ")");
+		jdbcTemplate.update("DELETE FROM part_tombstones WHERE part_id IN (" + in + ")");
+	}
+
+	@Test
+	void softDeleteByFilterHidesEveryChunk() throws ServiceException {
+		insertParts(7);
+
+		Map<String, Object> result = partBulkOperationService.deleteParts(BulkDeleteRequest.builder()
+				.filter(prefixFilter())
+				.softDelete(true)
+				.build());
+
+		assertThat(result).containsEntry("affectedRows", 7).containsEntry("chunks", 3).containsEntry("softDelete", true);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM automotive_parts WHERE part_number LIKE ? AND deleted_at IS NULL",
+				Integer.class, PART_NUMBER_PREFIX + "%")).isZero();
+	}
+
+	@Test
+	void softDeletedPartNumberCanBeRegisteredAgain() throws ServiceException {
+		List<Long> ids = insertParts(1);
+		partBulkOperationService.deleteParts(BulkDeleteRequest.builder()
+				.ids(ids)
+				.softDelete(true)
+				.build());
+
+		AutomativePart part = new AutomativePart();
+		part.setPartNumber(PART_NUMBER_PREFIX + 0);
+		part.setPartName("再登録の検証用部品");
+		part.setPrice(BigDecimal.valueOf(1000));
+		part.setManufacturer("AISIN");
+		AutomativePart registered = automaticPartService.registerPart(part);
+
+		assertThat(registered.getId()).isNotEqualTo(ids.get(0));
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM automotive_parts WHERE part_number = ?", Integer.class, PART_NUMBER_PREFIX + 0)).isEqualTo(2);
+	}
+
+	private BulkPartFilter prefixFilter() {
+		return BulkPartFilter.builder().partNumberPrefix(PART_NUMBER_PREFIX).build();
+	}
+
+	private List<BigDecimal> prices() {
+		return jdbcTemplate.queryForList("SELECT price FROM automotive_parts WHERE part_number LIKE ?",
+				BigDecimal.class, PART_NUMBER_PREFIX + "%");
+	}
+
+	private List<Long> insertParts(int count) {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			jdbcTemplate.update(
+					"INSERT INTO automotive_parts (part_number, part_name, price, manufacturer, created_at, updated_at, discontinued, version) "
+							+ "VALUES (?, '一括操作の検証用部品', 1000, 'AISIN', ?, ?, FALSE, 0)",
+					PART_NUMBER_PREFIX + i, now, now);
+			ids.add(jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class));
+		}
+		return ids;
+	}
+}
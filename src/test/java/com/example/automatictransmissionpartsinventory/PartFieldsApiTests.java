@@ -0,0 +1,114 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * 応答項目の指定（fields）の検証
+ * 一覧ページAPI・高度検索API・REST APIで指定項目のみが返ること、
+ * 存在しない項目名・アーカイブを含む検索での指定が400となることを確認する
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class PartFieldsApiTests {
+
+	private static final String PART_NUMBER_PREFIX = "FIELDS-";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		cleanUp();
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now().plusDays(1));
+		for (String suffix : new String[] {"A", "B", "C"}) {
+			jdbcTemplate.update(
+					"INSERT INTO automotive_parts (part_number, part_name, price, manufacturer, created_at, updated_at, discontinued, version) "
+							+ "VALUES (?, '応答項目の検証用部品', 1000, 'AISIN', ?, ?, FALSE, 0)",
+					PART_NUMBER_PREFIX + suffix, now, now);
+		}
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM automotive_parts WHERE part_number LIKE ?", PART_NUMBER_PREFIX + "%");
+	}
+
+	@Test
+	void listPageApiReturnsOnlyRequestedFields() throws Exception {
+		mockMvc.perform(get("/parts/api/list")
+						.param("size", "2")
+						.param("fields", "partNumber,price"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.parts.length()").value(2))
+				.andExpect(jsonPath("$.parts[0].id").exists())
+				.andExpect(jsonPath("$.parts[0].partNumber").exists())
+				.andExpect(jsonPath("$.parts[0].price").exists())
+				.andExpect(jsonPath("$.parts[0].partName").doesNotExist())
+				.andExpect(jsonPath("$.hasNext").value(true));
+
+		mockMvc.perform(get("/parts/api/list")
+						.param("size", "2")
+						.param("fields", "id"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.parts[0].id").isNumber())
+				.andExpect(jsonPath("$.parts[0].partNumber").doesNotExist());
+	}
+
+	@Test
+	void advancedSearchApiReturnsOnlyRequestedFieldsInSortOrder() throws Exception {
+		mockMvc.perform(get("/parts/api/advanced-search")
+						.param("partNumber", PART_NUMBER_PREFIX)
+						.param("sortBy", "partNumber")
+						.param("sortOrder", "DESC")
+						.param("fields", "partNumber"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalCount").value(3))
+				.andExpect(jsonPath("$.parts[0].partNumber").value(PART_NUMBER_PREFIX + "C"))
+				.andExpect(jsonPath("$.parts[2].partNumber").value(PART_NUMBER_PREFIX + "A"))
+				.andExpect(jsonPath("$.parts[0].manufacturer").doesNotExist());
+	}
+
+	@Test
+	void unknownFieldIsBadRequest() throws Exception {
+		mockMvc.perform(get("/parts/api/list").param("fields", "partNumber,stock"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.success").value(false));
+		mockMvc.perform(get("/parts/api/advanced-search").param("fields", "stock"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.success").value(false));
+		mockMvc.perform(get("/api/v1/parts").param("fields", "stock"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.success").value(false));
+		mockMvc.perform(get("/api/v1/parts/stream").param("fields", "stock"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void fieldsWithArchiveSearchIsBadRequest() throws Exception {
+		mockMvc.perform(get("/parts/api/advanced-search")
+						.param("partNumber", PART_NUMBER_PREFIX)
+						.param("includeArchived", "true")
+						.param("fields", "partNumber"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.success").value(false));
+	}
+}
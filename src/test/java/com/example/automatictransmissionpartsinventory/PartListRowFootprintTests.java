@@ -0,0 +1,100 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.entity.AutomativePart;
+import com.example.automatictransmissionpartsinventory.repository.AutomaticPartRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 一覧表示用の射影（PartListRow）のメモリ使用量の検証
+ * テストで登録した1,000件のみを取得し、ヒープ割り当て量・取得時間をエンティティ取得と比較する
+ * （共有の開発DBの既存データに計測値が左右されないよう、部品番号で対象を限定する）
+ */
+@Slf4j
+@SpringBootTest
+@Transactional
+class PartListRowFootprintTests {
+
+	private static final int ROW_COUNT = 1000;
+	private static final String PART_NUMBER_PREFIX = "FOOTPRINT-";
+
+	@Autowired
+	private AutomaticPartRepository automaticPartRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void listRowsAllocateLessThanEntities() {
+		List<AutomativePart> parts = new ArrayList<>();
+		String description = "説明".repeat(100);
+		for (int i = 0; i < ROW_COUNT; i++) {
+			AutomativePart part = new AutomativePart();
+			part.setPartNumber(PART_NUMBER_PREFIX + i);
+			part.setPartName("部品" + i);
+			part.setPrice(BigDecimal.valueOf(1000 + i));
+			part.setManufacturer("AISIN");
+			part.setDescription(description);
+			parts.add(part);
+		}
+		automaticPartRepository.saveAll(parts);
+		entityManager.flush();
+		entityManager.clear();
+
+		AdvancedSearchCriteria criteria = new AdvancedSearchCriteria();
+		criteria.setPartNumber(PART_NUMBER_PREFIX);
+
+		// 1回目はクエリ解析などの初期化を含むため、計測前に1度ずつ実行する
+		assertThat(findEntities()).hasSize(ROW_COUNT);
+		assertThat(automaticPartRepository.findListRowsByAdvancedCriteria(criteria, Pageable.unpaged()).getContent())
+				.hasSize(ROW_COUNT);
+		entityManager.clear();
+
+		long entityStarted = System.nanoTime();
+		long entityBytes = allocatedBytes(() -> findEntities().size());
+		long entityMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entityStarted);
+		entityManager.clear();
+		long rowStarted = System.nanoTime();
+		long rowBytes = allocatedBytes(() ->
+				automaticPartRepository.findListRowsByAdvancedCriteria(criteria, Pageable.unpaged()).getNumberOfElements());
+		long rowMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - rowStarted);
+
+		log.info("ヒープ割り当て量（{}件）: エンティティ={}B, 射影={}B / 取得時間: エンティティ={}ms, 射影={}ms",
+				ROW_COUNT, entityBytes, rowBytes, entityMillis, rowMillis);
+
+		assertThat(rowBytes).isPositive().isLessThan(entityBytes);
+	}
+
+	private List<AutomativePart> findEntities() {
+		return entityManager.createQuery(
+						"SELECT ap FROM AutomativePart ap WHERE ap.partNumber LIKE :prefix", AutomativePart.class)
+				.setParameter("prefix", PART_NUMBER_PREFIX + "%")
+				.getResultList();
+	}
+
+	private static long allocatedBytes(Runnable query) {
+		com.sun.management.ThreadMXBean threadMXBean =
+				(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().threadId();
+		long before = threadMXBean.getThreadAllocatedBytes(threadId);
+		query.run();
+		return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+	}
+}
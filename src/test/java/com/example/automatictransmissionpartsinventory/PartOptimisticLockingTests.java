@@ -0,0 +1,134 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.automatictransmissionpartsinventory.entity.AutomativePart;
+import com.example.automatictransmissionpartsinventory.exception.ServiceException;
+import com.example.automatictransmissionpartsinventory.repository.AutomaticPartRepository;
+import com.example.automatictransmissionpartsinventory.service.AutomaticPartService;
+
+/**
+ * 部品更新の楽観ロック・一意制約違反・削除済み部品の検証
+ * 条件付きUPDATEが0件だった場合の原因判定と、更新画面の409応答を確認する
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PartOptimisticLockingTests {
+
+	private static final String PART_NUMBER_PREFIX = "OPTLOCK-";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AutomaticPartService automaticPartService;
+
+	@Autowired
+	private AutomaticPartRepository automaticPartRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM automotive_parts WHERE part_number LIKE ?", PART_NUMBER_PREFIX + "%");
+	}
+
+	@Test
+	void staleVersionIsRejectedAsConflict() throws ServiceException {
+		AutomativePart saved = savePart("A");
+
+		AutomativePart first = copyOf(saved);
+		first.setPartName("先に保存した部品名");
+		assertThat(automaticPartService.updatePart(saved.getId(), first).getVersion()).isEqualTo(saved.getVersion() + 1);
+
+		AutomativePart stale = copyOf(saved);
+		stale.setPartName("後から保存した部品名");
+		assertThatThrownBy(() -> automaticPartService.updatePart(saved.getId(), stale))
+				.isInstanceOfSatisfying(ServiceException.class,
+						e -> assertThat(e.getErrorCode()).isEqualTo(ServiceException.VERSION_CONFLICT));
+
+		assertThat(automaticPartRepository.findById(saved.getId()))
+				.hasValueSatisfying(part -> assertThat(part.getPartName()).isEqualTo("先に保存した部品名"));
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void staleVersionFromEditFormReturns409() throws Exception {
+		AutomativePart saved = savePart("B");
+		AutomativePart first = copyOf(saved);
+		automaticPartService.updatePart(saved.getId(), first);
+
+		mockMvc.perform(post("/parts/{id}", saved.getId())
+						.param("partNumber", saved.getPartNumber())
+						.param("partName", "古い画面からの更新")
+						.param("price", "1500")
+						.param("version", String.valueOf(saved.getVersion())))
+				.andExpect(status().isConflict())
+				.andExpect(view().name("parts/form"))
+				.andExpect(model().attributeExists("errorMessage"));
+	}
+
+	@Test
+	void duplicatePartNumberIsReported() {
+		AutomativePart existing = savePart("C");
+		AutomativePart other = savePart("D");
+
+		AutomativePart duplicate = copyOf(other);
+		duplicate.setPartNumber(existing.getPartNumber());
+		assertThatThrownBy(() -> automaticPartService.updatePart(other.getId(), duplicate))
+				.isInstanceOfSatisfying(ServiceException.class,
+						e -> assertThat(e.getErrorCode()).isEqualTo(ServiceException.DUPLICATE_PART_NUMBER));
+
+		assertThat(automaticPartRepository.findById(other.getId()))
+				.hasValueSatisfying(part -> {
+					assertThat(part.getPartNumber()).isEqualTo(other.getPartNumber());
+					assertThat(part.getVersion()).isEqualTo(other.getVersion());
+				});
+	}
+
+	@Test
+	void updateAfterDeleteIsPartNotFound() throws ServiceException {
+		AutomativePart saved = savePart("E");
+		automaticPartService.deletePart(saved.getId());
+
+		assertThatThrownBy(() -> automaticPartService.updatePart(saved.getId(), copyOf(saved)))
+				.isInstanceOfSatisfying(ServiceException.class,
+						e -> assertThat(e.getErrorCode()).isEqualTo(ServiceException.PART_NOT_FOUND));
+	}
+
+	private AutomativePart savePart(String suffix) {
+		AutomativePart part = new AutomativePart();
+		part.setPartNumber(PART_NUMBER_PREFIX + suffix + "-" + System.nanoTime());
+		part.setPartName("楽観ロック検証用部品");
+		part.setPrice(BigDecimal.valueOf(1000));
+		part.setManufacturer("AISIN");
+		return automaticPartRepository.save(part);
+	}
+
+	private static AutomativePart copyOf(AutomativePart source) {
+		AutomativePart copy = new AutomativePart();
+		copy.setPartNumber(source.getPartNumber());
+		copy.setPartName(source.getPartName());
+		copy.setPrice(source.getPrice());
+		copy.setManufacturer(source.getManufacturer());
+		copy.setVersion(source.getVersion());
+		return copy;
+	}
+}
@@ -0,0 +1,245 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.automatictransmissionpartsinventory.dto.AdvancedSearchCriteria;
+import com.example.automatictransmissionpartsinventory.repository.AutomaticPartRepository;
+
+/**
+ * 検索・並び替え・統計クエリのインデックス利用の検証
+ *
+ * リポジトリのメソッドが実際に発行したSQL（バインド値を含む）を記録し、その EXPLAIN の実行計画を確認する。
+ * 件数の少ないテーブルではインデックスを使わない実行計画が選ばれるため、
+ * 検証用の部品を登録して統計情報を更新してから確認する。
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PartSearchIndexExplainTests {
+
+	private static final String PART_NUMBER_PREFIX = "EXPLAIN-";
+	private static final String CATEGORY_NAME_PREFIX = "EXPLAIN-CAT-";
+	private static final int PART_COUNT = 20000;
+	private static final int CATEGORY_COUNT = 20;
+	private static final String[] MANUFACTURERS = {"AISIN", "JATCO", "ZF", "ALLISON", "GM", "FORD", "HONDA", "TOYOTA"};
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AutomaticPartRepository automaticPartRepository;
+
+	@Autowired
+	private StatementCapture statementCapture;
+
+	private final List<Long> categoryIds = new ArrayList<>();
+
+	@BeforeAll
+	void seedParts() {
+		cleanUp();
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 0; i < CATEGORY_COUNT; i++) {
+			jdbcTemplate.update(
+					"INSERT INTO categories (name, display_order, is_active, created_at, updated_at) VALUES (?, ?, TRUE, ?, ?)",
+					CATEGORY_NAME_PREFIX + i, i, Timestamp.valueOf(now), Timestamp.valueOf(now));
+			categoryIds.add(jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class));
+		}
+
+		List<Object[]> rows = new ArrayList<>(PART_COUNT);
+		for (int i = 0; i < PART_COUNT; i++) {
+			Timestamp updatedAt = Timestamp.valueOf(now.minusMinutes(i));
+			rows.add(new Object[] {
+					PART_NUMBER_PREFIX + i,
+					"インデックス検証用部品" + i,
+					BigDecimal.valueOf(100 + (i * 37L) % 99900),
+					categoryIds.get(i % CATEGORY_COUNT),
+					MANUFACTURERS[i % MANUFACTURERS.length],
+					updatedAt,
+					updatedAt});
+		}
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO automotive_parts (part_number, part_name, price, category_id, manufacturer, created_at, updated_at, discontinued, version) "
+						+ "VALUES (?, ?, ?, ?, ?, ?, ?, FALSE, 0)", rows);
+		jdbcTemplate.execute("ANALYZE TABLE automotive_parts");
+	}
+
+	@AfterAll
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM automotive_parts WHERE part_number LIKE ?", PART_NUMBER_PREFIX + "%");
+		jdbcTemplate.update("DELETE FROM categories WHERE name LIKE ?", CATEGORY_NAME_PREFIX + "%");
+	}
+
+	@Test
+	void migrationsAreRecorded() {
+		List<String> versions = jdbcTemplate.queryForList(
+				"SELECT version FROM flyway_schema_history WHERE success = TRUE AND version IS NOT NULL", String.class);
+
+		assertThat(versions).contains("7");
+	}
+
+	@Test
+	void defaultListSortByUpdatedAtUsesIndexWithoutFilesort() {
+		Map<String, Object> plan = explainParts(() -> automaticPartRepository.findListRows(
+				automaticPartRepository.listRowPageable(new AdvancedSearchCriteria())));
+
+		assertThat(plan.get("key")).isEqualTo("idx_parts_updated_at");
+		assertThat(String.valueOf(plan.get("Extra"))).doesNotContain("Using filesort");
+	}
+
+	@Test
+	void categoryAndPriceRangeSearchUsesCompositeIndex() {
+		AdvancedSearchCriteria criteria = new AdvancedSearchCriteria();
+		criteria.setCategoryId(categoryIds.get(0));
+		criteria.setMinPrice(BigDecimal.valueOf(1000));
+		criteria.setMaxPrice(BigDecimal.valueOf(2000));
+
+		Map<String, Object> plan = explainParts(() -> automaticPartRepository.findByAdvancedCriteriaWithSort(criteria));
+
+		assertThat(plan.get("key")).isEqualTo("idx_parts_category_price");
+	}
+
+	@Test
+	void updatedAtRangeSearchUsesIndex() {
+		AdvancedSearchCriteria criteria = new AdvancedSearchCriteria();
+		criteria.setUpdatedAfter(LocalDateTime.now().minusMinutes(30).toLocalDate().toString());
+
+		Map<String, Object> plan = explainParts(() -> automaticPartRepository.findListRowsByAdvancedCriteriaWithSort(criteria));
+
+		assertThat(plan.get("key")).isEqualTo("idx_parts_updated_at");
+	}
+
+	@Test
+	void countByManufacturerIsIndexOnly() {
+		Map<String, Object> plan = explainParts(() -> automaticPartRepository.countPartsByManufacturer());
+
+		assertThat(plan.get("key")).isEqualTo("idx_parts_manufacturer");
+		assertThat(String.valueOf(plan.get("Extra"))).contains("Using index");
+	}
+
+	@Test
+	void countByPriceRangeIsIndexOnly() {
+		Map<String, Object> plan = explainParts(() -> automaticPartRepository.countPartsByPriceRange());
+
+		assertThat(plan.get("key")).isEqualTo("idx_parts_price");
+		assertThat(String.valueOf(plan.get("Extra"))).contains("Using index");
+	}
+
+	/**
+	 * 処理が最初に発行した automotive_parts の SELECT を EXPLAIN し、automotive_parts の行の実行計画を返す
+	 */
+	private Map<String, Object> explainParts(Runnable query) {
+		CapturedStatement statement = statementCapture.capture(query);
+		List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), statement.parameters());
+		return rows.stream()
+				.filter(row -> String.valueOf(row.get("table")).startsWith("ap"))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("automotive_parts の実行計画がありません: " + rows));
+	}
+
+	record CapturedStatement(String sql, Object[] parameters) {
+	}
+
+	/**
+	 * データソースを包み、記録中のスレッドが実行した automotive_parts の SELECT 文とバインド値を記録する
+	 */
+	static class StatementCapture implements BeanPostProcessor {
+
+		private final ThreadLocal<List<CapturedStatement>> captured = new ThreadLocal<>();
+
+		CapturedStatement capture(Runnable query) {
+			List<CapturedStatement> statements = new ArrayList<>();
+			captured.set(statements);
+			try {
+				query.run();
+			} finally {
+				captured.remove();
+			}
+			return statements.stream()
+					.filter(statement -> statement.sql().toLowerCase().startsWith("select")
+							&& statement.sql().contains("automotive_parts"))
+					.findFirst()
+					.orElseThrow(() -> new AssertionError("automotive_parts の SELECT が発行されていません: " + statements));
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (bean instanceof DataSource dataSource) {
+				return proxy(DataSource.class, dataSource, (method, args, result) ->
+						result instanceof Connection connection ? proxyConnection(connection) : result);
+			}
+			return bean;
+		}
+
+		private Connection proxyConnection(Connection connection) {
+			return proxy(Connection.class, connection, (method, args, result) ->
+					result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+							? proxyStatement(statement, (String) args[0])
+							: result);
+		}
+
+		private PreparedStatement proxyStatement(PreparedStatement statement, String sql) {
+			Map<Integer, Object> parameters = new TreeMap<>();
+			return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+				String name = method.getName();
+				if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+					parameters.put(index, name.equals("setNull") ? null : args[1]);
+				} else if (name.startsWith("execute") && captured.get() != null) {
+					captured.get().add(new CapturedStatement(sql, parameters.values().toArray()));
+				}
+				return result;
+			});
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+			InvocationHandler invocationHandler = (proxy, method, args) -> {
+				try {
+					return handler.handle(method, args, method.invoke(target, args));
+				} catch (InvocationTargetException e) {
+					throw e.getTargetException();
+				}
+			};
+			return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocationHandler);
+		}
+
+		@FunctionalInterface
+		private interface ResultHandler {
+			Object handle(Method method, Object[] args, Object result) throws Exception;
+		}
+	}
+
+	@TestConfiguration
+	static class StatementCaptureConfig {
+
+		@Bean
+		static StatementCapture statementCapture() {
+			return new StatementCapture();
+		}
+	}
+}
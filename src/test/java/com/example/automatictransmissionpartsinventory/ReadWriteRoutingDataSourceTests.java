@@ -0,0 +1,147 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.automatictransmissionpartsinventory.config.ReadWriteRoutingDataSource;
+
+/**
+ * プライマリ／レプリカ振り分けの検証
+ * アプリケーションを組み込みDB（H2）で起動し、プライマリとレプリカを接続ユーザーの異なる同一DBに見立て、
+ * どちらに接続したかを CURRENT_USER で判定する。
+ * 参照はアプリケーションと同じ JpaTransactionManager のトランザクション（@Transactional のサービス呼び出し）で行う。
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+				+ "INIT=CREATE USER IF NOT EXISTS replica PASSWORD 'replica' ADMIN",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.flyway.enabled=false",
+		"app.catalog.snapshot.enabled=false",
+		"app.cache.coherence.enabled=false",
+		"app.datasource.replica.enabled=true",
+		"app.datasource.replica.url=jdbc:h2:mem:routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"app.datasource.replica.username=replica",
+		"app.datasource.replica.password=replica",
+		// 起動時の書き込みでノード全体が固定されないようにする
+		"app.datasource.replica.max-lag-seconds=0"
+})
+class ReadWriteRoutingDataSourceTests {
+
+	@Autowired
+	private ConnectionProbe connectionProbe;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private AsyncTaskExecutor taskExecutor;
+
+	@AfterEach
+	void tearDown() {
+		ReadWriteRoutingDataSource.clearPin();
+	}
+
+	@Test
+	void usesJpaTransactionManager() {
+		assertThat(transactionManager).isInstanceOf(JpaTransactionManager.class);
+	}
+
+	@Test
+	void readOnlyTransactionUsesReplica() {
+		assertThat(connectionProbe.readOnlyUser()).isEqualToIgnoringCase("replica");
+	}
+
+	@Test
+	void readWriteTransactionUsesPrimary() {
+		assertThat(connectionProbe.readWriteUser()).isEqualToIgnoringCase("sa");
+	}
+
+	@Test
+	void nonTransactionalAccessUsesPrimary() {
+		assertThat(connectionProbe.currentUser()).isEqualToIgnoringCase("sa");
+	}
+
+	@Test
+	void pinnedThreadReadsFromPrimary() {
+		ReadWriteRoutingDataSource.pinToPrimary();
+
+		assertThat(connectionProbe.readOnlyUser()).isEqualToIgnoringCase("sa");
+
+		ReadWriteRoutingDataSource.clearPin();
+
+		assertThat(connectionProbe.readOnlyUser()).isEqualToIgnoringCase("replica");
+	}
+
+	@Test
+	void pinIsCarriedToAsyncTasks() throws Exception {
+		ReadWriteRoutingDataSource.pinToPrimary();
+
+		CompletableFuture<String> user = new CompletableFuture<>();
+		taskExecutor.execute(() -> user.complete(connectionProbe.readOnlyUser()));
+
+		assertThat(user.get(5, TimeUnit.SECONDS)).isEqualToIgnoringCase("sa");
+	}
+
+	@Test
+	void allThreadsReadFromPrimaryWithinMaxLag() throws Exception {
+		ReadWriteRoutingDataSource.pinAllToPrimary(Duration.ofMillis(500));
+
+		assertThat(connectionProbe.readOnlyUser()).isEqualToIgnoringCase("sa");
+
+		Thread.sleep(600);
+
+		assertThat(connectionProbe.readOnlyUser()).isEqualToIgnoringCase("replica");
+	}
+
+	@TestConfiguration
+	static class ConnectionProbeConfig {
+
+		@Bean
+		ConnectionProbe connectionProbe() {
+			return new ConnectionProbe();
+		}
+	}
+
+	static class ConnectionProbe {
+
+		@PersistenceContext
+		private EntityManager entityManager;
+
+		@Transactional(readOnly = true)
+		public String readOnlyUser() {
+			return currentUser();
+		}
+
+		@Transactional
+		public String readWriteUser() {
+			return currentUser();
+		}
+
+		public String currentUser() {
+			return (String) entityManager.createNativeQuery("SELECT CURRENT_USER").getSingleResult();
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.example.automatictransmissionpartsinventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.automatictransmissionpartsinventory.entity.Category;
+import com.example.automatictransmissionpartsinventory.repository.CategoryRepository;
+import com.example.automatictransmissionpartsinventory.service.CategoryService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * カテゴリ・権限の2次キャッシュの検証
+ * 2回目以降の読み込みでカテゴリ・権限のSQLが発行されないことを確認する
+ *
+ * 部品画面のカテゴリ選択肢は CategoryFragmentCache の描画結果から返され、2回目以降は
+ * カテゴリを読み込まないため、カテゴリは画面を経由せず CategoryService から直接読み込んで確認する。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReferenceDataSecondLevelCacheTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void repeatedCategoryLoadsIssueNoSql() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		// 1回目: キャッシュへの格納
+		Long categoryId = loadCategories();
+		assertThat(categoryId).isNotNull();
+
+		statistics.clear();
+
+		// 2回目: 別のトランザクション（別の永続化コンテキスト）で同じカテゴリを読み込む
+		loadCategories();
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(statistics.getQueryRegionStatistics(CategoryRepository.QUERY_CACHE_REGION).getHitCount())
+				.isPositive();
+		assertThat(statistics.getDomainDataRegionStatistics(Category.CACHE_REGION).getHitCount()).isPositive();
+		assertThat(statistics.getDomainDataRegionStatistics(Category.CHILDREN_CACHE_REGION).getHitCount())
+				.isPositive();
+
+		// ヒット数はメトリクスとしても公開される
+		assertThat(meterRegistry.get("hibernate.cache.query.requests")
+				.tag("result", "hit")
+				.functionCounter()
+				.count()).isPositive();
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void repeatedUserFormLoadsIssueNoRoleSql() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		// 1回目: キャッシュへの格納
+		mockMvc.perform(get("/admin/users/new")).andExpect(status().isOk());
+
+		statistics.clear();
+
+		// 2回目: 権限選択肢（ユーザー登録フォーム）
+		mockMvc.perform(get("/admin/users/new")).andExpect(status().isOk());
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(statistics.getQueryCacheHitCount()).isPositive();
+	}
+
+	/**
+	 * 有効なカテゴリ（問い合わせキャッシュ）と大分類の小分類（コレクションキャッシュ）を読み込み、
+	 * 別のトランザクションでIDによりカテゴリ（エンティティキャッシュ）を読み込む
+	 * @return 読み込んだカテゴリのID
+	 */
+	private Long loadCategories() {
+		TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+		Long id = readOnlyTransaction.execute(status -> {
+			List<Category> categories = categoryService.findActiveCategories();
+			categories.stream()
+					.filter(category -> category.getParent() == null)
+					.forEach(category -> category.getChildren().size());
+			return categories.isEmpty() ? null : categories.get(0).getId();
+		});
+		if (id != null) {
+			// 問い合わせで読み込んだ永続化コンテキストとは別に読み込む
+			readOnlyTransaction.executeWithoutResult(status -> categoryService.findById(id));
+		}
+		return id;
+	}
+
+}